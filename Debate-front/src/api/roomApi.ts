@@ -1,5 +1,5 @@
 import axios from 'axios';
-import { DiscussionStatus } from '../types';
+import { DiscussionStatus, RoomSummaryDto } from '../types';
 
 // 프록시 설정 덕분에 전체 URL을 적지 않아도 됩니다.
 const API_URL = '/api/rooms';
@@ -12,4 +12,12 @@ export const createRoom = async (): Promise<DiscussionStatus> => {
 export const getRoomStatus = async (roomId: string): Promise<DiscussionStatus> => {
     const response = await axios.get<DiscussionStatus>(`${API_URL}/${roomId}/status`);
     return response.data;
-};
\ No newline at end of file
+};
+
+// 최신 방부터 한 페이지씩 조회. nextCursor가 null이면 마지막 페이지입니다.
+export const listRooms = async (
+    params: { status?: RoomSummaryDto['type']; cursor?: string; limit?: number } = {}
+): Promise<{ rooms: RoomSummaryDto[]; nextCursor: string | null }> => {
+    const response = await axios.get<RoomSummaryDto[]>(API_URL, { params });
+    return { rooms: response.data, nextCursor: response.headers['x-next-cursor'] ?? null };
+};
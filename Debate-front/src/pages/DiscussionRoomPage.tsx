@@ -5,7 +5,7 @@ import Stomp from 'stompjs';
 import axios from 'axios';
 import { v4 as uuidv4 } from 'uuid';
 
-import { ParticipantDto, ChatMessageDto, DiscussionStatusDto, VoteResultsDto, Argument, Debate, User } from '../types';
+import { ParticipantDto, RosterEventDto, ChatMessageDto, DiscussionStatusDto, TimerSyncDto, VoteResultsDto, Argument, Debate, User } from '../types';
 import { DebateRoom } from '../components/DebateRoom'; 
 
 const DiscussionRoomPage: React.FC = () => {
@@ -21,11 +21,16 @@ const DiscussionRoomPage: React.FC = () => {
     const [voteResults, setVoteResults] = useState<VoteResultsDto>({ for: 0, against: 0 });
     const [argumentsList, setArgumentsList] = useState<Argument[]>([]);
     const [myParticipant, setMyParticipant] = useState<ParticipantDto | null>(null);
+    // 마지막으로 반영한 참가자 목록 버전 (-1: 아직 스냅샷을 받지 못함)
+    const rosterVersionRef = useRef(-1);
     
     const currentUser: User = useMemo(() => ({ id: uuidv4(), name: `Guest-${Math.floor(Math.random() * 1000)}` }), []);
 
     const [timeRemaining, setTimeRemaining] = useState(0);
     const [isTimerRunning, setIsTimerRunning] = useState(false);
+    // 🟢 타이머는 서버가 관리: 단계 종료 시각(phaseEndsAt)과 서버 시계와의 차이(ms)로 남은 시간을 계산
+    const phaseEndsAtRef = useRef(0);
+    const clockOffsetRef = useRef(0);
 
     // --- 콜백 함수 정의 ---
     const handleLeaveDebate = useCallback(() => {
@@ -91,22 +96,9 @@ const DiscussionRoomPage: React.FC = () => {
             return;
         }
 
+        // 현재 상태는 입장(JOIN) 시 서버가 /user/queue/room/{roomId}/status로 보내줌
         const fetchInitialData = async () => {
             try {
-                const statusRes = await axios.get<DiscussionStatusDto>(`/api/rooms/${roomId}/status`);
-                setDiscussionStatus(statusRes.data);
-                if (statusRes.data.type === 'STARTED' && statusRes.data.startTime > 0) {
-                    const elapsedSeconds = Math.floor((Date.now() - statusRes.data.startTime) / 1000);
-                    setTimeRemaining(Math.max(0, statusRes.data.durationSeconds - elapsedSeconds));
-                    setIsTimerRunning(true);
-                } else {
-                    setTimeRemaining(statusRes.data.durationSeconds);
-                    setIsTimerRunning(false);
-                }
-
-                const participantsRes = await axios.get<ParticipantDto[]>(`/api/rooms/${roomId}/participants`);
-                setParticipants(participantsRes.data);
-                
                 const votesRes = await axios.get<{ results: VoteResultsDto }>(`/api/rooms/${roomId}/vote-results`);
                 setVoteResults(votesRes.data.results);
             } catch (error) {
@@ -125,27 +117,87 @@ const DiscussionRoomPage: React.FC = () => {
         // 🟢 구독 객체들을 저장할 배열을 생성합니다.
         const subscriptions: Stomp.Subscription[] = [];
 
+        // 참가자 목록 이벤트 반영: 스냅샷은 더 새로운 경우만, 변경분은 바로 다음 버전만 적용
+        rosterVersionRef.current = -1;
+        const applyRosterEvent = (event: RosterEventDto) => {
+            const currentVersion = rosterVersionRef.current;
+            if (event.type === 'SNAPSHOT') {
+                if (event.version >= currentVersion) {
+                    rosterVersionRef.current = event.version;
+                    setParticipants(event.participants ?? []);
+                }
+                return;
+            }
+            if (currentVersion < 0 || event.version <= currentVersion) {
+                return; // 스냅샷 대기 중이거나 이미 반영된 이벤트
+            }
+            if (event.version !== currentVersion + 1) {
+                // 중간 이벤트를 놓쳤으므로 전체 목록을 다시 요청
+                client.send(`/app/${roomId}/participants.snapshot`, {}, '');
+                return;
+            }
+            rosterVersionRef.current = event.version;
+            setParticipants((prev) => {
+                switch (event.type) {
+                    case 'JOINED':
+                    case 'UPDATED': {
+                        const participant = event.participant!;
+                        const exists = prev.some(p => p.id === participant.id);
+                        return exists
+                            ? prev.map(p => (p.id === participant.id ? participant : p))
+                            : [...prev, participant];
+                    }
+                    case 'LEFT':
+                        return prev.filter(p => p.id !== event.participantId);
+                    default:
+                        return prev;
+                }
+            });
+        };
+
+        // 상태 반영: 진행 중인 단계는 phaseEndsAt까지, 멈춘 상태는 서버가 알려준 남은 시간을 표시
+        const applyStatus = (status: DiscussionStatusDto) => {
+            clockOffsetRef.current = status.serverTime - Date.now();
+            phaseEndsAtRef.current = status.phaseEndsAt;
+            setDiscussionStatus(status);
+            setIsTimerRunning(status.type === 'STARTED');
+            setTimeRemaining(Math.ceil(status.remainingMillis / 1000));
+        };
+
         const onConnected = () => {
             setStompClient(client);
 
             // --- 각 토픽 구독 및 구독 객체 저장 ---
             subscriptions.push(
-                client.subscribe(`/topic/room/${roomId}/participants`, (message) => setParticipants(JSON.parse(message.body)))
+                client.subscribe(`/topic/room/${roomId}/participants`, (message) => applyRosterEvent(JSON.parse(message.body)))
+            );
+            // 입장 시 또는 요청 시 서버가 보내주는 전체 참가자 목록 (이 세션에게만 전송됨)
+            subscriptions.push(
+                client.subscribe(`/user/queue/room/${roomId}/participants`, (message) => applyRosterEvent(JSON.parse(message.body)))
             );
             subscriptions.push(
                 client.subscribe(`/topic/room/${roomId}/chat`, (message) => setChatMessages((prev) => [...prev, JSON.parse(message.body)]))
             );
+            // 입장 시 서버가 보내주는 최근 채팅 기록 (이 세션에게만 전송됨)
             subscriptions.push(
-                client.subscribe(`/topic/room/${roomId}/status`, (message) => {
-                    const newStatus: DiscussionStatusDto = JSON.parse(message.body);
-                    setDiscussionStatus(newStatus);
-                    setIsTimerRunning(newStatus.type === 'STARTED');
-                    if (newStatus.type === 'STARTED' && newStatus.startTime > 0) {
-                        const elapsedSeconds = Math.floor((Date.now() - newStatus.startTime) / 1000);
-                        setTimeRemaining(Math.max(0, newStatus.durationSeconds - elapsedSeconds));
-                    } else if (['WAITING', 'ENDED', 'PAUSED', 'VOTING'].includes(newStatus.type)) {
-                        setTimeRemaining(newStatus.durationSeconds);
-                    }
+                client.subscribe(`/user/queue/room/${roomId}/chat-history`, (message) => {
+                    const history: ChatMessageDto[] = JSON.parse(message.body);
+                    setChatMessages((prev) => [...history, ...prev]);
+                })
+            );
+            subscriptions.push(
+                client.subscribe(`/topic/room/${roomId}/status`, (message) => applyStatus(JSON.parse(message.body)))
+            );
+            // 입장 시 서버가 보내주는 현재 상태 (이 세션에게만 전송됨)
+            subscriptions.push(
+                client.subscribe(`/user/queue/room/${roomId}/status`, (message) => applyStatus(JSON.parse(message.body)))
+            );
+            // 진행 중인 단계의 주기적인 시계 보정 프레임
+            subscriptions.push(
+                client.subscribe(`/topic/room/${roomId}/timer`, (message) => {
+                    const sync: TimerSyncDto = JSON.parse(message.body);
+                    clockOffsetRef.current = sync.serverTime - Date.now();
+                    phaseEndsAtRef.current = sync.phaseEndsAt;
                 })
             );
             subscriptions.push(
@@ -185,28 +237,16 @@ const DiscussionRoomPage: React.FC = () => {
         };
     }, [roomId, currentUser.id, currentUser.name, navigate]); // 의존성 배열
 
-    // --- 타이머 로직 관리 ---
+    // --- 타이머 표시 ---
+    // 표시만 갱신하고, 시간이 다 되면 서버가 다음 단계(VOTING → ENDED)로 전환해 상태를 보내줌
     useEffect(() => {
-        let interval: NodeJS.Timeout | undefined;
-        if (isTimerRunning && timeRemaining > 0) {
-            interval = setInterval(() => {
-                setTimeRemaining((prev) => {
-                    if (prev <= 1) {
-                        setIsTimerRunning(false);
-                        sendStatusUpdate('ENDED', '시간이 종료되었습니다!');
-                        return 0;
-                    }
-                    return prev - 1;
-                });
-            }, 1000);
-        } else if (timeRemaining <= 0 && isTimerRunning) {
-            setIsTimerRunning(false);
-            sendStatusUpdate('ENDED', '시간이 종료되었습니다!');
-        }
-        return () => {
-            if (interval) clearInterval(interval);
-        };
-    }, [isTimerRunning, timeRemaining, sendStatusUpdate]);
+        if (!discussionStatus || discussionStatus.phaseEndsAt <= 0) return;
+        const interval = setInterval(() => {
+            const serverNow = Date.now() + clockOffsetRef.current;
+            setTimeRemaining(Math.max(0, Math.ceil((phaseEndsAtRef.current - serverNow) / 1000)));
+        }, 1000);
+        return () => clearInterval(interval);
+    }, [discussionStatus]);
 
 
     // --- DebateRoom 컴포넌트에 전달할 Debate 객체 구성 ---
@@ -6,6 +6,16 @@ export interface ParticipantDto {
     color: string;
 }
 
+// 참가자 목록 변경 이벤트 (version이 1씩 증가, 빈 번호가 생기면 SNAPSHOT 요청)
+export interface RosterEventDto {
+    type: 'SNAPSHOT' | 'JOINED' | 'LEFT' | 'UPDATED';
+    roomId: string;
+    version: number;
+    participant?: ParticipantDto;
+    participantId?: string;
+    participants?: ParticipantDto[];
+}
+
 export interface ChatMessageDto {
     type: 'CHAT' | 'JOIN' | 'LEAVE' | 'STATUS';
     content: string;
@@ -21,6 +31,27 @@ export interface DiscussionStatusDto {
     currentTopic: string;
     startTime: number;
     durationSeconds: number;
+    phaseEndsAt: number; // 현재 단계(STARTED/VOTING) 종료 시각 (epoch ms, 진행 중이 아니면 0)
+    remainingMillis: number; // serverTime 기준 남은 시간
+    serverTime: number; // 서버 시각 (epoch ms)
+}
+
+// 로비 방 목록 항목 (GET /api/rooms)
+export interface RoomSummaryDto {
+    roomId: string;
+    type: DiscussionStatusDto['type'];
+    topic: string;
+    participantCount: number;
+    createdAt: number; // 방 생성 시각 (epoch ms)
+}
+
+// 진행 중인 단계의 시계 보정 프레임 (/topic/room/{roomId}/timer)
+export interface TimerSyncDto {
+    roomId: string;
+    type: 'STARTED' | 'VOTING';
+    phaseEndsAt: number;
+    remainingMillis: number;
+    serverTime: number;
 }
 
 export interface VoteResultsDto {
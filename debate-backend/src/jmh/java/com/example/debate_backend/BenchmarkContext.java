@@ -0,0 +1,83 @@
+package com.example.debate_backend;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 벤치마크용 애플리케이션 컨텍스트.
+ * 매 trial마다 독립된 H2 인메모리 DB와 임시 데이터 디렉터리(투표 저널, 채팅 로그, 토론 보관)로 전체 애플리케이션을 띄웁니다.
+ * Gemini는 닫힌 포트를 가리켜 즉시 실패하므로 주제는 기본 주제(fallback)에서 선택됩니다.
+ */
+public final class BenchmarkContext implements AutoCloseable {
+
+    private final ConfigurableApplicationContext context;
+    private final Path dataDir;
+
+    private BenchmarkContext(ConfigurableApplicationContext context, Path dataDir) {
+        this.context = context;
+        this.dataDir = dataDir;
+    }
+
+    public static BenchmarkContext start(String... extraProperties) {
+        Path dataDir;
+        try {
+            dataDir = Files.createTempDirectory("debate-bench");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.properties.hibernate.jdbc.batch_size=500",
+                "--spring.jpa.properties.hibernate.order_inserts=true",
+                "--ai.gemini.api-key=benchmark",
+                "--ai.gemini.api-url=http://127.0.0.1:9/unused",
+                "--discussion.vote.journal.dir=" + dataDir.resolve("votes"),
+                "--discussion.chat.log.dir=" + dataDir.resolve("chat"),
+                "--discussion.archive.dir=" + dataDir.resolve("archive"),
+                "--logging.level.root=WARN",
+                "--logging.level.com.example.debate_backend=WARN"
+        ));
+        for (String property : extraProperties) {
+            args.add("--" + property);
+        }
+        // 명령행 인자로 전달해 로컬 application.properties(MySQL 등)보다 우선 적용
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(DebateBackendApplication.class)
+                .run(args.toArray(String[]::new));
+        return new BenchmarkContext(context, dataDir);
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    /**
+     * 임의로 배정된 HTTP/WebSocket 포트
+     */
+    public int port() {
+        return ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    @Override
+    public void close() {
+        context.close();
+        try {
+            FileSystemUtils.deleteRecursively(dataDir);
+        } catch (IOException ignored) {
+            // 임시 디렉터리는 OS가 정리
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.debate_backend;
+
+import com.example.debate_backend.dto.ArgumentDto;
+import com.example.debate_backend.dto.ParticipantDto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 벤치마크 입력 데이터. 실제 토론과 비슷한 길이의 텍스트를 사용합니다.
+ */
+public final class BenchmarkData {
+
+    private static final String[] COLORS = {"bg-blue-500", "bg-red-500", "bg-green-500", "bg-yellow-500"};
+    private static final String ARGUMENT_TEXT =
+            "학생의 자율성을 존중해야 합니다. 숙제가 학습 효과를 높인다는 근거는 학년이 올라갈수록 약해지고, "
+                    + "과도한 숙제는 수면 시간과 가족과의 시간을 줄여 오히려 학업 성취를 떨어뜨립니다.";
+
+    private BenchmarkData() {
+    }
+
+    public static String side(int i) {
+        return i % 2 == 0 ? "for" : "against";
+    }
+
+    public static List<ParticipantDto> participants(int count) {
+        List<ParticipantDto> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(new ParticipantDto("participant-" + i, "참가자" + i, side(i), COLORS[i % COLORS.length]));
+        }
+        return result;
+    }
+
+    public static List<ArgumentDto> argumentDtos(int count) {
+        List<ArgumentDto> result = new ArrayList<>(count);
+        long base = 1_700_000_000_000L;
+        for (int i = 0; i < count; i++) {
+            result.add(new ArgumentDto("argument-" + i, "participant-" + (i % 8), "참가자" + (i % 8),
+                    side(i), ARGUMENT_TEXT, base + i * 1000L));
+        }
+        return result;
+    }
+
+    public static String argumentText() {
+        return ARGUMENT_TEXT;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.debate_backend.dto;
+
+import com.example.debate_backend.BenchmarkData;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+
+/**
+ * ArgumentDto/ParticipantDto 목록의 Jackson 직렬화 비용 (REST 응답, STOMP 브로드캐스트 payload).
+ * Spring Boot와 같은 방식(Jackson2ObjectMapperBuilder)으로 만든 ObjectMapper를 사용합니다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
+public class DtoSerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private List<ArgumentDto> arguments;
+    private List<ParticipantDto> participants;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        arguments = BenchmarkData.argumentDtos(size);
+        participants = BenchmarkData.participants(size);
+    }
+
+    @Benchmark
+    public byte[] arguments() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(arguments);
+    }
+
+    @Benchmark
+    public byte[] participants() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(participants);
+    }
+}
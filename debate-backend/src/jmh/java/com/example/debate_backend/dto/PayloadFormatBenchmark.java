@@ -0,0 +1,80 @@
+package com.example.debate_backend.dto;
+
+import com.example.debate_backend.BenchmarkData;
+import com.example.debate_backend.handler.BinaryPayloadNegotiator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+
+/**
+ * STOMP payload 형식별 비용: JSON 직렬화, CBOR 직렬화, 그리고 실제 송신 경로인 JSON -> CBOR 변환.
+ * 크기 차이는 시간으로 나타나지 않으므로 trial 시작 시 형식별 바이트 수를 출력합니다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
+public class PayloadFormatBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int size;
+
+    private ObjectMapper jsonMapper;
+    private ObjectMapper cborMapper;
+    private List<ArgumentDto> arguments;
+    private RosterEventDto roster;
+    private byte[] argumentsJson;
+    private byte[] rosterJson;
+
+    @Setup(Level.Trial)
+    public void setUp() throws JsonProcessingException {
+        jsonMapper = Jackson2ObjectMapperBuilder.json().build();
+        cborMapper = Jackson2ObjectMapperBuilder.cbor().build();
+        arguments = BenchmarkData.argumentDtos(size);
+        roster = new RosterEventDto(RosterEventDto.EventType.SNAPSHOT, "bench-room", 1L, null, null,
+                BenchmarkData.participants(size));
+        argumentsJson = jsonMapper.writeValueAsBytes(arguments);
+        rosterJson = jsonMapper.writeValueAsBytes(roster);
+        System.out.printf("%nsize=%d arguments json=%d cbor=%d bytes, roster json=%d cbor=%d bytes%n", size,
+                argumentsJson.length, cborMapper.writeValueAsBytes(arguments).length,
+                rosterJson.length, cborMapper.writeValueAsBytes(roster).length);
+    }
+
+    @Benchmark
+    public byte[] argumentsJson() throws JsonProcessingException {
+        return jsonMapper.writeValueAsBytes(arguments);
+    }
+
+    @Benchmark
+    public byte[] argumentsCbor() throws JsonProcessingException {
+        return cborMapper.writeValueAsBytes(arguments);
+    }
+
+    @Benchmark
+    public byte[] argumentsTranscode() {
+        return BinaryPayloadNegotiator.jsonToCbor(argumentsJson);
+    }
+
+    @Benchmark
+    public byte[] rosterJson() throws JsonProcessingException {
+        return jsonMapper.writeValueAsBytes(roster);
+    }
+
+    @Benchmark
+    public byte[] rosterCbor() throws JsonProcessingException {
+        return cborMapper.writeValueAsBytes(roster);
+    }
+
+    @Benchmark
+    public byte[] rosterTranscode() {
+        return BinaryPayloadNegotiator.jsonToCbor(rosterJson);
+    }
+}
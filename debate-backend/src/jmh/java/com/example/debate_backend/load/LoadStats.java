@@ -0,0 +1,120 @@
+package com.example.debate_backend.load;
+
+import com.example.debate_backend.load.LoadTestConfig.Operation;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 측정 구간 동안의 전송/수신 집계.
+ * 지연 시간은 같은 JVM의 System.nanoTime 기준이므로 송신 시각을 메시지 본문에 실어 보내 수신 시 바로 계산합니다.
+ * 측정 구간 안에서 보낸 메시지만 집계하므로 워밍업과 drain 중의 트래픽은 결과에 섞이지 않습니다.
+ */
+final class LoadStats {
+
+    private static final String MARKER = "#lt:";
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final Map<Operation, LongAdder> sent = new EnumMap<>(Operation.class);
+    private final LongAdder expectedDeliveries = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder otherFrames = new LongAdder();
+    private final LongAdder sendFailures = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+
+    private volatile long windowStart = Long.MAX_VALUE;
+    private volatile long windowEnd = Long.MAX_VALUE;
+
+    LoadStats() {
+        for (Operation op : Operation.values()) {
+            sent.put(op, new LongAdder());
+        }
+    }
+
+    void openWindow(long startNanos, long endNanos) {
+        windowEnd = endNanos;
+        windowStart = startNanos;
+    }
+
+    boolean inWindow(long nanos) {
+        return nanos >= windowStart && nanos < windowEnd;
+    }
+
+    static String mark(long sentNanos, String body) {
+        return MARKER + sentNanos + " " + body;
+    }
+
+    /**
+     * @param fanout 이 메시지를 받아야 하는 클라이언트 수 (브로드캐스트가 아니면 0)
+     */
+    void onSent(Operation op, long sentNanos, int fanout) {
+        if (inWindow(sentNanos)) {
+            sent.get(op).increment();
+            expectedDeliveries.add(fanout);
+        }
+    }
+
+    void onSendFailure() {
+        sendFailures.increment();
+    }
+
+    void onError() {
+        errors.increment();
+    }
+
+    /**
+     * 브로드캐스트 본문(채팅 내용, 주장 텍스트)을 받았을 때 호출합니다.
+     */
+    void onReceived(String body, long receivedNanos) {
+        if (body == null || !body.startsWith(MARKER)) {
+            otherFrames.increment(); // 시스템 메시지 등
+            return;
+        }
+        int space = body.indexOf(' ', MARKER.length());
+        long sentNanos = Long.parseLong(body.substring(MARKER.length(), space > 0 ? space : body.length()));
+        if (inWindow(sentNanos)) {
+            delivered.increment();
+            latency.record((receivedNanos - sentNanos) / 1_000);
+        }
+    }
+
+    void onOtherFrame() {
+        otherFrames.increment();
+    }
+
+    LatencyHistogram latency() {
+        return latency;
+    }
+
+    Map<String, Long> sentByOperation() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        sent.forEach((op, count) -> result.put(op.name().toLowerCase(), count.sum()));
+        return result;
+    }
+
+    long totalSent() {
+        return sent.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    long expectedDeliveries() {
+        return expectedDeliveries.sum();
+    }
+
+    long delivered() {
+        return delivered.sum();
+    }
+
+    long otherFrames() {
+        return otherFrames.sum();
+    }
+
+    long sendFailures() {
+        return sendFailures.sum();
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+}
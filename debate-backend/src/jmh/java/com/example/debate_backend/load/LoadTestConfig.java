@@ -0,0 +1,95 @@
+package com.example.debate_backend.load;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 부하 테스트 설정. 시스템 프로퍼티(load.*)로 지정합니다.
+ * 예: ./gradlew loadTest -Pload.rooms=50 -Pload.clients=1000 -Pload.rate=2 -Pload.mix=chat=60,argument=5,vote=30,join=5
+ *
+ * @param rooms           동시에 진행되는 토론방 수 (N)
+ * @param clients         STOMP 클라이언트 수 (M), 방마다 고르게 배정
+ * @param ratePerClient   클라이언트당 초당 전송 메시지 수
+ * @param warmupSeconds   측정에서 제외할 워밍업 시간
+ * @param durationSeconds 측정 시간
+ * @param drainSeconds    전송 종료 후 남은 브로드캐스트를 기다리는 시간 (이후 미수신은 drop으로 집계)
+ * @param mix             작업별 가중치
+ * @param reportPath      JSON 결과 파일 경로
+ */
+record LoadTestConfig(int rooms,
+                      int clients,
+                      double ratePerClient,
+                      int warmupSeconds,
+                      int durationSeconds,
+                      int drainSeconds,
+                      Map<Operation, Double> mix,
+                      String reportPath) {
+
+    enum Operation {
+        CHAT, ARGUMENT, VOTE, JOIN
+    }
+
+    static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+                Integer.getInteger("load.rooms", 10),
+                Integer.getInteger("load.clients", 200),
+                Double.parseDouble(System.getProperty("load.rate", "1")),
+                Integer.getInteger("load.warmup-seconds", 10),
+                Integer.getInteger("load.duration-seconds", 30),
+                Integer.getInteger("load.drain-seconds", 3),
+                parseMix(System.getProperty("load.mix", "chat=60,argument=5,vote=30,join=5")),
+                System.getProperty("load.report", "build/results/load/report.json")
+        );
+    }
+
+    /**
+     * "chat=60,vote=30" 형식. 지정하지 않은 작업은 0.
+     */
+    static Map<Operation, Double> parseMix(String spec) {
+        Map<Operation, Double> mix = new EnumMap<>(Operation.class);
+        for (Operation op : Operation.values()) {
+            mix.put(op, 0.0);
+        }
+        for (String entry : spec.split(",")) {
+            String trimmed = entry.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            int eq = trimmed.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Invalid mix entry: " + trimmed);
+            }
+            Operation op = Operation.valueOf(trimmed.substring(0, eq).trim().toUpperCase());
+            double weight = Double.parseDouble(trimmed.substring(eq + 1).trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight for " + op);
+            }
+            mix.put(op, weight);
+        }
+        if (mix.values().stream().mapToDouble(Double::doubleValue).sum() <= 0) {
+            throw new IllegalArgumentException("Mix has no positive weight: " + spec);
+        }
+        return mix;
+    }
+
+    /**
+     * 0 이상 1 미만의 난수를 가중치에 따라 작업으로 변환합니다.
+     */
+    Operation pick(double random) {
+        double total = mix.values().stream().mapToDouble(Double::doubleValue).sum();
+        double target = random * total;
+        double cumulative = 0;
+        Operation last = Operation.CHAT;
+        for (Map.Entry<Operation, Double> entry : mix.entrySet()) {
+            if (entry.getValue() <= 0) {
+                continue;
+            }
+            cumulative += entry.getValue();
+            last = entry.getKey();
+            if (target < cumulative) {
+                return last;
+            }
+        }
+        return last;
+    }
+}
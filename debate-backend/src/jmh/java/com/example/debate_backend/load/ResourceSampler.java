@@ -0,0 +1,106 @@
+package com.example.debate_backend.load;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 측정 구간 동안 서버 자원 사용량을 샘플링합니다.
+ * 클라이언트와 서버가 같은 JVM에 있으므로 CPU는 프로세스 전체와, 서버 스레드(Tomcat, 메시지 채널 lane, 스케줄러 등)만의
+ * CPU 시간을 따로 집계합니다. 힙은 1초마다 사용량을 읽어 최대값을 기록합니다.
+ */
+final class ResourceSampler {
+
+    // 서버 쪽 스레드 이름 접두사 (클라이언트 쪽은 load-client-*, WebSocketClient-*)
+    private static final List<String> SERVER_THREAD_PREFIXES = List.of(
+            "http-nio-", "room-dispatch-", "session-dispatch-", "clientInboundChannel-", "clientOutboundChannel-",
+            "brokerChannel-", "MessageBroker-", "discussion-scheduler-", "chat-log-writer");
+
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final com.sun.management.OperatingSystemMXBean os =
+            (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "load-sampler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private long startWallNanos;
+    private long startProcessCpuNanos;
+    private long startServerCpuNanos;
+    private long startGcCount;
+    private long startGcMillis;
+    private volatile long maxHeapUsed;
+
+    record Result(double processCpuPercent, double serverThreadCpuPercent, int cores,
+                  long heapUsedMaxBytes, long heapUsedEndBytes, long heapMaxBytes,
+                  long gcCount, long gcTimeMillis) {
+    }
+
+    void start() {
+        startWallNanos = System.nanoTime();
+        startProcessCpuNanos = os.getProcessCpuTime();
+        startServerCpuNanos = serverThreadCpuNanos();
+        startGcCount = gcCount();
+        startGcMillis = gcMillis();
+        maxHeapUsed = memory.getHeapMemoryUsage().getUsed();
+        scheduler.scheduleAtFixedRate(() -> maxHeapUsed = Math.max(maxHeapUsed, memory.getHeapMemoryUsage().getUsed()),
+                1, 1, TimeUnit.SECONDS);
+    }
+
+    Result stop() {
+        scheduler.shutdownNow();
+        double wallNanos = System.nanoTime() - startWallNanos;
+        int cores = Runtime.getRuntime().availableProcessors();
+        double capacity = wallNanos * cores;
+        return new Result(
+                100.0 * (os.getProcessCpuTime() - startProcessCpuNanos) / capacity,
+                100.0 * (serverThreadCpuNanos() - startServerCpuNanos) / capacity,
+                cores,
+                maxHeapUsed,
+                memory.getHeapMemoryUsage().getUsed(),
+                memory.getHeapMemoryUsage().getMax(),
+                gcCount() - startGcCount,
+                gcMillis() - startGcMillis);
+    }
+
+    // 구간 중에 종료된 스레드의 CPU 시간은 빠지므로 근사값
+    private long serverThreadCpuNanos() {
+        long total = 0;
+        for (ThreadInfo info : threads.getThreadInfo(threads.getAllThreadIds())) {
+            if (info != null && isServerThread(info.getThreadName())) {
+                long cpu = threads.getThreadCpuTime(info.getThreadId());
+                if (cpu > 0) {
+                    total += cpu;
+                }
+            }
+        }
+        return total;
+    }
+
+    private static boolean isServerThread(String name) {
+        for (String prefix : SERVER_THREAD_PREFIXES) {
+            if (name.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long gcCount() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionCount).filter(c -> c > 0).sum();
+    }
+
+    private static long gcMillis() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionTime).filter(c -> c > 0).sum();
+    }
+}
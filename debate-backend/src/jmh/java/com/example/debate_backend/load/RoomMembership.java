@@ -0,0 +1,29 @@
+package com.example.debate_backend.load;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 방별로 브로드캐스트를 받는 클라이언트 수 (기대 수신 건수 계산용).
+ */
+final class RoomMembership {
+
+    private final Map<String, AtomicInteger> members = new ConcurrentHashMap<>();
+
+    void add(String roomId) {
+        members.computeIfAbsent(roomId, id -> new AtomicInteger()).incrementAndGet();
+    }
+
+    void remove(String roomId) {
+        AtomicInteger count = members.get(roomId);
+        if (count != null) {
+            count.decrementAndGet();
+        }
+    }
+
+    int size(String roomId) {
+        AtomicInteger count = members.get(roomId);
+        return count != null ? count.get() : 0;
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.debate_backend.load;
+
+import com.example.debate_backend.dto.ArgumentDto;
+import com.example.debate_backend.dto.ChatMessageDto;
+import com.example.debate_backend.dto.ParticipantDto;
+import com.example.debate_backend.dto.VoteMessageDto;
+import com.example.debate_backend.load.LoadTestConfig.Operation;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.lang.reflect.Type;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 브라우저 한 개에 해당하는 STOMP 클라이언트.
+ * 프론트엔드(DiscussionRoomPage)와 같은 목적지를 구독하고, 설정된 비율에 따라 채팅/주장/투표/재입장을 보냅니다.
+ */
+final class SimulatedClient {
+
+    private static final String[] SIDES = {"for", "against"};
+
+    private final String participantId;
+    private final String name;
+    private final String roomId;
+    private final LoadStats stats;
+    private final RoomMembership membership;
+    private volatile StompSession session;
+    private String side;
+
+    SimulatedClient(int index, String roomId, LoadStats stats, RoomMembership membership) {
+        this.participantId = "load-" + index;
+        this.name = "부하" + index;
+        this.roomId = roomId;
+        this.stats = stats;
+        this.membership = membership;
+        this.side = SIDES[index % 2];
+    }
+
+    CompletableFuture<Void> connect(WebSocketStompClient stompClient, String url) {
+        return stompClient.connectAsync(url, new SessionHandler()).thenAccept(connected -> {
+            session = connected;
+            String topic = "/topic/room/" + roomId;
+            connected.subscribe(topic + "/chat", new BodyHandler(ChatMessageDto.class) {
+                @Override
+                String bodyOf(Object payload) {
+                    return ((ChatMessageDto) payload).getContent();
+                }
+            });
+            connected.subscribe(topic + "/argument.new", new BodyHandler(ArgumentDto.class) {
+                @Override
+                String bodyOf(Object payload) {
+                    return ((ArgumentDto) payload).getText();
+                }
+            });
+            // 나머지는 수신 프레임 수만 센다
+            for (String destination : new String[]{topic + "/participants", topic + "/vote-results", topic + "/status",
+                    "/user/queue/room/" + roomId + "/participants", "/user/queue/room/" + roomId + "/chat-history"}) {
+                connected.subscribe(destination, new CountingHandler());
+            }
+        });
+    }
+
+    boolean isConnected() {
+        StompSession current = session;
+        return current != null && current.isConnected();
+    }
+
+    void join() {
+        send("/app/" + roomId + "/join", new ParticipantDto(participantId, name, side, "bg-blue-500"));
+    }
+
+    /**
+     * 가중치에 따라 작업 하나를 골라 전송합니다. (스케줄러 스레드에서 주기적으로 호출)
+     */
+    void tick(LoadTestConfig config) {
+        Operation op = config.pick(ThreadLocalRandom.current().nextDouble());
+        long now = System.nanoTime();
+        boolean sent = switch (op) {
+            case CHAT -> send("/app/" + roomId + "/chat.sendMessage", new ChatMessageDto(ChatMessageDto.MessageType.CHAT,
+                    LoadStats.mark(now, "부하 테스트 채팅 메시지입니다."), name, roomId, null));
+            case ARGUMENT -> send("/app/" + roomId + "/argument.submit", new ArgumentDto(null, participantId, name, side,
+                    LoadStats.mark(now, "부하 테스트 주장입니다. 근거와 반론을 포함한 보통 길이의 문장."), 0));
+            case VOTE -> send("/app/" + roomId + "/vote", new VoteMessageDto(participantId, roomId,
+                    SIDES[ThreadLocalRandom.current().nextInt(2)]));
+            case JOIN -> {
+                // 진영을 바꿔 재입장 (UPDATED 변경분 브로드캐스트 + 스냅샷/채팅 기록 전송)
+                side = "for".equals(side) ? "against" : "for";
+                yield send("/app/" + roomId + "/join", new ParticipantDto(participantId, name, side, "bg-blue-500"));
+            }
+        };
+        if (sent) {
+            boolean broadcast = op == Operation.CHAT || op == Operation.ARGUMENT;
+            stats.onSent(op, now, broadcast ? membership.size(roomId) : 0);
+        }
+    }
+
+    void disconnect() {
+        StompSession current = session;
+        if (current != null && current.isConnected()) {
+            current.disconnect();
+        }
+    }
+
+    private boolean send(String destination, Object payload) {
+        StompSession current = session;
+        if (current == null || !current.isConnected()) {
+            stats.onSendFailure();
+            return false;
+        }
+        try {
+            current.send(destination, payload);
+            return true;
+        } catch (RuntimeException e) {
+            stats.onSendFailure();
+            return false;
+        }
+    }
+
+    private final class SessionHandler extends StompSessionHandlerAdapter {
+        @Override
+        public void handleException(StompSession s, StompCommand command, StompHeaders headers, byte[] payload,
+                                    Throwable exception) {
+            stats.onError();
+        }
+
+        @Override
+        public void handleTransportError(StompSession s, Throwable exception) {
+            stats.onError();
+        }
+
+        @Override
+        public void handleFrame(StompHeaders headers, Object payload) {
+            stats.onError(); // 구독 밖으로 오는 프레임은 ERROR뿐
+        }
+    }
+
+    private abstract class BodyHandler implements StompFrameHandler {
+        private final Class<?> payloadType;
+
+        BodyHandler(Class<?> payloadType) {
+            this.payloadType = payloadType;
+        }
+
+        abstract String bodyOf(Object payload);
+
+        @Override
+        public Type getPayloadType(StompHeaders headers) {
+            return payloadType;
+        }
+
+        @Override
+        public void handleFrame(StompHeaders headers, Object payload) {
+            stats.onReceived(bodyOf(payload), System.nanoTime());
+        }
+    }
+
+    private final class CountingHandler implements StompFrameHandler {
+        @Override
+        public Type getPayloadType(StompHeaders headers) {
+            return Object.class;
+        }
+
+        @Override
+        public void handleFrame(StompHeaders headers, Object payload) {
+            stats.onOtherFrame();
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.debate_backend.load;
+
+import com.example.debate_backend.BenchmarkContext;
+import com.example.debate_backend.service.DiscussionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 인프로세스 STOMP 부하 테스트.
+ * 애플리케이션을 임의 포트로 띄우고 실제 /ws 엔드포인트에 M개의 클라이언트를 N개 방으로 나눠 접속시킨 뒤,
+ * 설정한 비율로 채팅/주장/투표/재입장을 보내며 발행→수신 지연 백분위, 처리량, 미수신 프레임, 서버 CPU/힙을 보고합니다.
+ * 결과는 콘솔과 JSON 파일(load.report)로 남습니다.
+ *
+ * <p>실행: ./gradlew loadTest -Pload.rooms=50 -Pload.clients=1000 -Pload.rate=2
+ */
+public final class StompLoadTest {
+
+    private static final int CONNECT_BATCH = 50;
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        Map<String, Object> report;
+        try (BenchmarkContext app = BenchmarkContext.start()) {
+            report = run(config, app);
+        }
+        ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        Path reportPath = Path.of(config.reportPath());
+        if (reportPath.getParent() != null) {
+            Files.createDirectories(reportPath.getParent());
+        }
+        mapper.writeValue(reportPath.toFile(), report);
+        System.out.println(mapper.writeValueAsString(report));
+        System.out.println("Report written to " + reportPath.toAbsolutePath());
+        System.exit(0); // WebSocket 클라이언트의 non-daemon 스레드가 남아도 종료
+    }
+
+    static Map<String, Object> run(LoadTestConfig config, BenchmarkContext app) throws Exception {
+        DiscussionService discussionService = app.getBean(DiscussionService.class);
+        List<String> roomIds = new ArrayList<>(config.rooms());
+        for (int i = 0; i < config.rooms(); i++) {
+            roomIds.add(discussionService.createRoom().getRoomId());
+        }
+
+        WebSocketStompClient stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+        stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+        stompClient.setInboundMessageSizeLimit(512 * 1024);
+        String url = "ws://localhost:" + app.port() + "/ws/websocket"; // SockJS 엔드포인트의 raw WebSocket 경로
+
+        LoadStats stats = new LoadStats();
+        RoomMembership membership = new RoomMembership();
+        List<SimulatedClient> clients = new ArrayList<>(config.clients());
+        for (int i = 0; i < config.clients(); i++) {
+            String roomId = roomIds.get(i % roomIds.size());
+            clients.add(new SimulatedClient(i, roomId, stats, membership));
+        }
+
+        // 한꺼번에 핸드셰이크하면 접속 자체가 병목이 되므로 나눠서 연결
+        long connectStart = System.nanoTime();
+        for (int from = 0; from < clients.size(); from += CONNECT_BATCH) {
+            List<CompletableFuture<Void>> batch = new ArrayList<>();
+            for (SimulatedClient client : clients.subList(from, Math.min(clients.size(), from + CONNECT_BATCH))) {
+                batch.add(client.connect(stompClient, url));
+            }
+            CompletableFuture.allOf(batch.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+        }
+        long connectMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - connectStart);
+        for (int i = 0; i < clients.size(); i++) {
+            membership.add(roomIds.get(i % roomIds.size()));
+        }
+        Thread.sleep(500); // SUBSCRIBE 처리 대기 (receipt 없이)
+        clients.forEach(SimulatedClient::join);
+
+        AtomicInteger threadIds = new AtomicInteger();
+        int senderThreads = Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+        ScheduledExecutorService senders = Executors.newScheduledThreadPool(senderThreads, r -> {
+            Thread thread = new Thread(r, "load-client-" + threadIds.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        long periodMicros = Math.max(1, (long) (1_000_000 / config.ratePerClient()));
+        for (SimulatedClient client : clients) {
+            long initialDelay = ThreadLocalRandom.current().nextLong(periodMicros);
+            senders.scheduleAtFixedRate(() -> client.tick(config), initialDelay, periodMicros, TimeUnit.MICROSECONDS);
+        }
+
+        // 워밍업 후 측정 구간 시작
+        Thread.sleep(TimeUnit.SECONDS.toMillis(config.warmupSeconds()));
+        ResourceSampler sampler = new ResourceSampler();
+        long windowStart = System.nanoTime();
+        long windowEnd = windowStart + TimeUnit.SECONDS.toNanos(config.durationSeconds());
+        stats.openWindow(windowStart, windowEnd);
+        sampler.start();
+        Thread.sleep(TimeUnit.SECONDS.toMillis(config.durationSeconds()));
+        ResourceSampler.Result resources = sampler.stop();
+
+        senders.shutdownNow();
+        Thread.sleep(TimeUnit.SECONDS.toMillis(config.drainSeconds()));
+        long connected = clients.stream().filter(SimulatedClient::isConnected).count();
+        clients.forEach(SimulatedClient::disconnect);
+        stompClient.stop();
+
+        return buildReport(config, stats, resources, connectMillis, connected);
+    }
+
+    private static Map<String, Object> buildReport(LoadTestConfig config, LoadStats stats, ResourceSampler.Result resources,
+                                                   long connectMillis, long connectedAtEnd) {
+        double seconds = config.durationSeconds();
+        LatencyHistogram latency = stats.latency();
+
+        Map<String, Object> setup = new LinkedHashMap<>();
+        setup.put("rooms", config.rooms());
+        setup.put("clients", config.clients());
+        setup.put("ratePerClient", config.ratePerClient());
+        setup.put("warmupSeconds", config.warmupSeconds());
+        setup.put("durationSeconds", config.durationSeconds());
+        setup.put("mix", config.mix());
+
+        Map<String, Object> latencyMicros = new LinkedHashMap<>();
+        latencyMicros.put("samples", latency.count());
+        latencyMicros.put("p50", latency.percentile(50));
+        latencyMicros.put("p90", latency.percentile(90));
+        latencyMicros.put("p99", latency.percentile(99));
+        latencyMicros.put("p999", latency.percentile(99.9));
+        latencyMicros.put("max", latency.max());
+
+        Map<String, Object> throughput = new LinkedHashMap<>();
+        throughput.put("sentPerSecond", stats.totalSent() / seconds);
+        throughput.put("deliveredPerSecond", stats.delivered() / seconds);
+        throughput.put("sentByOperation", stats.sentByOperation());
+
+        Map<String, Object> delivery = new LinkedHashMap<>();
+        delivery.put("expected", stats.expectedDeliveries());
+        delivery.put("delivered", stats.delivered());
+        delivery.put("dropped", Math.max(0, stats.expectedDeliveries() - stats.delivered()));
+        delivery.put("otherFrames", stats.otherFrames());
+        delivery.put("sendFailures", stats.sendFailures());
+        delivery.put("errors", stats.errors());
+        delivery.put("connectedAtEnd", connectedAtEnd);
+        delivery.put("connectMillis", connectMillis);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("setup", setup);
+        report.put("latencyMicros", latencyMicros);
+        report.put("throughput", throughput);
+        report.put("delivery", delivery);
+        report.put("resources", resources);
+        return report;
+    }
+}
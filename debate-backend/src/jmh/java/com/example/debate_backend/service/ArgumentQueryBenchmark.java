@@ -0,0 +1,115 @@
+package com.example.debate_backend.service;
+
+import com.example.debate_backend.BenchmarkContext;
+import com.example.debate_backend.BenchmarkData;
+import com.example.debate_backend.dto.ArgumentCursor;
+import com.example.debate_backend.dto.ArgumentDto;
+import com.example.debate_backend.model.Argument;
+import com.example.debate_backend.model.Participant;
+import com.example.debate_backend.model.Room;
+import com.example.debate_backend.repository.ArgumentRepository;
+import com.example.debate_backend.repository.ParticipantRepository;
+import com.example.debate_backend.repository.RoomRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * H2에 주장 1k/10k/100k 건이 있을 때 DiscussionService.getArguments 한 페이지(100건) 조회 비용.
+ * 처음/중간 커서/since 세 가지 모드를 측정하며, 인덱스(room_id, timestamp, id)가 타면 행 수와 무관해야 합니다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
+public class ArgumentQueryBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+    private static final int INSERT_BATCH = 5_000;
+    private static final long BASE_TIMESTAMP = 1_700_000_000_000L;
+
+    @Param({"1000", "10000", "100000"})
+    public int rows;
+
+    private BenchmarkContext context;
+    private DiscussionService discussionService;
+    private String roomId;
+    private ArgumentCursor middleCursor;
+    private long recentSince;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        discussionService = context.getBean(DiscussionService.class);
+        roomId = discussionService.createRoom().getRoomId();
+        insertArguments();
+
+        middleCursor = ArgumentCursor.of(discussionService
+                .getArguments(roomId, null, BASE_TIMESTAMP + (rows / 2) * 1000L, 1).get(0));
+        recentSince = BASE_TIMESTAMP + (long) Math.max(0, rows - PAGE_SIZE) * 1000L;
+    }
+
+    // write-behind를 거치지 않고 리포지토리로 직접 적재 (배치 insert)
+    private void insertArguments() {
+        RoomRepository roomRepository = context.getBean(RoomRepository.class);
+        ParticipantRepository participantRepository = context.getBean(ParticipantRepository.class);
+        ArgumentRepository argumentRepository = context.getBean(ArgumentRepository.class);
+        TransactionTemplate tx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        List<String> participantIds = tx.execute(status -> {
+            Room room = roomRepository.getReferenceById(roomId);
+            List<String> ids = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                String id = "bench-participant-" + i;
+                participantRepository.save(new Participant(id, room, "참가자" + i, BenchmarkData.side(i), "bg-blue-500"));
+                ids.add(id);
+            }
+            return ids;
+        });
+
+        for (int start = 0; start < rows; start += INSERT_BATCH) {
+            int from = start;
+            int to = Math.min(rows, start + INSERT_BATCH);
+            tx.executeWithoutResult(status -> {
+                Room room = roomRepository.getReferenceById(roomId);
+                List<Argument> batch = new ArrayList<>(to - from);
+                for (int i = from; i < to; i++) {
+                    Participant participant = participantRepository.getReferenceById(participantIds.get(i % participantIds.size()));
+                    Argument argument = new Argument(room, participant, BenchmarkData.argumentText(), BenchmarkData.side(i));
+                    argument.setTimestamp(BASE_TIMESTAMP + i * 1000L);
+                    batch.add(argument);
+                }
+                argumentRepository.saveAll(batch);
+            });
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ArgumentDto> firstPage() {
+        return discussionService.getArguments(roomId, null, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<ArgumentDto> pageAfterMiddleCursor() {
+        return discussionService.getArguments(roomId, middleCursor, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<ArgumentDto> recentSince() {
+        return discussionService.getArguments(roomId, null, recentSince, PAGE_SIZE);
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.debate_backend.service;
+
+import com.example.debate_backend.BenchmarkData;
+import com.example.debate_backend.dto.DiscussionStatusDto;
+import com.example.debate_backend.dto.ParticipantDto;
+import com.example.debate_backend.dto.RosterEventDto;
+import com.example.debate_backend.model.Room;
+import com.example.debate_backend.service.state.RoomState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+/**
+ * 인메모리 상태 -> DTO 변환 비용.
+ * 방과 참가자는 RoomState에서 DTO를 만듭니다. (주장은 쿼리에서 DTO로 바로 조회하므로 ArgumentQueryBenchmark에서 측정)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
+public class DtoConversionBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int size;
+
+    private RoomState roomState;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        roomState = new RoomState("bench-room", "topic-1", "숙제를 금지해야 하는가?", Room.RoomStatus.STARTED,
+                "토론이 시작되었습니다!", System.currentTimeMillis(), 300);
+        for (ParticipantDto participant : BenchmarkData.participants(size)) {
+            roomState.upsertParticipant(participant, true);
+        }
+    }
+
+    @Benchmark
+    public List<ParticipantDto> participants() {
+        return roomState.participantList();
+    }
+
+    @Benchmark
+    public RosterEventDto rosterSnapshot() {
+        return roomState.rosterSnapshot();
+    }
+
+    @Benchmark
+    public DiscussionStatusDto roomStatus() {
+        return roomState.toStatusDto();
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.debate_backend.service;
+
+import com.example.debate_backend.BenchmarkContext;
+import com.example.debate_backend.dto.VoteMessageDto;
+import com.example.debate_backend.dto.VoteResultsDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * DiscussionService.processVote 처리량 (1/8/64 스레드가 같은 방에 투표).
+ * 스레드마다 고정된 투표자 집합을 돌며 진영을 번갈아 바꾸므로, 첫 바퀴 이후에는 모두 CHANGED(저널 기록 포함) 경로를 탑니다.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class VoteBenchmark {
+
+    private static final int VOTERS_PER_THREAD = 1024;
+
+    @State(Scope.Benchmark)
+    public static class App {
+        BenchmarkContext context;
+        DiscussionService discussionService;
+        String roomId;
+        final AtomicInteger threadIds = new AtomicInteger();
+
+        @Setup(Level.Trial)
+        public void start() {
+            context = BenchmarkContext.start();
+            discussionService = context.getBean(DiscussionService.class);
+            roomId = discussionService.createRoom().getRoomId();
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            context.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Voter {
+        VoteMessageDto[] forVotes;
+        VoteMessageDto[] againstVotes;
+        int next;
+
+        @Setup(Level.Trial)
+        public void prepare(App app) {
+            int threadId = app.threadIds.getAndIncrement();
+            forVotes = new VoteMessageDto[VOTERS_PER_THREAD];
+            againstVotes = new VoteMessageDto[VOTERS_PER_THREAD];
+            for (int i = 0; i < VOTERS_PER_THREAD; i++) {
+                String voterId = "t" + threadId + "-v" + i;
+                forVotes[i] = new VoteMessageDto(voterId, app.roomId, "for");
+                againstVotes[i] = new VoteMessageDto(voterId, app.roomId, "against");
+            }
+        }
+
+        VoteMessageDto nextVote() {
+            int i = next++;
+            int voter = i % VOTERS_PER_THREAD;
+            return (i / VOTERS_PER_THREAD) % 2 == 0 ? forVotes[voter] : againstVotes[voter];
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public VoteResultsDto processVote_1thread(App app, Voter voter) {
+        return app.discussionService.processVote(voter.nextVote());
+    }
+
+    @Benchmark
+    @Threads(8)
+    public VoteResultsDto processVote_8threads(App app, Voter voter) {
+        return app.discussionService.processVote(voter.nextVote());
+    }
+
+    @Benchmark
+    @Threads(64)
+    public VoteResultsDto processVote_64threads(App app, Voter voter) {
+        return app.discussionService.processVote(voter.nextVote());
+    }
+}
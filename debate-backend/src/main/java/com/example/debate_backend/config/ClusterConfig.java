@@ -0,0 +1,54 @@
+package com.example.debate_backend.config;
+
+import com.example.debate_backend.service.cluster.ClusterEventBus;
+import com.example.debate_backend.service.cluster.LocalClusterEventBus;
+import com.example.debate_backend.service.cluster.StompClusterEventBus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * 노드 간 상태 복제 채널 설정.
+ * discussion.broker.mode=relay 이면 외부 STOMP 브로커로 이벤트를 주고받고, 기본(simple)은 단일 노드로 동작합니다.
+ */
+@Configuration
+public class ClusterConfig {
+
+    @Value("${discussion.cluster.node-id:}")
+    private String nodeId;
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    @ConditionalOnProperty(name = "discussion.broker.mode", havingValue = "relay")
+    public StompClusterEventBus stompClusterEventBus(ObjectMapper objectMapper,
+                                                     @Value("${discussion.broker.relay.host:localhost}") String host,
+                                                     @Value("${discussion.broker.relay.port:61613}") int port,
+                                                     @Value("${discussion.broker.relay.login:guest}") String login,
+                                                     @Value("${discussion.broker.relay.passcode:guest}") String passcode,
+                                                     @Value("${discussion.broker.relay.virtual-host:}") String virtualHost,
+                                                     @Value("${discussion.cluster.destination:/topic/debate.cluster.events}") String destination,
+                                                     @Value("${discussion.cluster.reconnect-delay-ms:5000}") long reconnectDelayMs,
+                                                     @Value("${discussion.cluster.heartbeat-interval-ms:10000}") long heartbeatIntervalMs,
+                                                     @Value("${discussion.cluster.node-timeout-ms:60000}") long nodeTimeoutMs) {
+        return new StompClusterEventBus(objectMapper, host, port, login, passcode, virtualHost, destination,
+                resolvedNodeId(), Duration.ofMillis(reconnectDelayMs), Duration.ofMillis(heartbeatIntervalMs),
+                Duration.ofMillis(nodeTimeoutMs));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "discussion.broker.mode", havingValue = "simple", matchIfMissing = true)
+    public ClusterEventBus localClusterEventBus() {
+        return new LocalClusterEventBus(resolvedNodeId());
+    }
+
+    private String resolvedNodeId() {
+        if (nodeId == null || nodeId.isBlank()) {
+            nodeId = UUID.randomUUID().toString();
+        }
+        return nodeId;
+    }
+}
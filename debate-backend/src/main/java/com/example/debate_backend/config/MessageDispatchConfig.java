@@ -0,0 +1,43 @@
+package com.example.debate_backend.config;
+
+import com.example.debate_backend.handler.DispatchKeys;
+import com.example.debate_backend.handler.ShardedMessageExecutor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * STOMP 메시지 채널용 lane 기반 Executor 설정.
+ * 수신(inbound)은 방 ID 기준으로 나눠서 같은 방의 메시지(상태 변경, 주장 제출 등)가 순서대로 하나씩 처리되고,
+ * 송신(outbound)은 세션 ID 기준으로 나눠서 각 클라이언트가 보낸 순서대로 프레임을 받습니다.
+ */
+@Configuration
+public class MessageDispatchConfig {
+
+    @Value("${discussion.dispatch.inbound.lanes:0}") // 0이면 CPU 코어 수
+    private int inboundLanes;
+    @Value("${discussion.dispatch.inbound.queue-capacity:10000}")
+    private int inboundQueueCapacity;
+    @Value("${discussion.dispatch.outbound.lanes:0}")
+    private int outboundLanes;
+    @Value("${discussion.dispatch.outbound.queue-capacity:10000}")
+    private int outboundQueueCapacity;
+    @Value("${discussion.dispatch.offer-timeout-ms:1000}")
+    private long offerTimeoutMs;
+
+    @Bean(destroyMethod = "shutdown")
+    public ShardedMessageExecutor roomDispatchExecutor() {
+        return new ShardedMessageExecutor("room-dispatch", lanesOrDefault(inboundLanes), inboundQueueCapacity,
+                offerTimeoutMs, DispatchKeys::roomOrSession);
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ShardedMessageExecutor sessionDispatchExecutor() {
+        return new ShardedMessageExecutor("session-dispatch", lanesOrDefault(outboundLanes), outboundQueueCapacity,
+                offerTimeoutMs, DispatchKeys::session);
+    }
+
+    private static int lanesOrDefault(int lanes) {
+        return lanes > 0 ? lanes : Runtime.getRuntime().availableProcessors();
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.debate_backend.config;
+
+import com.example.debate_backend.handler.BinaryPayloadNegotiator;
+import com.example.debate_backend.handler.HandlerMetrics;
+import com.example.debate_backend.handler.ShardedMessageExecutor;
+import com.example.debate_backend.model.Room;
+import com.example.debate_backend.service.IdleRoomReaper;
+import com.example.debate_backend.service.SessionRegistry;
+import com.example.debate_backend.service.ai.GeminiClient;
+import com.example.debate_backend.service.ai.GeminiClientMetrics;
+import com.example.debate_backend.service.archive.DebateArchiver;
+import com.example.debate_backend.service.chat.ChatLog;
+import com.example.debate_backend.service.cluster.ClusterEventBus;
+import com.example.debate_backend.service.cluster.StompClusterEventBus;
+import com.example.debate_backend.service.state.RoomStateStore;
+import com.example.debate_backend.service.timer.DebateTimerService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Actuator(/actuator/prometheus)로 노출할 서버 상태 지표.
+ * 값은 각 컴포넌트가 이미 들고 있는 카운터/큐를 scrape 시점에 읽으므로 처리 경로에 추가 비용이 없습니다.
+ * 핸들러 실행 시간과 fan-out은 HandlerMetrics, BroadcastMetricsInterceptor에서 기록합니다.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder discussionStateMetrics(SessionRegistry sessionRegistry, RoomStateStore roomStateStore,
+                                              ChatLog chatLog, DebateTimerService debateTimer) {
+        return registry -> {
+            Gauge.builder("discussion.sessions.active", sessionRegistry, SessionRegistry::size)
+                    .description("WebSocket sessions bound to a participant")
+                    .register(registry);
+            Gauge.builder("discussion.rooms.active", roomStateStore, store -> store.roomIds().size())
+                    .description("Rooms held in memory")
+                    .register(registry);
+            for (Room.RoomStatus status : Room.RoomStatus.values()) {
+                Gauge.builder("discussion.rooms.by.status", roomStateStore, store -> store.roomCount(status))
+                        .tag("status", status.name())
+                        .register(registry);
+            }
+            Gauge.builder("discussion.rooms.dirty", roomStateStore, RoomStateStore::dirtyRoomCount)
+                    .description("Rooms waiting for the next write-behind flush")
+                    .register(registry);
+            Gauge.builder("discussion.chat.log.queue", chatLog, ChatLog::queueDepth)
+                    .description("Chat messages waiting to be appended to the log")
+                    .register(registry);
+            FunctionCounter.builder("discussion.chat.log.dropped", chatLog, ChatLog::droppedCount)
+                    .description("Chat messages dropped because the log queue was full")
+                    .register(registry);
+            Gauge.builder("discussion.timer.pending", debateTimer, DebateTimerService::pendingCount)
+                    .description("Room phase deadlines scheduled on the timing wheel")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder reaperMetrics(IdleRoomReaper reaper) {
+        return registry -> {
+            FunctionCounter.builder("discussion.reaper.reclaimed", reaper, IdleRoomReaper::reclaimedRooms)
+                    .description("In-memory state removed by the idle room reaper")
+                    .tag("kind", "rooms")
+                    .register(registry);
+            FunctionCounter.builder("discussion.reaper.reclaimed", reaper, IdleRoomReaper::reclaimedParticipants)
+                    .tag("kind", "participants")
+                    .register(registry);
+            FunctionCounter.builder("discussion.reaper.reclaimed", reaper, IdleRoomReaper::reclaimedVoteCounters)
+                    .tag("kind", "vote_counters")
+                    .register(registry);
+            FunctionCounter.builder("discussion.reaper.reclaimed", reaper, IdleRoomReaper::reclaimedChatBuffers)
+                    .tag("kind", "chat_buffers")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder archiveMetrics(DebateArchiver archiver) {
+        return registry -> {
+            FunctionCounter.builder("discussion.archive.rooms", archiver, DebateArchiver::archivedRoomCount)
+                    .description("Ended rooms archived and removed from the live tables")
+                    .register(registry);
+            FunctionCounter.builder("discussion.archive.bytes", archiver, DebateArchiver::archivedByteCount)
+                    .description("Compressed archive bytes of removed rooms")
+                    .register(registry);
+            FunctionCounter.builder("discussion.archive.failures", archiver, DebateArchiver::failureCount)
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder payloadFormatMetrics(BinaryPayloadNegotiator negotiator) {
+        return registry -> {
+            FunctionCounter.builder("discussion.ws.cbor.messages", negotiator, BinaryPayloadNegotiator::cborMessageCount)
+                    .description("Outbound messages sent as CBOR")
+                    .register(registry);
+            // 같은 메시지의 JSON/CBOR 크기 합계 (비율로 절감량 확인)
+            FunctionCounter.builder("discussion.ws.cbor.bytes", negotiator, BinaryPayloadNegotiator::jsonByteCount)
+                    .tag("format", "json")
+                    .register(registry);
+            FunctionCounter.builder("discussion.ws.cbor.bytes", negotiator, BinaryPayloadNegotiator::cborByteCount)
+                    .tag("format", "cbor")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder dispatchMetrics(@Qualifier("roomDispatchExecutor") ShardedMessageExecutor roomDispatchExecutor,
+                                       @Qualifier("sessionDispatchExecutor") ShardedMessageExecutor sessionDispatchExecutor) {
+        return registry -> {
+            bindLanes(registry, "inbound", roomDispatchExecutor);
+            bindLanes(registry, "outbound", sessionDispatchExecutor);
+        };
+    }
+
+    @Bean
+    public MeterBinder geminiMetrics(GeminiClient geminiClient) {
+        GeminiClientMetrics metrics = geminiClient.metrics();
+        return registry -> {
+            FunctionCounter.builder("discussion.gemini.rejected", metrics, GeminiClientMetrics::rejectedByBulkhead)
+                    .tag("reason", "bulkhead")
+                    .register(registry);
+            FunctionCounter.builder("discussion.gemini.rejected", metrics, GeminiClientMetrics::rejectedByCircuit)
+                    .tag("reason", "circuit")
+                    .register(registry);
+            Gauge.builder("discussion.gemini.in.flight", geminiClient, GeminiClient::inFlightCalls)
+                    .register(registry);
+            // 0=CLOSED, 1=OPEN, 2=HALF_OPEN
+            Gauge.builder("discussion.gemini.circuit.state", geminiClient, client -> client.circuitState().ordinal())
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder clusterMetrics(ClusterEventBus clusterEventBus) {
+        return registry -> {
+            if (!(clusterEventBus instanceof StompClusterEventBus bus)) {
+                return; // 단일 노드 모드
+            }
+            FunctionCounter.builder("discussion.cluster.events", bus, StompClusterEventBus::publishedCount)
+                    .tag("direction", "published")
+                    .register(registry);
+            FunctionCounter.builder("discussion.cluster.events", bus, StompClusterEventBus::receivedCount)
+                    .tag("direction", "received")
+                    .register(registry);
+            FunctionCounter.builder("discussion.cluster.events", bus, StompClusterEventBus::droppedCount)
+                    .tag("direction", "dropped")
+                    .register(registry);
+            // (재)연결 후 스냅샷 교환 횟수
+            FunctionCounter.builder("discussion.cluster.resyncs", bus, StompClusterEventBus::resyncCount)
+                    .register(registry);
+            Gauge.builder("discussion.cluster.ready", bus, b -> b.isReady() ? 1 : 0)
+                    .register(registry);
+        };
+    }
+
+    /**
+     * 실행되는 모든 SQL을 HandlerMetrics에 알려 핸들러별 JPA 쿼리 수를 집계합니다.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer queryCountingStatementInspector(HandlerMetrics handlerMetrics) {
+        StatementInspector inspector = sql -> {
+            handlerMetrics.onStatement();
+            return sql;
+        };
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+    }
+
+    private static void bindLanes(MeterRegistry registry, String channel, ShardedMessageExecutor executor) {
+        for (int i = 0; i < executor.laneCount(); i++) {
+            int lane = i;
+            Gauge.builder("discussion.dispatch.queue.depth", executor, e -> e.queueDepth(lane))
+                    .description("Messages waiting in a dispatch lane")
+                    .tag("channel", channel)
+                    .tag("lane", Integer.toString(lane))
+                    .register(registry);
+        }
+        FunctionCounter.builder("discussion.dispatch.rejected", executor, ShardedMessageExecutor::rejectedCount)
+                .description("Messages rejected because the lane queue stayed full")
+                .tag("channel", channel)
+                .register(registry);
+    }
+}
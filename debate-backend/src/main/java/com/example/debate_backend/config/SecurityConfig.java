@@ -1,5 +1,6 @@
 package com.example.debate_backend.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -16,6 +17,10 @@ import java.util.Arrays; // 🟢 임포트 추가
 @EnableWebSecurity
 public class SecurityConfig {
 
+    // actuator 전용 관리 포트 (설정하지 않으면 -1이므로 Prometheus scrape도 인증 필요)
+    @Value("${management.server.port:-1}")
+    private int managementPort;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
@@ -29,6 +34,11 @@ public class SecurityConfig {
                 .authorizeHttpRequests(authorize -> authorize
                         .requestMatchers("/api/**").permitAll()
                         .requestMatchers("/ws/**").permitAll()
+                        // 🟢 헬스 체크
+                        .requestMatchers("/actuator/health").permitAll()
+                        // 🟢 Prometheus scrape는 관리 포트(내부망 전용)로 들어온 요청만 허용
+                        .requestMatchers(request -> request.getLocalPort() == managementPort
+                                && "/actuator/prometheus".equals(request.getRequestURI())).permitAll()
                         .anyRequest().authenticated()
                 )
 
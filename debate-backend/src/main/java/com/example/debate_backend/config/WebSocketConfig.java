@@ -1,16 +1,60 @@
 package com.example.debate_backend.config;
 
+import com.example.debate_backend.handler.BinaryPayloadNegotiator;
+import com.example.debate_backend.handler.BroadcastMetricsInterceptor;
+import com.example.debate_backend.handler.ClusterDestinationGuard;
+import com.example.debate_backend.handler.ShardedMessageExecutor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.converter.MessageConverter;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.simp.config.StompBrokerRelayRegistration;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 import org.springframework.web.socket.server.support.DefaultHandshakeHandler; // 필요시
 
+import java.util.List;
+
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    // 방 단위로 순서를 보장하는 수신 Executor, 세션 단위로 순서를 보장하는 송신 Executor
+    private final ShardedMessageExecutor roomDispatchExecutor;
+    private final ShardedMessageExecutor sessionDispatchExecutor;
+    private final BroadcastMetricsInterceptor broadcastMetrics;
+    private final BinaryPayloadNegotiator binaryPayloadNegotiator;
+
+    // 🟢 simple: 인메모리 브로커 (단일 노드), relay: 외부 STOMP 브로커로 중계 (여러 노드)
+    @Value("${discussion.broker.mode:simple}")
+    private String brokerMode;
+    @Value("${discussion.broker.relay.host:localhost}")
+    private String relayHost;
+    @Value("${discussion.broker.relay.port:61613}")
+    private int relayPort;
+    @Value("${discussion.broker.relay.login:guest}")
+    private String relayLogin;
+    @Value("${discussion.broker.relay.passcode:guest}")
+    private String relayPasscode;
+    @Value("${discussion.broker.relay.virtual-host:}")
+    private String relayVirtualHost;
+    @Value("${discussion.cluster.destination:/topic/debate.cluster.events}")
+    private String clusterDestination;
+
+    public WebSocketConfig(@Qualifier("roomDispatchExecutor") ShardedMessageExecutor roomDispatchExecutor,
+                           @Qualifier("sessionDispatchExecutor") ShardedMessageExecutor sessionDispatchExecutor,
+                           BroadcastMetricsInterceptor broadcastMetrics,
+                           BinaryPayloadNegotiator binaryPayloadNegotiator) {
+        this.roomDispatchExecutor = roomDispatchExecutor;
+        this.sessionDispatchExecutor = sessionDispatchExecutor;
+        this.broadcastMetrics = broadcastMetrics;
+        this.binaryPayloadNegotiator = binaryPayloadNegotiator;
+    }
+
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         // 🟢 WebSocket 엔드포인트 경로 확인
@@ -24,7 +68,54 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     public void configureMessageBroker(MessageBrokerRegistry registry) {
         // 클라이언트가 서버로 메시지를 보낼 때 사용할 접두사
         registry.setApplicationDestinationPrefixes("/app");
-        // Simple Broker의 목적지 접두사
-        registry.enableSimpleBroker("/topic", "/queue");
+        if ("relay".equalsIgnoreCase(brokerMode)) {
+            // 외부 브로커로 중계: 어느 노드에 연결된 구독자든 같은 방의 메시지를 받음
+            StompBrokerRelayRegistration relay = registry.enableStompBrokerRelay("/topic", "/queue")
+                    .setRelayHost(relayHost)
+                    .setRelayPort(relayPort)
+                    .setClientLogin(relayLogin)
+                    .setClientPasscode(relayPasscode)
+                    .setSystemLogin(relayLogin)
+                    .setSystemPasscode(relayPasscode)
+                    // 다른 노드에 연결된 세션으로 가는 /user 메시지와 세션 목록을 노드 간에 공유
+                    .setUserDestinationBroadcast("/topic/unresolved-user")
+                    .setUserRegistryBroadcast("/topic/user-registry");
+            if (!relayVirtualHost.isBlank()) {
+                relay.setVirtualHost(relayVirtualHost);
+            }
+        } else {
+            // Simple Broker의 목적지 접두사
+            registry.enableSimpleBroker("/topic", "/queue");
+            // simple 브로커는 같은 스레드에서 구독자에게 전달하므로 브로드캐스트당 fan-out을 셀 수 있음
+            registry.configureBrokerChannel().interceptors(broadcastMetrics.brokerChannel());
+        }
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        // 같은 방의 메시지는 하나의 lane에서 순서대로 처리 (핸들러 간 경합 제거)
+        registration.executor(roomDispatchExecutor);
+        registration.interceptors(new ClusterDestinationGuard(clusterDestination),
+                binaryPayloadNegotiator.clientInboundChannel());
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.executor(sessionDispatchExecutor);
+        // fan-out은 변환 전 크기로 집계한 뒤, CBOR를 요청한 구독으로 가는 메시지만 변환
+        registration.interceptors(broadcastMetrics.clientOutboundChannel(),
+                binaryPayloadNegotiator.clientOutboundChannel());
+    }
+
+    @Override
+    public boolean configureMessageConverters(List<MessageConverter> messageConverters) {
+        // content-type:application/cbor 프레임만 CBOR로 읽고, 나머지는 기본 변환기(JSON)를 그대로 사용
+        messageConverters.add(binaryPayloadNegotiator.messageConverter());
+        return true;
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.addDecoratorFactory(binaryPayloadNegotiator.transportDecorator());
     }
-}
\ No newline at end of file
+}
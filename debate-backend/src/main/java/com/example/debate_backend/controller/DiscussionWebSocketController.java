@@ -2,9 +2,13 @@ package com.example.debate_backend.controller;
 
 import com.example.debate_backend.dto.*;
 import com.example.debate_backend.service.DiscussionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Controller;
 
@@ -14,6 +18,8 @@ import java.util.Map;
 @Controller
 public class DiscussionWebSocketController {
 
+    private static final Logger log = LoggerFactory.getLogger(DiscussionWebSocketController.class);
+
     private final SimpMessagingTemplate messagingTemplate;
     private final DiscussionService discussionService;
 
@@ -23,23 +29,55 @@ public class DiscussionWebSocketController {
     }
 
     @MessageMapping("/{roomId}/join")
-    public void joinRoom(@DestinationVariable String roomId, @Payload ParticipantDto newParticipant) {
-        List<ParticipantDto> updatedParticipants = discussionService.addOrUpdateParticipant(roomId, newParticipant);
-        System.out.println("Participant " + newParticipant.getName() + " (" + newParticipant.getId() + ") joined room " + roomId);
-        messagingTemplate.convertAndSend(
-                "/topic/room/" + roomId + "/participants",
-                updatedParticipants
-        );
+    public void joinRoom(@DestinationVariable String roomId, @Payload ParticipantDto newParticipant,
+                         SimpMessageHeaderAccessor headerAccessor) {
+        String sessionId = headerAccessor.getSessionId();
+        List<RosterEventDto> rosterEvents = discussionService.addOrUpdateParticipant(roomId, newParticipant, sessionId);
+        log.debug("Participant {} ({}) joined room {}", newParticipant.getName(), newParticipant.getId(), roomId);
+        // 전체 목록 대신 변경분만 브로드캐스트 (다른 방에서 옮겨온 경우 이전 방의 LEFT 포함)
+        for (RosterEventDto event : rosterEvents) {
+            messagingTemplate.convertAndSend(
+                    "/topic/room/" + event.getRoomId() + "/participants",
+                    event
+            );
+        }
+
+        // 입장한 세션에게만 전체 참가자 목록 스냅샷 전송 (/user/queue/room/{roomId}/participants)
+        RosterEventDto snapshot = discussionService.getRosterSnapshot(roomId);
+        if (snapshot != null) {
+            sendToSession(sessionId, "/queue/room/" + roomId + "/participants", snapshot);
+        }
+
+        // 입장한 세션에게만 현재 상태(타이머 마감 포함) 전송 → 클라이언트가 REST로 상태를 조회하지 않아도 됨
+        DiscussionStatusDto status = discussionService.getRoomStatus(roomId);
+        if (status != null) {
+            sendToSession(sessionId, "/queue/room/" + roomId + "/status", status);
+        }
+
+        // 입장한 세션에게만 최근 채팅 기록 전송 (/user/queue/room/{roomId}/chat-history)
+        List<ChatMessageDto> history = discussionService.getRecentChat(roomId);
+        if (!history.isEmpty()) {
+            sendToSession(sessionId, "/queue/room/" + roomId + "/chat-history", history);
+        }
+    }
+
+    // 🟢 클라이언트가 버전 누락(gap)을 감지했을 때 요청하는 참가자 목록 스냅샷
+    @MessageMapping("/{roomId}/participants.snapshot")
+    public void sendRosterSnapshot(@DestinationVariable String roomId, SimpMessageHeaderAccessor headerAccessor) {
+        RosterEventDto snapshot = discussionService.getRosterSnapshot(roomId);
+        if (snapshot != null) {
+            sendToSession(headerAccessor.getSessionId(), "/queue/room/" + roomId + "/participants", snapshot);
+        }
     }
 
     @MessageMapping("/{roomId}/leave")
     public void leaveRoom(@DestinationVariable String roomId, @Payload ParticipantDto leavingParticipant) {
-        List<ParticipantDto> updatedParticipants = discussionService.removeParticipant(roomId, leavingParticipant.getId());
-        System.out.println("Participant " + leavingParticipant.getName() + " (" + leavingParticipant.getId() + ") left room " + roomId);
-        if (updatedParticipants != null) {
+        RosterEventDto leftEvent = discussionService.removeParticipant(roomId, leavingParticipant.getId());
+        log.debug("Participant {} ({}) left room {}", leavingParticipant.getName(), leavingParticipant.getId(), roomId);
+        if (leftEvent != null) {
             messagingTemplate.convertAndSend(
                     "/topic/room/" + roomId + "/participants",
-                    updatedParticipants
+                    leftEvent
             );
         }
     }
@@ -48,7 +86,7 @@ public class DiscussionWebSocketController {
     public void sendChatMessage(@DestinationVariable String roomId, @Payload ChatMessageDto chatMessage) {
         chatMessage.setRoomId(roomId);
         ChatMessageDto processedMessage = discussionService.processChatMessage(chatMessage);
-        System.out.println("Chat in room " + roomId + " from " + processedMessage.getSender() + ": " + processedMessage.getContent());
+        log.trace("Chat in room {} from {}: {}", roomId, processedMessage.getSender(), processedMessage.getContent());
         messagingTemplate.convertAndSend(
                 "/topic/room/" + roomId + "/chat",
                 processedMessage
@@ -59,32 +97,40 @@ public class DiscussionWebSocketController {
     public void updateDiscussionStatus(@DestinationVariable String roomId, @Payload DiscussionStatusDto status) {
         status.setRoomId(roomId);
         DiscussionStatusDto updatedStatus = discussionService.updateDiscussionStatus(roomId, status);
-        System.out.println("Room " + roomId + " status updated to: " + updatedStatus.getType() + " - " + updatedStatus.getMessage());
+        log.info("Room {} status updated to {} - {}", roomId, updatedStatus.getType(), updatedStatus.getMessage());
         messagingTemplate.convertAndSend(
                 "/topic/room/" + roomId + "/status",
                 updatedStatus
         );
     }
 
+    // 투표는 즉시 반영되고, 결과 브로드캐스트는 VoteResultsBroadcaster가 방별로 묶어서 주기적으로 전송
     @MessageMapping("/{roomId}/vote")
     public void handleVote(@DestinationVariable String roomId, @Payload VoteMessageDto voteMessage) {
         voteMessage.setRoomId(roomId);
-        VoteResultsDto updatedVoteResults = discussionService.processVote(voteMessage);
-        System.out.println("Room " + roomId + " vote for " + voteMessage.getSide() + " by " + voteMessage.getVoterId());
-        messagingTemplate.convertAndSend(
-                "/topic/room/" + roomId + "/vote-results",
-                updatedVoteResults.getResults()
-        );
+        discussionService.processVote(voteMessage);
+        log.trace("Room {} vote for {} by {}", roomId, voteMessage.getSide(), voteMessage.getVoterId());
     }
 
     // 🟢 새로운 주장 제출 WebSocket 엔드포인트
     @MessageMapping("/{roomId}/argument.submit")
     public void submitArgument(@DestinationVariable String roomId, @Payload ArgumentDto newArgumentDto) {
         ArgumentDto processedArgument = discussionService.processNewArgument(roomId, newArgumentDto);
-        System.out.println("New argument in room " + roomId + " from " + processedArgument.getParticipantName() + ": " + processedArgument.getText());
+        log.debug("New argument in room {} from {}", roomId, processedArgument.getParticipantName());
         messagingTemplate.convertAndSend(
                 "/topic/room/" + roomId + "/argument.new",
                 processedArgument
         );
     }
+
+    // 특정 세션에게만 전송 (/user/{sessionId}/... 로 해석됨)
+    private void sendToSession(String sessionId, String destination, Object payload) {
+        if (sessionId == null) {
+            return;
+        }
+        SimpMessageHeaderAccessor sessionHeaders = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        sessionHeaders.setSessionId(sessionId);
+        sessionHeaders.setLeaveMutable(true);
+        messagingTemplate.convertAndSendToUser(sessionId, destination, payload, sessionHeaders.getMessageHeaders());
+    }
 }
\ No newline at end of file
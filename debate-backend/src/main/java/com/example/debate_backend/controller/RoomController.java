@@ -1,10 +1,17 @@
 package com.example.debate_backend.controller;
 
+import com.example.debate_backend.dto.ArchivedDebateDto;
+import com.example.debate_backend.dto.ArgumentCursor;
 import com.example.debate_backend.dto.ArgumentDto; // ArgumentDto 임포트
+import com.example.debate_backend.dto.ChatCursor;
+import com.example.debate_backend.dto.ChatMessageDto;
 import com.example.debate_backend.dto.DiscussionStatusDto;
 import com.example.debate_backend.dto.ParticipantDto;
+import com.example.debate_backend.dto.RoomCursor;
+import com.example.debate_backend.dto.RoomSummaryDto;
 import com.example.debate_backend.dto.VoteResultsDto;
 import com.example.debate_backend.service.DiscussionService;
+import com.example.debate_backend.service.chat.ChatLog;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -21,6 +28,32 @@ public class RoomController {
         this.discussionService = discussionService;
     }
 
+    // 🟢 로비 방 목록 (최신 방 먼저): ?status=WAITING&cursor=<createdAt,roomId>&limit=
+    // 페이지가 가득 찼으면 다음 요청에 쓸 커서를 X-Next-Cursor 헤더로 반환
+    @GetMapping
+    public ResponseEntity<List<RoomSummaryDto>> listRooms(@RequestParam(required = false) String status,
+                                                          @RequestParam(required = false) String cursor,
+                                                          @RequestParam(defaultValue = "50") int limit) {
+        DiscussionStatusDto.StatusType statusType;
+        RoomCursor after;
+        try {
+            statusType = status != null && !status.isBlank()
+                    ? DiscussionStatusDto.StatusType.valueOf(status.trim().toUpperCase())
+                    : null;
+            after = cursor != null && !cursor.isBlank() ? RoomCursor.parse(cursor) : null;
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        int pageSize = Math.max(1, Math.min(limit, 200));
+        List<RoomSummaryDto> rooms = discussionService.listRooms(statusType, after, pageSize);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (rooms.size() == pageSize) {
+            response.header("X-Next-Cursor", RoomCursor.of(rooms.get(rooms.size() - 1)).toString());
+        }
+        return response.body(rooms);
+    }
+
     @PostMapping("/create")
     public ResponseEntity<DiscussionStatusDto> createRoom() {
         DiscussionStatusDto initialStatus = discussionService.createRoom();
@@ -45,10 +78,59 @@ public class RoomController {
         return ResponseEntity.ok(results);
     }
 
-    // 🟢 특정 방의 모든 주장을 가져오는 REST API 엔드포인트 추가
+    // 🟢 특정 방의 주장을 keyset 페이지 단위로 가져오는 REST API 엔드포인트
+    // ?after=<timestamp,id>&limit= : 커서 다음 페이지 / ?since=<epoch milli> : 해당 시각 이후부터
+    // 페이지가 가득 찼으면 다음 요청에 쓸 커서를 X-Next-Cursor 헤더로 반환
     @GetMapping("/{roomId}/arguments")
-    public ResponseEntity<List<ArgumentDto>> getArguments(@PathVariable String roomId) {
-        List<ArgumentDto> arguments = discussionService.getArguments(roomId);
-        return ResponseEntity.ok(arguments);
+    public ResponseEntity<List<ArgumentDto>> getArguments(@PathVariable String roomId,
+                                                          @RequestParam(required = false) String after,
+                                                          @RequestParam(required = false) Long since,
+                                                          @RequestParam(defaultValue = "100") int limit) {
+        ArgumentCursor cursor;
+        try {
+            cursor = after != null ? ArgumentCursor.parse(after) : null;
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        int pageSize = Math.max(1, Math.min(limit, 500));
+        List<ArgumentDto> arguments = discussionService.getArguments(roomId, cursor, since, pageSize);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (arguments.size() == pageSize) {
+            response.header("X-Next-Cursor", ArgumentCursor.of(arguments.get(arguments.size() - 1)).toString());
+        }
+        return response.body(arguments);
+    }
+
+    // 종료 후 보관된 토론 기록 (방이 정리된 뒤에도 조회 가능)
+    @GetMapping("/{roomId}/archive")
+    public ResponseEntity<ArchivedDebateDto> getArchivedDebate(@PathVariable String roomId) {
+        return discussionService.getArchivedDebate(roomId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // 저장된 채팅 기록 역방향 페이지 조회: ?before=<epoch milli>(첫 페이지 기준 시각)&cursor=<segment,offset>&limit=
+    // 페이지가 가득 찼으면 더 오래된 페이지 요청에 쓸 커서를 X-Next-Cursor 헤더로 반환
+    @GetMapping("/{roomId}/chat")
+    public ResponseEntity<List<ChatMessageDto>> getChatHistory(@PathVariable String roomId,
+                                                               @RequestParam(required = false) Long before,
+                                                               @RequestParam(required = false) String cursor,
+                                                               @RequestParam(defaultValue = "50") int limit) {
+        ChatCursor position;
+        try {
+            position = cursor != null && !cursor.isBlank() ? ChatCursor.parse(cursor) : null;
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        long beforeMillis = before != null ? before : Long.MAX_VALUE;
+        int pageSize = Math.max(1, Math.min(limit, 200));
+        ChatLog.Page page = discussionService.getChatHistory(roomId, beforeMillis, position, pageSize);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.next() != null) {
+            response.header("X-Next-Cursor", page.next().toString());
+        }
+        return response.body(page.messages());
     }
 }
\ No newline at end of file
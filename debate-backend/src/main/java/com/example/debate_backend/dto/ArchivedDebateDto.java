@@ -0,0 +1,29 @@
+package com.example.debate_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 종료 후 보관된 토론 기록 (GET /api/rooms/{roomId}/archive).
+ * 보관이 끝난 방의 참가자/주장 행은 DB에서 삭제되고 이 기록만 압축 파일로 남습니다.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedDebateDto {
+    private String roomId;
+    private String topicId;
+    private String topic;
+    private DiscussionStatusDto.StatusType status; // 보관 시점의 상태 (ENDED)
+    private String message;
+    private long startTime; // 토론 시작 시간 (Epoch milli)
+    private long durationSeconds; // 토론 지속 시간 (초)
+    private long archivedAt; // 보관 시각 (Epoch milli)
+    private Map<String, Integer> voteResults; // 최종 투표 결과
+    private List<ParticipantDto> participants; // 마지막 참가자 + 주장을 남기고 나간 참가자
+    private List<ArgumentDto> arguments; // 시간순
+}
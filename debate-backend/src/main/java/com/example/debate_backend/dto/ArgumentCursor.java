@@ -0,0 +1,29 @@
+package com.example.debate_backend.dto;
+
+/**
+ * 주장 목록 keyset 페이지네이션 커서 ("timestamp,id" 형식).
+ * (timestamp, id) 순서로 정렬된 목록에서 이 위치 다음부터 조회합니다.
+ */
+public record ArgumentCursor(long timestamp, String id) {
+
+    public static ArgumentCursor parse(String value) {
+        int comma = value.indexOf(',');
+        if (comma <= 0 || comma == value.length() - 1) {
+            throw new IllegalArgumentException("Invalid cursor: " + value);
+        }
+        try {
+            return new ArgumentCursor(Long.parseLong(value.substring(0, comma)), value.substring(comma + 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + value, e);
+        }
+    }
+
+    public static ArgumentCursor of(ArgumentDto argument) {
+        return new ArgumentCursor(argument.getTimestamp(), argument.getId());
+    }
+
+    @Override
+    public String toString() {
+        return timestamp + "," + id;
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.debate_backend.dto;
+
+import java.util.regex.Pattern;
+
+/**
+ * 채팅 기록 페이지네이션 커서 ("segment,offset" 형식).
+ * 로그 안의 레코드 위치(세그먼트 파일 이름, 바이트 offset)이므로 같은 밀리초에 기록된 메시지도 페이지 경계에서 빠지지 않습니다.
+ * 이 위치보다 앞에 기록된 메시지부터 역방향으로 조회합니다.
+ */
+public record ChatCursor(String segment, long offset) {
+
+    private static final Pattern SEGMENT_NAME = Pattern.compile("chat-\\d{13}-\\d{6}\\.log");
+
+    public static ChatCursor parse(String value) {
+        int comma = value.lastIndexOf(',');
+        if (comma <= 0 || comma == value.length() - 1) {
+            throw new IllegalArgumentException("Invalid cursor: " + value);
+        }
+        String segment = value.substring(0, comma);
+        if (!SEGMENT_NAME.matcher(segment).matches()) {
+            throw new IllegalArgumentException("Invalid cursor: " + value);
+        }
+        try {
+            return new ChatCursor(segment, Long.parseLong(value.substring(comma + 1)));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + value, e);
+        }
+    }
+
+    /**
+     * 로그에서 (segment, offset) 위치가 이 커서보다 앞인지 (세그먼트 이름은 기록 순서대로 정렬됨)
+     */
+    public boolean isAfter(String otherSegment, long otherOffset) {
+        int bySegment = segment.compareTo(otherSegment);
+        return bySegment > 0 || (bySegment == 0 && offset > otherOffset);
+    }
+
+    @Override
+    public String toString() {
+        return segment + "," + offset;
+    }
+}
@@ -17,4 +17,8 @@ public class DiscussionStatusDto {
     private String currentTopic; // 현재 토론 주제
     private long startTime; // 토론 시작 시간 (Epoch milli)
     private long durationSeconds; // 토론 지속 시간 (초)
+    // 🟢 서버 타이머: 클라이언트는 serverTime과의 차이로 시계를 보정해 phaseEndsAt까지 카운트다운
+    private long phaseEndsAt; // 현재 단계(STARTED/VOTING) 종료 시각 (Epoch milli, 진행 중이 아니면 0)
+    private long remainingMillis; // serverTime 기준 남은 시간 (일시 정지 중에는 남은 토론 시간)
+    private long serverTime; // 이 상태를 만든 서버 시각 (Epoch milli)
 }
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.example.debate_backend.dto;
+
+/**
+ * 방 목록 페이지네이션 커서 ("createdAt,roomId" 형식).
+ * 생성 시각 내림차순으로 정렬된 목록에서 이 위치 다음부터 조회합니다.
+ */
+public record RoomCursor(long createdAt, String roomId) {
+
+    public static RoomCursor parse(String value) {
+        int comma = value.indexOf(',');
+        if (comma <= 0 || comma == value.length() - 1) {
+            throw new IllegalArgumentException("Invalid cursor: " + value);
+        }
+        try {
+            return new RoomCursor(Long.parseLong(value.substring(0, comma)), value.substring(comma + 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + value, e);
+        }
+    }
+
+    public static RoomCursor of(RoomSummaryDto room) {
+        return new RoomCursor(room.getCreatedAt(), room.getRoomId());
+    }
+
+    @Override
+    public String toString() {
+        return createdAt + "," + roomId;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.debate_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 로비 방 목록의 한 항목 (GET /api/rooms)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomSummaryDto {
+    private String roomId;
+    private DiscussionStatusDto.StatusType type;
+    private String topic;
+    private int participantCount;
+    private long createdAt; // 방 생성 시간 (Epoch milli)
+}
@@ -0,0 +1,44 @@
+package com.example.debate_backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 참가자 목록 변경 이벤트 (/topic/room/{roomId}/participants).
+ * 변경분(JOINED/LEFT/UPDATED)만 전송하고, version이 1씩 증가하므로 클라이언트는 빈 번호를 발견하면 SNAPSHOT을 요청합니다.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL) // 변경분에 쓰이지 않는 필드는 전송하지 않음
+public class RosterEventDto {
+    public enum EventType {
+        SNAPSHOT, JOINED, LEFT, UPDATED // SNAPSHOT: 전체 목록, JOINED/UPDATED: participant, LEFT: participantId
+    }
+    private EventType type;
+    private String roomId;
+    private long version; // 방별 참가자 목록 버전 (변경마다 1 증가)
+    private ParticipantDto participant;
+    private String participantId;
+    private List<ParticipantDto> participants;
+
+    public static RosterEventDto joined(String roomId, long version, ParticipantDto participant) {
+        return new RosterEventDto(EventType.JOINED, roomId, version, participant, null, null);
+    }
+
+    public static RosterEventDto updated(String roomId, long version, ParticipantDto participant) {
+        return new RosterEventDto(EventType.UPDATED, roomId, version, participant, null, null);
+    }
+
+    public static RosterEventDto left(String roomId, long version, String participantId) {
+        return new RosterEventDto(EventType.LEFT, roomId, version, null, participantId, null);
+    }
+
+    public static RosterEventDto snapshot(String roomId, long version, List<ParticipantDto> participants) {
+        return new RosterEventDto(EventType.SNAPSHOT, roomId, version, null, null, participants);
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.debate_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 진행 중인 단계의 타이머 동기화 프레임 (/topic/room/{roomId}/timer).
+ * 카운트다운은 클라이언트가 직접 계산하고, 이 프레임은 시계 오차 보정용으로 낮은 빈도로만 전송됩니다.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TimerSyncDto {
+    private String roomId;
+    private DiscussionStatusDto.StatusType type; // STARTED 또는 VOTING
+    private long phaseEndsAt; // 단계 종료 시각 (Epoch milli)
+    private long remainingMillis; // serverTime 기준 남은 시간
+    private long serverTime; // 서버 시각 (Epoch milli)
+}
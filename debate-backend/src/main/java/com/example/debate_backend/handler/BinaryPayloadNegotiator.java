@@ -0,0 +1,262 @@
+package com.example.debate_backend.handler;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.converter.MessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+import org.springframework.web.socket.sockjs.transport.SockJsSession;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 구독 단위로 협상하는 CBOR 바이너리 payload.
+ * 클라이언트가 SUBSCRIBE 프레임에 content-type:application/cbor 헤더를 붙이면 그 구독으로 가는 MESSAGE를 CBOR로 보내고,
+ * 그 외에는 지금처럼 JSON을 보냅니다. 클라이언트가 보내는 프레임도 content-type:application/cbor 이면 CBOR로 읽습니다.
+ *
+ * <p>서버 코드는 계속 JSON으로 변환해 보내고, clientOutboundChannel에서 선택한 구독으로 가는 메시지만 CBOR로 변환합니다.
+ * 브로드캐스트는 구독자마다 같은 payload 배열을 공유하므로 변환 결과를 하나 캐시해 두어 브로드캐스트당 한 번만 변환합니다.
+ * 바이너리 프레임은 raw WebSocket(/ws/websocket) 세션만 보낼 수 있어서, SockJS 세션의 요청은 무시하고 JSON을 유지합니다.
+ */
+@Component
+public class BinaryPayloadNegotiator {
+
+    public static final MimeType CBOR = new MimeType("application", "cbor");
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final CBORFactory CBOR_FACTORY = new CBORFactory();
+    private static final byte[] CBOR_CONTENT_TYPE_LINE =
+            ("\ncontent-type:" + CBOR).getBytes(StandardCharsets.UTF_8);
+
+    private record Transcoded(byte[] json, byte[] cbor) {
+    }
+
+    // 세션 ID -> CBOR를 요청한 구독 ID
+    private final Map<String, Set<String>> cborSubscriptions = new ConcurrentHashMap<>();
+    // 바이너리 프레임을 보낼 수 있는 (SockJS가 아닌) 세션
+    private final Set<String> binaryCapableSessions = ConcurrentHashMap.newKeySet();
+    private final AtomicReference<Transcoded> lastTranscoded = new AtomicReference<>();
+
+    private final AtomicLong cborMessages = new AtomicLong();
+    private final AtomicLong jsonBytes = new AtomicLong();
+    private final AtomicLong cborBytes = new AtomicLong();
+
+    private final ChannelInterceptor inboundChannelInterceptor = new ChannelInterceptor() {
+        @Override
+        public Message<?> preSend(Message<?> message, MessageChannel channel) {
+            SimpMessageType type = SimpMessageHeaderAccessor.getMessageType(message.getHeaders());
+            if (type == SimpMessageType.SUBSCRIBE) {
+                onSubscribe(message);
+            } else if (type == SimpMessageType.UNSUBSCRIBE) {
+                String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+                Set<String> subscriptions = sessionId != null ? cborSubscriptions.get(sessionId) : null;
+                if (subscriptions != null) {
+                    subscriptions.remove(SimpMessageHeaderAccessor.getSubscriptionId(message.getHeaders()));
+                }
+            } else if (type == SimpMessageType.DISCONNECT) {
+                String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+                if (sessionId != null) {
+                    cborSubscriptions.remove(sessionId);
+                }
+            }
+            return message;
+        }
+    };
+
+    private final ChannelInterceptor outboundChannelInterceptor = new ChannelInterceptor() {
+        @Override
+        public Message<?> preSend(Message<?> message, MessageChannel channel) {
+            if (cborSubscriptions.isEmpty()
+                    || SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.MESSAGE) {
+                return message;
+            }
+            String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+            Set<String> subscriptions = sessionId != null ? cborSubscriptions.get(sessionId) : null;
+            String subscriptionId = SimpMessageHeaderAccessor.getSubscriptionId(message.getHeaders());
+            if (subscriptions == null || subscriptionId == null || !subscriptions.contains(subscriptionId)) {
+                return message;
+            }
+            return toCbor(message);
+        }
+    };
+
+    public ChannelInterceptor clientInboundChannel() {
+        return inboundChannelInterceptor;
+    }
+
+    public ChannelInterceptor clientOutboundChannel() {
+        return outboundChannelInterceptor;
+    }
+
+    /**
+     * content-type:application/cbor 로 보낸 클라이언트 프레임을 읽는 변환기.
+     * content-type이 없는 서버 측 전송에 쓰이지 않도록 엄격하게 일치할 때만 동작합니다.
+     */
+    public MessageConverter messageConverter() {
+        MappingJackson2MessageConverter converter = new MappingJackson2MessageConverter(CBOR);
+        converter.setObjectMapper(Jackson2ObjectMapperBuilder.cbor().build());
+        converter.setStrictContentTypeMatch(true);
+        return converter;
+    }
+
+    /**
+     * 세션이 바이너리 프레임을 보낼 수 있는지 기록하고, CBOR MESSAGE 프레임을 바이너리 WebSocket 메시지로 보냅니다.
+     * (STOMP 핸들러는 application/octet-stream이 아니면 텍스트 프레임으로 보내는데, CBOR는 UTF-8이 아니므로 그대로 보내면 연결이 끊김)
+     */
+    public WebSocketHandlerDecoratorFactory transportDecorator() {
+        return handler -> new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                if (session instanceof SockJsSession) {
+                    super.afterConnectionEstablished(session);
+                    return;
+                }
+                binaryCapableSessions.add(session.getId());
+                super.afterConnectionEstablished(new BinaryFrameSession(session));
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                binaryCapableSessions.remove(session.getId());
+                cborSubscriptions.remove(session.getId());
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+
+    public long cborMessageCount() {
+        return cborMessages.get();
+    }
+
+    // CBOR로 변환된 메시지의 변환 전(JSON)/후 크기 합계
+    public long jsonByteCount() {
+        return jsonBytes.get();
+    }
+
+    public long cborByteCount() {
+        return cborBytes.get();
+    }
+
+    /**
+     * JSON 문서를 트리로 만들지 않고 토큰 단위로 CBOR로 옮겨 씁니다.
+     */
+    public static byte[] jsonToCbor(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length);
+        try (JsonParser parser = JSON_FACTORY.createParser(json);
+             JsonGenerator generator = CBOR_FACTORY.createGenerator(out)) {
+            if (parser.nextToken() != null) {
+                generator.copyCurrentStructure(parser);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * 인코딩된 STOMP 프레임의 헤더 부분에 content-type:application/cbor 가 있는지 확인합니다.
+     */
+    static boolean isCborFrame(byte[] frame) {
+        int headerEnd = indexOf(frame, new byte[]{'\n', '\n'}, 0, frame.length);
+        return headerEnd > 0 && indexOf(frame, CBOR_CONTENT_TYPE_LINE, 0, headerEnd) >= 0;
+    }
+
+    private void onSubscribe(Message<?> message) {
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        String subscriptionId = SimpMessageHeaderAccessor.getSubscriptionId(message.getHeaders());
+        if (sessionId == null || subscriptionId == null || !binaryCapableSessions.contains(sessionId)) {
+            return;
+        }
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(message);
+        String contentType = accessor.getFirstNativeHeader(StompHeaderAccessor.STOMP_CONTENT_TYPE_HEADER);
+        if (contentType != null && CBOR.isCompatibleWith(MimeTypeUtils.parseMimeType(contentType))) {
+            cborSubscriptions.computeIfAbsent(sessionId, id -> ConcurrentHashMap.newKeySet()).add(subscriptionId);
+        }
+    }
+
+    private Message<?> toCbor(Message<?> message) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(message);
+        MimeType contentType = accessor.getContentType();
+        if (!(message.getPayload() instanceof byte[] json) || contentType == null
+                || !MimeTypeUtils.APPLICATION_JSON.isCompatibleWith(contentType)) {
+            return message;
+        }
+        Transcoded cached = lastTranscoded.get();
+        byte[] cbor;
+        if (cached != null && cached.json() == json) {
+            cbor = cached.cbor();
+        } else {
+            cbor = jsonToCbor(json);
+            lastTranscoded.set(new Transcoded(json, cbor));
+        }
+        cborMessages.incrementAndGet();
+        jsonBytes.addAndGet(json.length);
+        cborBytes.addAndGet(cbor.length);
+
+        accessor.setContentType(CBOR);
+        accessor.setNativeHeader(StompHeaderAccessor.STOMP_CONTENT_TYPE_HEADER, CBOR.toString());
+        return MessageBuilder.createMessage(cbor, accessor.getMessageHeaders());
+    }
+
+    private static int indexOf(byte[] data, byte[] pattern, int from, int to) {
+        outer:
+        for (int i = from; i <= to - pattern.length; i++) {
+            for (int j = 0; j < pattern.length; j++) {
+                if (data[i + j] != pattern[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    // CBOR MESSAGE 프레임만 바이너리 WebSocket 메시지로 바꿔 보냄
+    private final class BinaryFrameSession extends WebSocketSessionDecorator {
+
+        BinaryFrameSession(WebSocketSession delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public void sendMessage(WebSocketMessage<?> message) throws IOException {
+            if (message instanceof TextMessage text && cborSubscriptions.containsKey(getId())) {
+                byte[] frame = text.asBytes();
+                if (isCborFrame(frame)) {
+                    super.sendMessage(new BinaryMessage(frame));
+                    return;
+                }
+            }
+            super.sendMessage(message);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.debate_backend.handler;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 브로드캐스트 fan-out 측정.
+ * simple 브로커는 brokerChannel로 들어온 /topic 메시지를 같은 스레드에서 구독자 수만큼 clientOutboundChannel로 보내므로,
+ * brokerChannel 전송 동안 outbound 전송 횟수를 세면 그 브로드캐스트가 전달된 세션 수가 됩니다.
+ * (relay 모드에서는 fan-out이 외부 브로커에서 일어나므로 outbound 메시지 수만 집계)
+ */
+@Component
+public class BroadcastMetricsInterceptor {
+
+    private final MeterRegistry registry;
+    private final Map<String, DistributionSummary> fanoutByCategory = new ConcurrentHashMap<>();
+    private final Map<String, Counter> outboundByCategory = new ConcurrentHashMap<>();
+    // 현재 스레드에서 진행 중인 브로드캐스트의 전달 횟수
+    private final ThreadLocal<int[]> deliveries = new ThreadLocal<>();
+
+    private final ChannelInterceptor brokerChannelInterceptor = new ChannelInterceptor() {
+        @Override
+        public Message<?> preSend(Message<?> message, MessageChannel channel) {
+            if (isTopicMessage(message) && deliveries.get() == null) {
+                deliveries.set(new int[1]);
+            }
+            return message;
+        }
+
+        @Override
+        public void afterSendCompletion(Message<?> message, MessageChannel channel, boolean sent, Exception ex) {
+            int[] count = deliveries.get();
+            if (count != null && isTopicMessage(message)) {
+                deliveries.remove();
+                fanout(category(SimpMessageHeaderAccessor.getDestination(message.getHeaders()))).record(count[0]);
+            }
+        }
+    };
+
+    private final ChannelInterceptor outboundChannelInterceptor = new ChannelInterceptor() {
+        @Override
+        public Message<?> preSend(Message<?> message, MessageChannel channel) {
+            if (SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) == SimpMessageType.MESSAGE) {
+                int[] count = deliveries.get();
+                if (count != null) {
+                    count[0]++;
+                }
+                outbound(category(SimpMessageHeaderAccessor.getDestination(message.getHeaders()))).increment();
+            }
+            return message;
+        }
+    };
+
+    public BroadcastMetricsInterceptor(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public ChannelInterceptor brokerChannel() {
+        return brokerChannelInterceptor;
+    }
+
+    public ChannelInterceptor clientOutboundChannel() {
+        return outboundChannelInterceptor;
+    }
+
+    private static boolean isTopicMessage(Message<?> message) {
+        if (SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.MESSAGE) {
+            return false;
+        }
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        return destination != null && destination.startsWith("/topic/");
+    }
+
+    /**
+     * 태그 수가 방 개수만큼 늘지 않도록 목적지에서 방 ID를 뺀 종류만 사용합니다.
+     * /topic/room/{roomId}/chat -> chat, /user/... 및 /queue/... -> user
+     */
+    static String category(String destination) {
+        if (destination == null) {
+            return "unknown";
+        }
+        if (destination.startsWith("/topic/room/")) {
+            int slash = destination.indexOf('/', "/topic/room/".length());
+            return slash >= 0 ? destination.substring(slash + 1) : "room";
+        }
+        if (destination.startsWith("/user/") || destination.startsWith("/queue/")) {
+            return "user";
+        }
+        return "other";
+    }
+
+    private DistributionSummary fanout(String category) {
+        return fanoutByCategory.computeIfAbsent(category, c -> DistributionSummary.builder("discussion.ws.broadcast.fanout")
+                .description("Sessions a single broadcast was delivered to")
+                .tag("destination", c)
+                .publishPercentiles(0.5, 0.99)
+                .register(registry));
+    }
+
+    private Counter outbound(String category) {
+        return outboundByCategory.computeIfAbsent(category, c -> Counter.builder("discussion.ws.outbound.messages")
+                .description("MESSAGE frames sent to clients")
+                .tag("destination", c)
+                .register(registry));
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.debate_backend.handler;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+
+/**
+ * 브라우저 클라이언트가 노드 간 복제용 토픽을 구독하거나 그 토픽으로 직접 전송하지 못하도록 막습니다.
+ * (relay 모드에서는 /topic 으로 시작하는 SEND가 그대로 외부 브로커로 전달되기 때문)
+ */
+public class ClusterDestinationGuard implements ChannelInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterDestinationGuard.class);
+
+    private final String clusterDestination;
+
+    public ClusterDestinationGuard(String clusterDestination) {
+        this.clusterDestination = clusterDestination;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        SimpMessageType type = SimpMessageHeaderAccessor.getMessageType(message.getHeaders());
+        if (type == SimpMessageType.MESSAGE || type == SimpMessageType.SUBSCRIBE) {
+            String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+            if (destination != null && destination.startsWith(clusterDestination)) {
+                log.warn("Rejected client {} to cluster destination {}", type, destination);
+                return null; // 메시지 폐기
+            }
+        }
+        return message;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.debate_backend.handler;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+
+/**
+ * ShardedMessageExecutor의 lane 배정 키.
+ */
+public final class DispatchKeys {
+
+    private DispatchKeys() {
+    }
+
+    public static String room(String roomId) {
+        return "room:" + roomId;
+    }
+
+    /**
+     * 목적지에서 방 ID를 추출합니다. 방과 무관한 프레임(CONNECT, DISCONNECT 등)은 세션 ID로 순서를 유지합니다.
+     * /app/{roomId}/..., /topic/room/{roomId}/..., /user/queue/room/{roomId}/...
+     */
+    public static String roomOrSession(Message<?> message) {
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        if (destination != null) {
+            String roomId = null;
+            if (destination.startsWith("/app/")) {
+                roomId = segment(destination, "/app/".length());
+            } else if (destination.startsWith("/topic/room/")) {
+                roomId = segment(destination, "/topic/room/".length());
+            } else if (destination.startsWith("/user/queue/room/")) {
+                roomId = segment(destination, "/user/queue/room/".length());
+            }
+            if (roomId != null) {
+                return room(roomId);
+            }
+        }
+        return session(message);
+    }
+
+    public static String session(Message<?> message) {
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        return sessionId != null ? "session:" + sessionId : null;
+    }
+
+    private static String segment(String destination, int start) {
+        int end = destination.indexOf('/', start);
+        return end > start ? destination.substring(start, end) : null;
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.debate_backend.handler;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * STOMP 핸들러 단위 측정.
+ * 핸들러 실행 시간(p50/p99)과, 실행 중 발생한 JPA 쿼리 수를 핸들러 이름 태그로 기록합니다.
+ * 쿼리 수는 현재 스레드에서 실행 중인 핸들러에 귀속되며, 핸들러 밖(write-behind flush 등)의 쿼리는 "background"로 집계됩니다.
+ */
+@Component
+public class HandlerMetrics {
+
+    static final String BACKGROUND = "background";
+
+    private final MeterRegistry registry;
+    private final Map<String, HandlerMeters> metersByHandler = new ConcurrentHashMap<>();
+    private final ThreadLocal<Scope> currentScope = new ThreadLocal<>();
+
+    public HandlerMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * 핸들러 측정을 시작합니다. try-with-resources로 닫으면 실행 시간과 쿼리 수가 기록됩니다.
+     */
+    public Scope start(String handler) {
+        Scope scope = new Scope(meters(handler), currentScope.get(), System.nanoTime());
+        currentScope.set(scope);
+        return scope;
+    }
+
+    /**
+     * Hibernate가 SQL을 실행할 때마다 호출됩니다. (StatementInspector)
+     */
+    public void onStatement() {
+        Scope scope = currentScope.get();
+        if (scope != null) {
+            scope.queries++;
+            scope.meters.queries.increment();
+        } else {
+            meters(BACKGROUND).queries.increment();
+        }
+    }
+
+    private HandlerMeters meters(String handler) {
+        return metersByHandler.computeIfAbsent(handler, h -> new HandlerMeters(
+                Timer.builder("discussion.ws.handler")
+                        .description("STOMP handler execution time")
+                        .tag("handler", h)
+                        .publishPercentiles(0.5, 0.99)
+                        .register(registry),
+                Counter.builder("discussion.jpa.queries")
+                        .description("JPA statements executed, attributed to the running handler")
+                        .tag("handler", h)
+                        .register(registry),
+                DistributionSummary.builder("discussion.ws.handler.queries")
+                        .description("JPA statements per handler invocation")
+                        .tag("handler", h)
+                        .register(registry)
+        ));
+    }
+
+    private record HandlerMeters(Timer timer, Counter queries, DistributionSummary queriesPerCall) {
+    }
+
+    public final class Scope implements AutoCloseable {
+
+        private final HandlerMeters meters;
+        private final Scope parent;
+        private final long startNanos;
+        private int queries;
+
+        private Scope(HandlerMeters meters, Scope parent, long startNanos) {
+            this.meters = meters;
+            this.parent = parent;
+            this.startNanos = startNanos;
+        }
+
+        @Override
+        public void close() {
+            meters.timer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+            meters.queriesPerCall.record(queries);
+            // 중첩 호출이면 바깥 핸들러로 복귀
+            if (parent != null) {
+                currentScope.set(parent);
+            } else {
+                currentScope.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.debate_backend.handler;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * 모든 @MessageMapping 메서드를 HandlerMetrics로 감쌉니다. (태그는 메서드 이름, 예: sendChatMessage)
+ * 목적지에는 방 ID가 들어가므로 태그로 쓰지 않습니다.
+ */
+@Aspect
+@Component
+public class MessageMappingMetricsAspect {
+
+    private final HandlerMetrics handlerMetrics;
+
+    public MessageMappingMetricsAspect(HandlerMetrics handlerMetrics) {
+        this.handlerMetrics = handlerMetrics;
+    }
+
+    @Around("@annotation(org.springframework.messaging.handler.annotation.MessageMapping)")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        try (HandlerMetrics.Scope ignored = handlerMetrics.start(joinPoint.getSignature().getName())) {
+            return joinPoint.proceed();
+        }
+    }
+}
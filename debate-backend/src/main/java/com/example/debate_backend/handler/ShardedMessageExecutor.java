@@ -0,0 +1,143 @@
+package com.example.debate_backend.handler;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageHandlingRunnable;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * 키(방 ID, 세션 ID 등)별로 작업을 하나의 직렬 lane에 배정하는 Executor.
+ * 같은 키의 작업은 항상 같은 단일 스레드 lane에서 도착 순서대로 실행되므로 락 없이 순서가 보장되고,
+ * 다른 키는 여러 lane에서 병렬로 처리됩니다.
+ * 메시지 채널(ExecutorSubscribableChannel)에 등록하면 메시지 헤더에서 키를 추출해 lane을 고릅니다.
+ */
+public class ShardedMessageExecutor implements Executor {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardedMessageExecutor.class);
+
+    private final String name;
+    private final ThreadPoolExecutor[] lanes;
+    private final Function<Message<?>, String> keyExtractor;
+    private final long offerTimeoutMs;
+    // 키가 없는 작업(순서 무관)은 lane을 돌아가며 배정
+    private final AtomicInteger roundRobin = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * @param keyExtractor 메시지에서 순서를 보장할 키를 추출 (null이면 순서 무관)
+     * @param offerTimeoutMs lane 큐가 가득 찼을 때 호출자를 기다리게 할 최대 시간 (이후 거부)
+     */
+    public ShardedMessageExecutor(String name, int laneCount, int queueCapacity, long offerTimeoutMs,
+                                  Function<Message<?>, String> keyExtractor) {
+        if (laneCount < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("laneCount and queueCapacity must be positive");
+        }
+        this.name = name;
+        this.keyExtractor = keyExtractor;
+        this.offerTimeoutMs = offerTimeoutMs;
+        this.lanes = new ThreadPoolExecutor[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            String threadName = name + "-lane-" + i;
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity),
+                    r -> {
+                        Thread thread = new Thread(r, threadName);
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    this::waitForCapacity);
+        }
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        String key = null;
+        if (task instanceof MessageHandlingRunnable runnable) {
+            key = keyExtractor.apply(runnable.getMessage());
+        }
+        execute(key, task);
+    }
+
+    /**
+     * 주어진 키의 lane에서 작업을 실행합니다. (메시지 채널 밖의 작업을 같은 순서에 끼워 넣을 때 사용)
+     */
+    public void execute(String key, Runnable task) {
+        lanes[laneOf(key)].execute(() -> {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                // 예외로 lane 스레드가 교체되지 않도록 여기서 처리 (채널 쪽에서 이미 로그를 남김)
+                log.error("{} task failed", name, e);
+            }
+        });
+    }
+
+    public int laneCount() {
+        return lanes.length;
+    }
+
+    /**
+     * lane별 대기 중인 작업 수
+     */
+    public int[] laneQueueDepths() {
+        int[] depths = new int[lanes.length];
+        for (int i = 0; i < lanes.length; i++) {
+            depths[i] = lanes[i].getQueue().size();
+        }
+        return depths;
+    }
+
+    public int queueDepth(int lane) {
+        return lanes[lane].getQueue().size();
+    }
+
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+
+    public void shutdown() {
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+        for (ThreadPoolExecutor lane : lanes) {
+            try {
+                lane.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    int laneOf(String key) {
+        if (key == null) {
+            return Math.floorMod(roundRobin.getAndIncrement(), lanes.length);
+        }
+        int h = key.hashCode();
+        return Math.floorMod(h ^ (h >>> 16), lanes.length);
+    }
+
+    // 큐가 가득 차면 호출자(WebSocket 수신 스레드)를 잠시 막아 역압을 걸고, 그래도 안 되면 거부
+    private void waitForCapacity(Runnable task, ThreadPoolExecutor lane) {
+        if (!lane.isShutdown()) {
+            try {
+                if (lane.getQueue().offer(task, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        rejected.increment();
+        throw new RejectedExecutionException(name + " lane queue is full");
+    }
+}
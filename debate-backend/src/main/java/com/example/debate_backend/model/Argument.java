@@ -8,6 +8,8 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.Instant;
 
 @Entity
+// 방별 시간순 keyset 조회용 복합 인덱스 (room_id, timestamp, id)
+@Table(indexes = @Index(name = "idx_argument_room_timestamp", columnList = "room_id, timestamp, id"))
 @Data
 @NoArgsConstructor
 public class Argument {
@@ -5,6 +5,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
+// 방별 참가자 조회용 인덱스
+@Table(indexes = @Index(name = "idx_participant_room", columnList = "room_id"))
 @Data
 @NoArgsConstructor
 public class Participant {
@@ -24,6 +26,9 @@ public class Participant {
     @Column(nullable = false)
     private String color; // UI 표시용 색상 코드
 
+    // 퇴장 시각 (epoch milli). 주장이 남아 있어 행을 지울 수 없는 퇴장 참가자만 표시되며, 참가 중이면 null
+    private Long leftAt;
+
     public Participant(String id, Room room, String name, String side, String color) {
         this.id = id;
         this.room = room;
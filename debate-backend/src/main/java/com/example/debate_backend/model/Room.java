@@ -31,6 +31,7 @@ public class Room {
 
     private long startTime; // 토론 시작 시간 (Epoch milli)
     private long durationSeconds; // 토론 지속 시간 (초)
+    private long createdAt; // 방 생성 시간 (Epoch milli, 로비 목록 정렬 기준)
 
     // 이 방에 속한 참가자들 (일대다 관계)
     // mappedBy = "room"은 Participant 엔티티의 'room' 필드에 의해 매핑됨을 의미
@@ -49,6 +50,7 @@ public class Room {
         this.message = message;
         this.durationSeconds = durationSeconds;
         this.startTime = 0; // 초기에는 0으로 설정
+        this.createdAt = System.currentTimeMillis();
     }
 
     // RoomStatus Enum 정의 (DiscussionStatusDto.StatusType과 유사)
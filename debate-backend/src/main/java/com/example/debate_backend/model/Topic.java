@@ -22,9 +22,12 @@ public class Topic {
     @Column(nullable = false, updatable = false) // 생성 후 변경 불가
     private LocalDateTime createdAt;
 
-    // 추가 필드 (예: 난이도, 카테고리)
-    // private String difficulty;
-    // private String category;
+    // 추가 필드: 가중치 샘플링(TopicIndex)에 사용, 없으면 기본 가중치
+    @Column(length = 50)
+    private String difficulty;
+
+    @Column(length = 50)
+    private String category;
 
     public Topic(String title) {
         this.title = title;
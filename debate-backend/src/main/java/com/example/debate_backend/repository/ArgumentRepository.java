@@ -1,16 +1,43 @@
 package com.example.debate_backend.repository;
 
+import com.example.debate_backend.dto.ArgumentDto;
 import com.example.debate_backend.model.Argument;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface ArgumentRepository extends JpaRepository<Argument, String> {
-    // 특정 방의 모든 주장 조회
-    @Query("SELECT a FROM Argument a JOIN FETCH a.participant p WHERE a.room.id = :roomId ORDER BY a.timestamp ASC")
-    List<Argument> findByRoomIdWithParticipant(@Param("roomId") String roomId);
-}
\ No newline at end of file
+    // 주장 페이지는 엔티티 대신 DTO 생성자 표현식으로 필요한 컬럼만 조회 (영속성 컨텍스트/dirty checking 없음)
+    String ARGUMENT_DTO = "SELECT new com.example.debate_backend.dto.ArgumentDto(a.id, p.id, p.name, a.side, a.text, a.timestamp) " +
+            "FROM Argument a JOIN a.participant p ";
+
+    // 특정 방의 첫 페이지 (idx_argument_room_timestamp 인덱스 순서대로 조회)
+    @Query(ARGUMENT_DTO + "WHERE a.room.id = :roomId ORDER BY a.timestamp ASC, a.id ASC")
+    List<ArgumentDto> findFirstPage(@Param("roomId") String roomId, Limit limit);
+
+    // keyset 페이지: (timestamp, id) 커서 다음부터 조회
+    @Query(ARGUMENT_DTO + "WHERE a.room.id = :roomId " +
+            "AND (a.timestamp > :timestamp OR (a.timestamp = :timestamp AND a.id > :id)) " +
+            "ORDER BY a.timestamp ASC, a.id ASC")
+    List<ArgumentDto> findPageAfter(@Param("roomId") String roomId,
+                                    @Param("timestamp") long timestamp,
+                                    @Param("id") String id,
+                                    Limit limit);
+
+    // since 모드: 지정 시각(포함) 이후의 주장부터 조회
+    @Query(ARGUMENT_DTO + "WHERE a.room.id = :roomId AND a.timestamp >= :since " +
+            "ORDER BY a.timestamp ASC, a.id ASC")
+    List<ArgumentDto> findPageSince(@Param("roomId") String roomId, @Param("since") long since, Limit limit);
+
+    // 방 삭제 시 엔티티 로딩 없이 일괄 삭제
+    @Modifying
+    @Query("DELETE FROM Argument a WHERE a.room.id IN :roomIds")
+    int deleteByRoomIds(@Param("roomIds") Collection<String> roomIds);
+}
@@ -2,8 +2,12 @@ package com.example.debate_backend.repository;
 
 import com.example.debate_backend.model.Participant;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,4 +17,43 @@ public interface ParticipantRepository extends JpaRepository<Participant, String
     List<Participant> findByRoom_Id(String roomId);
     // 특정 방에서 ID로 참가자 조회
     Optional<Participant> findByIdAndRoom_Id(String participantId, String roomId);
-}
\ No newline at end of file
+
+    // 세션 인덱스 재구성용: 엔티티를 로딩하지 않고 필요한 컬럼만 조회
+    @Query("SELECT p.id AS id, p.room.id AS roomId, p.name AS name FROM Participant p WHERE p.leftAt IS NULL")
+    List<SessionRef> findAllSessionRefs();
+
+    // 시작 시 인메모리 상태 적재용: 엔티티를 로딩하지 않고 필요한 컬럼만 조회
+    @Query("SELECT p.id AS id, p.room.id AS roomId, p.name AS name, p.side AS side, p.color AS color FROM Participant p"
+            + " WHERE p.leftAt IS NULL")
+    List<ParticipantSnapshot> findAllSnapshots();
+
+    // 퇴장한 참가자 중 주장이 없는 행만 삭제 (주장의 participant_id FK 위반 방지)
+    @Modifying
+    @Query("DELETE FROM Participant p WHERE p.id IN :ids"
+            + " AND NOT EXISTS (SELECT a.id FROM Argument a WHERE a.participant.id = p.id)")
+    int deleteWithoutArguments(@Param("ids") Collection<String> ids);
+
+    // 주장이 남아 있어 지우지 못한 퇴장 참가자 표시 (행은 방 삭제 시 함께 삭제됨)
+    @Modifying
+    @Query("UPDATE Participant p SET p.leftAt = :leftAt WHERE p.id IN :ids")
+    int markLeft(@Param("ids") Collection<String> ids, @Param("leftAt") long leftAt);
+
+    // 방 삭제 시 엔티티 로딩 없이 일괄 삭제
+    @Modifying
+    @Query("DELETE FROM Participant p WHERE p.room.id IN :roomIds")
+    int deleteByRoomIds(@Param("roomIds") Collection<String> roomIds);
+
+    interface ParticipantSnapshot {
+        String getId();
+        String getRoomId();
+        String getName();
+        String getSide();
+        String getColor();
+    }
+
+    interface SessionRef {
+        String getId();
+        String getRoomId();
+        String getName();
+    }
+}
@@ -2,8 +2,27 @@ package com.example.debate_backend.repository;
 
 import com.example.debate_backend.model.Room;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface RoomRepository extends JpaRepository<Room, String> {
-}
\ No newline at end of file
+    // 시작 시 인메모리 상태 적재용: 엔티티를 로딩하지 않고 토픽 제목까지 필요한 컬럼만 한 번에 조회
+    @Query("SELECT r.id AS id, t.id AS topicId, t.title AS topicTitle, r.status AS status, r.message AS message, " +
+            "r.startTime AS startTime, r.durationSeconds AS durationSeconds, r.createdAt AS createdAt " +
+            "FROM Room r JOIN r.topic t")
+    List<RoomSnapshot> findAllSnapshots();
+
+    interface RoomSnapshot {
+        String getId();
+        String getTopicId();
+        String getTopicTitle();
+        Room.RoomStatus getStatus();
+        String getMessage();
+        long getStartTime();
+        long getDurationSeconds();
+        long getCreatedAt();
+    }
+}
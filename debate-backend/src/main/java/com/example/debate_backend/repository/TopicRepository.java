@@ -2,12 +2,25 @@ package com.example.debate_backend.repository;
 
 import com.example.debate_backend.model.Topic;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface TopicRepository extends JpaRepository<Topic, String> {
     // 특정 제목으로 토픽을 찾는 메서드 (AI 생성 후 중복 방지 등)
     Optional<Topic> findByTitle(String title);
-}
\ No newline at end of file
+
+    // 주제 인덱스 구성용: 엔티티를 로딩하지 않고 필요한 컬럼만 조회
+    @Query("SELECT t.id AS id, t.title AS title, t.category AS category, t.difficulty AS difficulty FROM Topic t")
+    List<TopicIndexEntry> findAllIndexEntries();
+
+    interface TopicIndexEntry {
+        String getId();
+        String getTitle();
+        String getCategory();
+        String getDifficulty();
+    }
+}
@@ -1,87 +1,106 @@
 package com.example.debate_backend.service;
 
-import com.example.debate_backend.dto.gemini.GeminiResponse; // 🟢 GeminiResponse DTO 임포트
 import com.example.debate_backend.model.Topic;
 import com.example.debate_backend.repository.TopicRepository;
-import org.springframework.beans.factory.annotation.Value;
+import com.example.debate_backend.service.ai.GeminiClient;
+import com.example.debate_backend.service.topic.TopicIndex;
+import com.example.debate_backend.service.topic.TopicSimilarityIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestClientException; // 🟢 RestClientException 임포트
-import org.springframework.web.client.RestTemplate;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class AITopicGenerationService {
 
-    private final RestTemplate restTemplate;
-    private final TopicRepository topicRepository;
+    private static final Logger log = LoggerFactory.getLogger(AITopicGenerationService.class);
 
-    @Value("${ai.gemini.api-key}")
-    private String apiKey;
-    @Value("${ai.gemini.api-url}")
-    private String apiUrl;
+    // 🟢 풀링/타임아웃/bulkhead/서킷 브레이커가 적용된 Gemini 클라이언트
+    private final GeminiClient geminiClient;
+    private final TopicRepository topicRepository;
+    private final TopicIndex topicIndex;
+    // 🟢 표현만 다른 같은 질문(paraphrase)을 걸러내기 위한 유사도 인덱스
+    private final TopicSimilarityIndex topicSimilarityIndex;
 
-    public AITopicGenerationService(RestTemplate restTemplate, TopicRepository topicRepository) {
-        this.restTemplate = restTemplate;
+    public AITopicGenerationService(GeminiClient geminiClient, TopicRepository topicRepository,
+                                    TopicIndex topicIndex, TopicSimilarityIndex topicSimilarityIndex) {
+        this.geminiClient = geminiClient;
         this.topicRepository = topicRepository;
+        this.topicIndex = topicIndex;
+        this.topicSimilarityIndex = topicSimilarityIndex;
     }
 
-    public Optional<String> generateTopicFromAI() {
-        // AI에 보낼 프롬프트
-        String prompt = "Generate a single, neutral, and thought-provoking debate topic suitable for a structured discussion between two sides (for and against). The topic should be a question. For example: 'Should all schools offer free lunch to students?'. Do not include any introductory or concluding phrases, just the question.";
-
-        // Gemini API 요청 본문
-        Map<String, Object> requestBody = Map.of(
-                "contents", List.of(
-                        Map.of("parts", List.of(Map.of("text", prompt)))
-                )
-        );
+    /**
+     * 한 번의 Gemini 호출로 여러 개의 토론 주제를 생성하고, 기존 주제와 (유사) 중복되지 않는 주제만 저장하여 반환합니다.
+     * @param count 요청할 주제 개수
+     * @return 새로 저장된 주제 목록 (실패 시 빈 목록)
+     */
+    public List<Topic> generateTopicsFromAI(int count) {
+        // AI에 보낼 프롬프트 (한 줄에 하나씩)
+        String prompt = "Generate " + count + " distinct, neutral, and thought-provoking debate topics suitable for a structured discussion between two sides (for and against). Each topic should be a question. For example: 'Should all schools offer free lunch to students?'. Output exactly one topic per line, without numbering, bullets, or any introductory or concluding phrases.";
 
+        List<Topic> newTopics = new ArrayList<>();
         try {
-            // API 호출 및 GeminiResponse DTO로 응답 매핑
-            GeminiResponse response = restTemplate.postForObject(apiUrl + "?key=" + apiKey, requestBody, GeminiResponse.class);
-
-            // 응답에서 주제 텍스트 추출
-            String topicTitle = parseTopicFromGeminiResponse(response);
+            // API 호출 (장애 시 서킷이 열려 바로 빈 결과를 반환)
+            Optional<String> response = geminiClient.generateText(prompt);
+            if (response.isEmpty() || response.get().isEmpty()) {
+                return List.of();
+            }
+            String text = response.get();
 
-            if (topicTitle != null && !topicTitle.isEmpty()) {
-                // 주제가 '?'로 끝나지 않으면 추가
-                if (!topicTitle.trim().endsWith("?")) {
-                    topicTitle = topicTitle.trim() + "?";
+            Set<String> seen = new HashSet<>();
+            for (String line : text.split("\\R")) {
+                String topicTitle = normalizeTopicLine(line);
+                if (topicTitle.isEmpty() || !seen.add(topicTitle)) {
+                    continue;
+                }
+                // 기존 주제(같은 응답에서 앞서 채택된 주제 포함)와 표현만 다른 질문인지 확인
+                Optional<TopicSimilarityIndex.Match> nearDuplicate = topicSimilarityIndex.findNearDuplicate(topicTitle);
+                if (nearDuplicate.isPresent()) {
+                    log.info("AI generated a near-duplicate topic: {} ~ {} ({})", topicTitle,
+                            nearDuplicate.get().title(), String.format("%.2f", nearDuplicate.get().similarity()));
+                    continue;
                 }
-
                 // DB에 이미 존재하는 주제인지 확인
-                Optional<Topic> existingTopic = topicRepository.findByTitle(topicTitle);
-                if (existingTopic.isEmpty()) {
-                    // 새로운 주제이면 DB에 저장
-                    topicRepository.save(new Topic(topicTitle));
-                    System.out.println("AI generated and saved new topic: " + topicTitle);
-                    return Optional.of(topicTitle);
+                if (topicRepository.findByTitle(topicTitle).isEmpty()) {
+                    topicSimilarityIndex.add(topicTitle);
+                    newTopics.add(new Topic(topicTitle));
                 } else {
-                    System.out.println("AI generated a duplicate topic (already in DB): " + topicTitle);
-                    return Optional.of(topicTitle); // 중복이라도 일단 반환
+                    log.info("AI generated a duplicate topic (already in DB): {}", topicTitle);
                 }
             }
+            // 새로운 주제만 한 번에 저장
+            List<Topic> saved = topicRepository.saveAll(newTopics);
+            topicIndex.add(saved); // 랜덤 선택 인덱스에도 바로 반영
+            log.info("AI generated and saved {} new topics", saved.size());
+            return saved;
 
-        } catch (RestClientException e) { // 🟢 RestClientException 처리 (네트워크, API 에러)
-            System.err.println("Error calling Gemini API: " + e.getMessage());
-        } catch (Exception e) { // 🟢 그 외 일반적인 예외 처리
-            System.err.println("Error processing AI topic generation: " + e.getMessage());
+        } catch (Exception e) { // 🟢 저장 등 그 외 일반적인 예외 처리
+            log.error("Error processing AI topic generation", e);
+            // 저장되지 않은 주제는 유사도 인덱스에서 되돌림
+            newTopics.forEach(t -> topicSimilarityIndex.remove(t.getTitle()));
         }
-        return Optional.empty(); // 주제 생성 실패 시 빈 Optional 반환
+        return List.of(); // 주제 생성 실패 시 빈 목록 반환
     }
 
-    // Gemini API 응답 DTO에서 주제 텍스트 추출
-    private String parseTopicFromGeminiResponse(GeminiResponse apiResponse) {
-        if (apiResponse != null && apiResponse.getCandidates() != null && !apiResponse.getCandidates().isEmpty()) {
-            GeminiResponse.Candidate candidate = apiResponse.getCandidates().get(0);
-            if (candidate.getContent() != null && candidate.getContent().getParts() != null && !candidate.getContent().getParts().isEmpty()) {
-                // 첫 번째 후보의 첫 번째 파트에서 텍스트 추출
-                return candidate.getContent().getParts().get(0).getText().trim();
-            }
+    // 응답의 한 줄을 주제 제목으로 정리 (번호/글머리표/따옴표 제거, '?'로 끝나도록)
+    private String normalizeTopicLine(String line) {
+        String topicTitle = line.trim()
+                .replaceFirst("^(\\d+[.)]|[-*•])\\s*", "")
+                .replaceAll("^[\"']|[\"']$", "")
+                .trim();
+        if (topicTitle.isEmpty() || topicTitle.length() > 254) { // '?' 추가 여유
+            return "";
+        }
+        // 주제가 '?'로 끝나지 않으면 추가
+        if (!topicTitle.endsWith("?")) {
+            topicTitle = topicTitle + "?";
         }
-        return null;
+        return topicTitle;
     }
 }
\ No newline at end of file
@@ -4,9 +4,30 @@ import com.example.debate_backend.dto.*;
 import com.example.debate_backend.model.*;
 import com.example.debate_backend.repository.*;
 import com.example.debate_backend.service.*;
+import com.example.debate_backend.service.archive.DebateArchive;
+import com.example.debate_backend.service.chat.ChatHistoryStore;
+import com.example.debate_backend.service.chat.ChatLog;
+import com.example.debate_backend.service.cluster.ClusterEvent;
+import com.example.debate_backend.service.cluster.ClusterEventBus;
+import com.example.debate_backend.service.state.RoomState;
+import com.example.debate_backend.service.state.RoomStateStore;
+import com.example.debate_backend.service.timer.DebateTimerService;
+import com.example.debate_backend.service.topic.TopicIndex;
+import com.example.debate_backend.service.topic.TopicPool;
+import com.example.debate_backend.service.topic.TopicSimilarityIndex;
+import com.example.debate_backend.service.vote.VoteEngine;
+import com.example.debate_backend.service.vote.VoteJournal;
+import com.example.debate_backend.service.vote.VoteOutcome;
+import com.example.debate_backend.service.vote.VoteSide;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
@@ -16,17 +37,41 @@ import java.util.stream.Collectors;
 @Service
 public class DiscussionService {
 
+    private static final Logger log = LoggerFactory.getLogger(DiscussionService.class);
+
     private final TopicRepository topicRepository;
     private final RoomRepository roomRepository;
     private final ParticipantRepository participantRepository;
     private final ArgumentRepository argumentRepository;
 
-    // 🟢 AI Topic Generation Service 필드 선언 (클래스 레벨로 이동)
-    // AI 기능을 실제로 사용하려면 이 필드를 주입받아야 합니다.
-    // 현재는 주입받지 않으므로 @Autowired를 제거하거나 주입받는 생성자에 추가해야 합니다.
-    private final AITopicGenerationService aiTopicGenerationService;
-
-    private final Map<String, Map<String, Integer>> roomVotes = new ConcurrentHashMap<>();
+    // 🟢 AI가 미리 생성해 둔 주제 풀 (방 생성 시 Gemini 호출을 기다리지 않음)
+    private final TopicPool topicPool;
+    // 🟢 풀이 비었을 때 DB 조회 없이 랜덤 주제를 고르기 위한 주제 인덱스
+    private final TopicIndex topicIndex;
+    private final TopicSimilarityIndex topicSimilarityIndex;
+
+    // 세션 ID -> (방, 참가자) 인덱스
+    private final SessionRegistry sessionRegistry;
+
+    // 방 상태/참가자의 인메모리 저장소 (DB에는 write-behind로 반영)
+    private final RoomStateStore roomStateStore;
+
+    // 방별 투표 집계 (중복 투표 거부, 경합 없는 카운터)
+    private final VoteEngine voteEngine;
+    // 재시작 후 집계 복원을 위한 투표 저널
+    private final VoteJournal voteJournal;
+    // 늦게 입장한 참가자에게 재전송할 최근 채팅 기록
+    private final ChatHistoryStore chatHistoryStore;
+    // 채팅 영구 저장 (비동기 batch 기록)
+    private final ChatLog chatLog;
+    // 다른 노드에 상태 변경을 알리는 채널 (relay 모드에서만 실제 전송)
+    private final ClusterEventBus clusterEventBus;
+    // 🟢 STARTED → VOTING → ENDED 자동 전환 (서버가 토론 시간을 관리)
+    private final DebateTimerService debateTimer;
+    // 종료 후 보관된 토론 기록 (압축 파일)
+    private final DebateArchive debateArchive;
+    // 보관이 켜져 있으면 종료된 방은 DebateArchiver가 보관한 뒤에 제거
+    private final boolean archiveEnabled;
 
     private final List<String> defaultTopics = List.of(
             "AI는 인간의 일자리를 위협하는가?",
@@ -35,39 +80,75 @@ public class DiscussionService {
             "청소년에게 스마트폰 사용을 전면 금지해야 하는가?",
             "동물 복지를 위해 육식을 금지해야 하는가?"
     );
-    private final Random random = new Random();
 
-    // 🟢 생성자 수정: aiTopicGenerationService를 주입받도록 변경 (선택 사항)
-    // AI 기능을 사용하지 않으면 aiTopicGenerationService 파라미터를 제거하고 생성자에서 관련 로직 제거
+    // 🟢 생성자: AI 주제는 TopicPool을 통해서만 사용 (Gemini 호출은 풀의 백그라운드 refill에서만 발생)
     public DiscussionService(TopicRepository topicRepository,
                              RoomRepository roomRepository,
                              ParticipantRepository participantRepository,
                              ArgumentRepository argumentRepository,
-                             AITopicGenerationService aiTopicGenerationService) { // 🟢 AI 서비스 주입
+                             TopicPool topicPool, // 🟢 AI 주제 풀 주입
+                             TopicIndex topicIndex,
+                             TopicSimilarityIndex topicSimilarityIndex,
+                             SessionRegistry sessionRegistry,
+                             RoomStateStore roomStateStore,
+                             VoteEngine voteEngine,
+                             VoteJournal voteJournal,
+                             ChatHistoryStore chatHistoryStore,
+                             ChatLog chatLog,
+                             ClusterEventBus clusterEventBus,
+                             DebateTimerService debateTimer,
+                             DebateArchive debateArchive,
+                             @Value("${discussion.archive.enabled:true}") boolean archiveEnabled) {
         this.topicRepository = topicRepository;
         this.roomRepository = roomRepository;
         this.participantRepository = participantRepository;
         this.argumentRepository = argumentRepository;
-        this.aiTopicGenerationService = aiTopicGenerationService; // 🟢 AI 서비스 초기화
+        this.topicPool = topicPool;
+        this.topicIndex = topicIndex;
+        this.topicSimilarityIndex = topicSimilarityIndex;
+        this.sessionRegistry = sessionRegistry;
+        this.roomStateStore = roomStateStore;
+        this.voteEngine = voteEngine;
+        this.voteJournal = voteJournal;
+        this.chatHistoryStore = chatHistoryStore;
+        this.chatLog = chatLog;
+        this.clusterEventBus = clusterEventBus;
+        this.debateTimer = debateTimer;
+        this.debateArchive = debateArchive;
+        this.archiveEnabled = archiveEnabled;
+        debateTimer.setExpiryListener(this::onPhaseExpired);
         initializeDefaultTopics();
     }
 
     @Transactional
     public void initializeDefaultTopics() {
         if (topicRepository.count() == 0) {
+            List<Topic> saved = new ArrayList<>();
             defaultTopics.forEach(title -> {
                 if (topicRepository.findByTitle(title).isEmpty()) {
-                    topicRepository.save(new Topic(title));
+                    saved.add(topicRepository.save(new Topic(title)));
                 }
             });
-            System.out.println("Initialized default topics in DB.");
+            topicIndex.add(saved);
+            saved.forEach(t -> topicSimilarityIndex.add(t.getTitle()));
+            log.info("Initialized default topics in DB");
         }
     }
 
     public Set<String> getActiveRoomIds() {
-        return new HashSet<>(roomRepository.findAll().stream()
-                .map(Room::getId)
-                .collect(Collectors.toList()));
+        return new HashSet<>(roomStateStore.roomIds());
+    }
+
+    /**
+     * 로비 방 목록을 생성 시각 내림차순으로 한 페이지씩 조회합니다. (인메모리 인덱스만 사용, DB 조회 없음)
+     * @param status null이면 모든 상태
+     * @param after 이전 페이지 마지막 방의 커서 (null이면 처음부터)
+     */
+    public List<RoomSummaryDto> listRooms(DiscussionStatusDto.StatusType status, RoomCursor after, int limit) {
+        Room.RoomStatus roomStatus = status != null ? Room.RoomStatus.valueOf(status.name()) : null;
+        return roomStateStore.listRooms(roomStatus, after, limit).stream()
+                .map(RoomState::toSummaryDto)
+                .collect(Collectors.toList());
     }
 
     /**
@@ -76,23 +157,26 @@ public class DiscussionService {
      */
     @Transactional
     public DiscussionStatusDto createRoom() {
-        Topic selectedTopic;
+        String selectedTopicId;
+        String selectedTitle;
 
-        Optional<String> aiGeneratedTopicTitle = aiTopicGenerationService.generateTopicFromAI();
+        Optional<TopicPool.PooledTopic> pooledTopic = topicPool.poll();
 
-        if (aiGeneratedTopicTitle.isPresent()) {
-            // AI가 주제를 성공적으로 생성하고 DB에 저장했다면, 해당 주제를 가져옴
-            selectedTopic = topicRepository.findByTitle(aiGeneratedTopicTitle.get())
-                    .orElseThrow(() -> new IllegalStateException("AI generated topic not found in DB after saving."));
+        if (pooledTopic.isPresent()) {
+            // 풀에 미리 저장된 AI 주제 사용
+            selectedTopicId = pooledTopic.get().id();
+            selectedTitle = pooledTopic.get().title();
         } else {
-            // AI 주제 생성 실패 시 기존 토픽 목록에서 랜덤 선택 (Fallback)
-            List<Topic> allTopics = topicRepository.findAll();
-            if (allTopics.isEmpty()) {
-                throw new IllegalStateException("No topics available in the database to create a room.");
-            }
-            selectedTopic = allTopics.get(random.nextInt(allTopics.size()));
-            System.out.println("Falling back to random topic: " + selectedTopic.getTitle());
+            // 풀이 비어 있으면 인메모리 주제 인덱스에서 (가중치) 랜덤 선택 (Fallback, DB 조회 없음)
+            TopicIndex.IndexedTopic indexed = topicIndex.sampleWeighted()
+                    .or(topicIndex::sample) // 가중치가 모두 0이면 균등 선택
+                    .orElseThrow(() -> new IllegalStateException("No topics available in the database to create a room."));
+            selectedTopicId = indexed.id();
+            selectedTitle = indexed.title();
+            log.info("Falling back to random topic: {}", selectedTitle);
         }
+        // 프록시 참조만 생성 (조회 없음)
+        Topic selectedTopic = topicRepository.getReferenceById(selectedTopicId);
 
         String roomId = UUID.randomUUID().toString().substring(0, 8);
 
@@ -104,171 +188,260 @@ public class DiscussionService {
                 300 // 기본 토론 시간 300초 (5분)
         );
         roomRepository.save(newRoom);
+        RoomState state = roomStateStore.register(newRoom, selectedTitle);
 
-        Map<String, Integer> initialVotes = new ConcurrentHashMap<>();
-        initialVotes.put("for", 0);
-        initialVotes.put("against", 0);
-        roomVotes.put(roomId, initialVotes);
+        voteEngine.openRoom(roomId);
+        clusterEventBus.publish(new ClusterEvent.RoomOpened(roomId, selectedTopicId, selectedTitle, newRoom.getStatus(),
+                newRoom.getMessage(), newRoom.getStartTime(), newRoom.getDurationSeconds(), newRoom.getCreatedAt()));
 
-        return convertToDto(newRoom);
+        return state.toStatusDto();
     }
 
-    @Transactional(readOnly = true)
     public DiscussionStatusDto getRoomStatus(String roomId) {
-        return roomRepository.findById(roomId)
-                .map(this::convertToDto)
+        return roomStateStore.find(roomId)
+                .map(RoomState::toStatusDto)
                 .orElse(null);
     }
 
-    @Transactional(readOnly = true)
     public List<ParticipantDto> getParticipants(String roomId) {
-        return participantRepository.findByRoom_Id(roomId).stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return roomStateStore.find(roomId)
+                .map(RoomState::participantList)
+                .orElse(List.of());
     }
 
-    @Transactional
-    public List<ParticipantDto> addOrUpdateParticipant(String roomId, ParticipantDto participantDto) {
-        Room room = roomRepository.findById(roomId)
-                .orElseThrow(() -> new IllegalArgumentException("Room not found: " + roomId));
-
-        Optional<Participant> existingParticipantOpt = participantRepository.findByIdAndRoom_Id(participantDto.getId(), roomId);
-
-        Participant participant;
-        if (existingParticipantOpt.isPresent()) {
-            participant = existingParticipantOpt.get();
-            participant.setName(participantDto.getName());
-            participant.setSide(participantDto.getSide());
-            participant.setColor(participantDto.getColor());
-        } else {
-            participant = new Participant(
-                    participantDto.getId(),
-                    room,
-                    participantDto.getName(),
-                    participantDto.getSide(),
-                    participantDto.getColor()
-            );
+    /**
+     * 현재 참가자 목록 스냅샷 (입장 시 또는 클라이언트가 버전 누락을 감지했을 때 전송)
+     */
+    public RosterEventDto getRosterSnapshot(String roomId) {
+        return roomStateStore.find(roomId)
+                .map(RoomState::rosterSnapshot)
+                .orElse(null);
+    }
+
+    /**
+     * 참가자를 추가하거나 갱신하고, 연결 해제 처리를 위해 세션 인덱스에 등록합니다.
+     * @param sessionId 참가 메시지를 보낸 WebSocket 세션 ID (없으면 참가자 ID를 사용)
+     * @return 브로드캐스트할 참가자 목록 변경 이벤트 (각 이벤트의 roomId로 전송)
+     */
+    public List<RosterEventDto> addOrUpdateParticipant(String roomId, ParticipantDto participantDto, String sessionId) {
+        List<RosterEventDto> events = roomStateStore.upsertParticipant(roomId, participantDto);
+        sessionRegistry.bind(
+                sessionId != null ? sessionId : participantDto.getId(),
+                roomId,
+                participantDto.getId(),
+                participantDto.getName()
+        );
+        events.stream()
+                .filter(e -> roomId.equals(e.getRoomId()))
+                .findFirst()
+                .ifPresent(e -> clusterEventBus.publish(
+                        new ClusterEvent.ParticipantJoined(roomId, participantDto, e.getVersion())));
+        clusterEventBus.publish(new ClusterEvent.SessionBound(roomId, participantDto.getId(),
+                clusterEventBus.nodeId()));
+        return events;
+    }
+
+    /**
+     * 참가자를 제거합니다. 마지막 참가자였다면 방도 함께 제거합니다.
+     * 단, 보관이 켜져 있을 때 종료(ENDED)된 방은 기록이 사라지지 않도록 남겨 두고 DebateArchiver가 보관 후 제거합니다.
+     * @return 브로드캐스트할 LEFT 이벤트, 방이 제거되었거나 참가자가 없었으면 null
+     */
+    public RosterEventDto removeParticipant(String roomId, String participantId) {
+        RosterEventDto event = roomStateStore.removeParticipant(roomId, participantId);
+        sessionRegistry.unbindParticipant(participantId);
+
+        Optional<RoomState> stateOpt = roomStateStore.find(roomId);
+        boolean awaitingArchive = archiveEnabled && stateOpt.isPresent()
+                && stateOpt.get().getStatus() == Room.RoomStatus.ENDED;
+        if (!awaitingArchive && (stateOpt.isEmpty() || stateOpt.get().isEmpty())) {
+            closeRoom(roomId);
+            log.debug("Room {} is empty and has been removed", roomId);
+            return null;
+        }
+        if (event != null) {
+            clusterEventBus.publish(new ClusterEvent.ParticipantLeft(roomId, participantId, event.getVersion()));
         }
-        participantRepository.save(participant);
-        return getParticipants(roomId);
+        return event;
     }
 
-    @Transactional
-    public List<ParticipantDto> removeParticipant(String roomId, String participantId) {
-        participantRepository.deleteById(participantId);
-
-        List<Participant> remainingParticipants = participantRepository.findByRoom_Id(roomId);
-        if (remainingParticipants.isEmpty()) {
-            roomRepository.deleteById(roomId);
-            roomVotes.remove(roomId);
-            System.out.println("Room " + roomId + " is empty and has been removed.");
+    /**
+     * idleBefore(epoch milli) 이후로 활동이 없는 방을 제거합니다. (유휴 방 정리, 방의 dispatch lane에서 호출)
+     * 예약 후 그 사이에 활동이 있었거나, 아직 연결되어 있을 수 있는 참가자가 있으면 제거하지 않습니다.
+     * (연결된 참가자는 방이 사라졌다는 알림을 받을 수 없으므로 연결 해제 경로로 방이 비워질 때까지 둠)
+     * @return 제거된 방 상태, 제거하지 않았으면 null
+     */
+    public RoomState removeIdleRoom(String roomId, long idleBefore) {
+        Optional<RoomState> stateOpt = roomStateStore.find(roomId);
+        if (stateOpt.isEmpty() || stateOpt.get().getLastActivityAt() >= idleBefore) {
             return null;
         }
-        return remainingParticipants.stream().map(this::convertToDto).collect(Collectors.toList());
+        if (stateOpt.get().participantList().stream().anyMatch(p -> sessionRegistry.mayBeConnected(p.getId()))) {
+            return null;
+        }
+        RoomState removed = closeRoom(roomId);
+        if (removed != null) {
+            // 연결이 끊긴 채 남아 있던 참가자의 세션 바인딩도 해제
+            removed.participantList().forEach(p -> sessionRegistry.unbindParticipant(p.getId()));
+        }
+        return removed;
+    }
+
+    // 방과 방에 딸린 인메모리 상태(투표 집계, 최근 채팅, 타이머)를 정리하고 DB 삭제를 예약
+    private RoomState closeRoom(String roomId) {
+        RoomState removed = roomStateStore.removeRoom(roomId);
+        voteEngine.removeRoom(roomId);
+        voteJournal.appendRoomRemoved(roomId);
+        chatHistoryStore.removeRoom(roomId);
+        debateTimer.untrack(roomId);
+        clusterEventBus.publish(new ClusterEvent.RoomClosed(roomId));
+        return removed;
     }
 
-    @Transactional
     public DiscussionStatusDto updateDiscussionStatus(String roomId, DiscussionStatusDto statusUpdateDto) {
-        Room room = roomRepository.findById(roomId)
-                .orElseThrow(() -> new IllegalArgumentException("Room not found: " + roomId));
+        RoomState state = roomStateStore.require(roomId);
 
         Room.RoomStatus newStatusType = Room.RoomStatus.valueOf(statusUpdateDto.getType().name());
+        return changeStatus(state, newStatusType, statusUpdateDto.getMessage());
+    }
 
-        room.setStatus(newStatusType);
-        room.setMessage(statusUpdateDto.getMessage());
-
-        if (newStatusType == Room.RoomStatus.STARTED && room.getStartTime() == 0) {
-            room.setStartTime(Instant.now().toEpochMilli());
-        } else if (newStatusType == Room.RoomStatus.ENDED) {
-            long duration = (Instant.now().toEpochMilli() - room.getStartTime()) / 1000;
-            room.setDurationSeconds(duration);
+    /**
+     * 서버 타이머가 단계 마감을 알렸을 때 다음 단계로 전환합니다. (방의 dispatch lane에서 호출)
+     * 예약 이후 상태가 바뀌었거나(일시 정지, 수동 종료 등) 마감이 연장되었다면 아무것도 하지 않습니다.
+     * @return 브로드캐스트할 새 상태, 전환하지 않았으면 null
+     */
+    DiscussionStatusDto onPhaseExpired(DebateTimerService.PhaseExpired expired) {
+        Optional<RoomState> stateOpt = roomStateStore.find(expired.roomId());
+        if (stateOpt.isEmpty()) {
+            return null;
+        }
+        RoomState state = stateOpt.get();
+        Room.RoomStatus current = state.getStatus();
+        if (!current.name().equals(expired.phase().name()) || state.getPhaseEndsAt() != expired.phaseEndsAt()) {
+            return null;
+        }
+        if (current == Room.RoomStatus.STARTED) {
+            return changeStatus(state, Room.RoomStatus.VOTING, "토론 시간이 종료되었습니다. 투표해 주세요!");
         }
+        return changeStatus(state, Room.RoomStatus.ENDED, "투표가 종료되었습니다.");
+    }
 
-        roomRepository.save(room);
-        return convertToDto(room);
+    private DiscussionStatusDto changeStatus(RoomState state, Room.RoomStatus newStatusType, String message) {
+        String roomId = state.getRoomId();
+        DiscussionStatusDto updated = state.applyStatus(newStatusType, message, Instant.now().toEpochMilli(),
+                debateTimer.votingMillis());
+        roomStateStore.markDirty(roomId);
+        roomStateStore.reindexStatus(state);
+        debateTimer.track(updated);
+        clusterEventBus.publish(new ClusterEvent.StatusChanged(roomId, newStatusType, updated.getMessage(),
+                updated.getStartTime(), updated.getDurationSeconds(), updated.getPhaseEndsAt(),
+                updated.getRemainingMillis(), state.getStatusChangedAt()));
+        return updated;
     }
 
     public ChatMessageDto processChatMessage(ChatMessageDto chatMessage) {
         chatMessage.setTimestamp(Instant.now().toString());
+        // 존재하는 방의 메시지만 기록 (없는 방 ID로 버퍼가 무한히 생기는 것 방지)
+        Optional<RoomState> state = roomStateStore.find(chatMessage.getRoomId());
+        if (state.isPresent()) {
+            state.get().touch();
+            chatHistoryStore.append(chatMessage.getRoomId(), chatMessage);
+            chatLog.enqueue(chatMessage); // 큐가 가득 차도 블로킹하지 않음
+            clusterEventBus.publish(new ClusterEvent.ChatPosted(chatMessage.getRoomId(), chatMessage));
+        }
         return chatMessage;
     }
 
+    public List<ChatMessageDto> getRecentChat(String roomId) {
+        return chatHistoryStore.recent(roomId);
+    }
+
+    /**
+     * 저장된 채팅 기록을 before(epoch milli) 이전, cursor 위치 앞에서부터 역방향으로 페이지 조회합니다.
+     */
+    public ChatLog.Page getChatHistory(String roomId, long before, ChatCursor cursor, int limit) {
+        try {
+            return chatLog.readBefore(roomId, before, cursor, limit);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read chat history for room " + roomId, e);
+        }
+    }
+
+    /**
+     * 보관된 토론 기록을 조회합니다. (보관 파일은 요청 시에만 읽음)
+     */
+    public Optional<ArchivedDebateDto> getArchivedDebate(String roomId) {
+        try {
+            return debateArchive.read(roomId);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read archive for room " + roomId, e);
+        }
+    }
+
     @Transactional
     public ArgumentDto processNewArgument(String roomId, ArgumentDto newArgumentDto) {
-        Room room = roomRepository.findById(roomId)
-                .orElseThrow(() -> new IllegalArgumentException("Room not found: " + roomId));
-        Participant participant = participantRepository.findByIdAndRoom_Id(newArgumentDto.getParticipantId(), roomId)
-                .orElseThrow(() -> new IllegalArgumentException("Participant not found in room: " + newArgumentDto.getParticipantId()));
+        // 방/참가자 검증은 인메모리 상태로 처리 (DB 조회 없음)
+        RoomState state = roomStateStore.require(roomId);
+        ParticipantDto participant = state.getParticipant(newArgumentDto.getParticipantId());
+        if (participant == null) {
+            throw new IllegalArgumentException("Participant not found in room: " + newArgumentDto.getParticipantId());
+        }
+        state.touch();
+        // 아직 flush되지 않은 새 참가자라면 FK를 위해 먼저 반영
+        roomStateStore.ensureParticipantPersisted(roomId, participant.getId());
 
         Argument argument = new Argument(
-                room,
-                participant,
+                roomRepository.getReferenceById(roomId),
+                participantRepository.getReferenceById(participant.getId()),
                 newArgumentDto.getText(),
                 newArgumentDto.getSide()
         );
         argumentRepository.save(argument);
-        return convertToDto(argument);
+        return new ArgumentDto(
+                argument.getId(),
+                participant.getId(),
+                participant.getName(),
+                argument.getSide(),
+                argument.getText(),
+                argument.getTimestamp()
+        );
     }
 
+    /**
+     * 주장 목록을 (timestamp, id) 순서로 한 페이지씩 조회합니다.
+     * @param after 이전 페이지 마지막 항목의 커서 (null이면 처음부터)
+     * @param since after가 없을 때 이 시각(epoch milli, 포함) 이후부터 조회 (null이면 무시)
+     * 엔티티를 로딩하지 않고 DTO projection으로 바로 조회합니다. (참가자 이름까지 쿼리 1번)
+     */
     @Transactional(readOnly = true)
-    public List<ArgumentDto> getArguments(String roomId) {
-        return argumentRepository.findByRoomIdWithParticipant(roomId).stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    public List<ArgumentDto> getArguments(String roomId, ArgumentCursor after, Long since, int limit) {
+        if (after != null) {
+            return argumentRepository.findPageAfter(roomId, after.timestamp(), after.id(), Limit.of(limit));
+        }
+        if (since != null) {
+            return argumentRepository.findPageSince(roomId, since, Limit.of(limit));
+        }
+        return argumentRepository.findFirstPage(roomId, Limit.of(limit));
     }
 
+    /**
+     * 투표를 반영합니다. 같은 투표자의 같은 진영 중복 투표는 무시되고, 다른 진영으로의 투표는 변경으로 처리됩니다.
+     * @return 반영 후 집계의 불변 스냅샷
+     */
     public VoteResultsDto processVote(VoteMessageDto voteMessage) {
-        Map<String, Integer> votes = roomVotes.computeIfAbsent(voteMessage.getRoomId(), k -> {
-            Map<String, Integer> initialVotes = new ConcurrentHashMap<>();
-            initialVotes.put("for", 0);
-            initialVotes.put("against", 0);
-            return initialVotes;
-        });
-
-        votes.merge(voteMessage.getSide(), 1, Integer::sum);
+        String roomId = voteMessage.getRoomId();
+        roomStateStore.require(roomId).touch(); // 존재하지 않는 방에 대한 카운터 생성 방지
 
-        return new VoteResultsDto(voteMessage.getRoomId(), votes);
+        VoteOutcome outcome = voteEngine.vote(roomId, voteMessage.getVoterId(), voteMessage.getSide());
+        if (outcome == VoteOutcome.ACCEPTED || outcome == VoteOutcome.CHANGED) {
+            voteJournal.appendVote(roomId, voteMessage.getVoterId(), VoteSide.fromKey(voteMessage.getSide()));
+            clusterEventBus.publish(new ClusterEvent.VoteCast(roomId, voteMessage.getVoterId(), voteMessage.getSide()));
+        } else {
+            log.trace("Vote {} in room {} by {}", outcome, roomId, voteMessage.getVoterId());
+        }
+        return new VoteResultsDto(roomId, voteEngine.results(roomId));
     }
 
     public VoteResultsDto getVoteResults(String roomId) {
-        Map<String, Integer> votes = roomVotes.getOrDefault(roomId, Map.of("for", 0, "against", 0));
-        return new VoteResultsDto(roomId, votes);
-    }
-
-    // ==========================================================
-    // 🟢 Entity to DTO 변환 헬퍼 메서드 (클래스 레벨로 이동)
-    // ==========================================================
-    @Transactional(readOnly = true)
-    private DiscussionStatusDto convertToDto(Room room) {
-        return new DiscussionStatusDto(
-                room.getId(),
-                DiscussionStatusDto.StatusType.valueOf(room.getStatus().name()),
-                room.getMessage(),
-                room.getTopic().getTitle(),
-                room.getStartTime(),
-                room.getDurationSeconds()
-        );
-    }
-
-    @Transactional(readOnly = true)
-    private ParticipantDto convertToDto(Participant participant) {
-        return new ParticipantDto(
-                participant.getId(),
-                participant.getName(),
-                participant.getSide(),
-                participant.getColor()
-        );
-    }
-
-    @Transactional(readOnly = true)
-    private ArgumentDto convertToDto(Argument argument) {
-        return new ArgumentDto(
-                argument.getId(),
-                argument.getParticipant().getId(),
-                argument.getParticipant().getName(),
-                argument.getSide(),
-                argument.getText(),
-                argument.getTimestamp()
-        );
+        return new VoteResultsDto(roomId, voteEngine.results(roomId));
     }
-}
\ No newline at end of file
+}
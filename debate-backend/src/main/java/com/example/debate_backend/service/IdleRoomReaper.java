@@ -0,0 +1,173 @@
+package com.example.debate_backend.service;
+
+import com.example.debate_backend.handler.DispatchKeys;
+import com.example.debate_backend.handler.ShardedMessageExecutor;
+import com.example.debate_backend.model.Room;
+import com.example.debate_backend.service.archive.DebateArchiver;
+import com.example.debate_backend.service.chat.ChatHistoryStore;
+import com.example.debate_backend.service.state.RoomState;
+import com.example.debate_backend.service.state.RoomStateStore;
+import com.example.debate_backend.service.vote.VoteEngine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 오래 활동이 없는 방과 방 없이 남은 인메모리 상태(투표 집계, 최근 채팅)를 주기적으로 정리합니다.
+ * 아무도 입장하지 않은 방은 마지막 참가자 퇴장 경로로 지워지지 않으므로 이 정리 작업이 유일한 회수 경로입니다.
+ *
+ * <p>유휴 기준(TTL)은 방 상태별로 설정하며, 한 주기에 최대 batch-size개 방만 제거를 예약합니다.
+ * 제거는 각 방의 dispatch lane에서 활동 여부를 다시 확인한 뒤 수행되고, DB 삭제는 RoomStateStore의 flush가 batch로 처리합니다.
+ * 아직 연결되어 있을 수 있는 참가자가 있는 방은 유휴 상태여도 제거하지 않습니다. (연결 해제로 방이 비워지면 그 경로에서 제거됨)
+ */
+@Component
+public class IdleRoomReaper {
+
+    private static final Logger log = LoggerFactory.getLogger(IdleRoomReaper.class);
+
+    private final DiscussionService discussionService;
+    private final RoomStateStore roomStateStore;
+    private final VoteEngine voteEngine;
+    private final ChatHistoryStore chatHistoryStore;
+    private final ShardedMessageExecutor roomDispatchExecutor;
+    private final DebateArchiver debateArchiver;
+    private final SessionRegistry sessionRegistry;
+    private final int batchSize;
+    private final Map<Room.RoomStatus, Long> ttlMillis = new EnumMap<>(Room.RoomStatus.class);
+
+    private final AtomicLong reclaimedRooms = new AtomicLong();
+    private final AtomicLong reclaimedParticipants = new AtomicLong();
+    private final AtomicLong reclaimedVoteCounters = new AtomicLong();
+    private final AtomicLong reclaimedChatBuffers = new AtomicLong();
+
+    public IdleRoomReaper(DiscussionService discussionService,
+                          RoomStateStore roomStateStore,
+                          VoteEngine voteEngine,
+                          ChatHistoryStore chatHistoryStore,
+                          @Qualifier("roomDispatchExecutor") ShardedMessageExecutor roomDispatchExecutor,
+                          DebateArchiver debateArchiver,
+                          SessionRegistry sessionRegistry,
+                          @Value("${discussion.reaper.batch-size:200}") int batchSize,
+                          @Value("${discussion.reaper.ttl.waiting-minutes:30}") long waitingMinutes,
+                          @Value("${discussion.reaper.ttl.started-minutes:120}") long startedMinutes,
+                          @Value("${discussion.reaper.ttl.paused-minutes:60}") long pausedMinutes,
+                          @Value("${discussion.reaper.ttl.voting-minutes:60}") long votingMinutes,
+                          @Value("${discussion.reaper.ttl.ended-minutes:15}") long endedMinutes) {
+        this.discussionService = discussionService;
+        this.roomStateStore = roomStateStore;
+        this.voteEngine = voteEngine;
+        this.chatHistoryStore = chatHistoryStore;
+        this.roomDispatchExecutor = roomDispatchExecutor;
+        this.debateArchiver = debateArchiver;
+        this.sessionRegistry = sessionRegistry;
+        this.batchSize = batchSize;
+        ttlMillis.put(Room.RoomStatus.WAITING, TimeUnit.MINUTES.toMillis(waitingMinutes));
+        ttlMillis.put(Room.RoomStatus.STARTED, TimeUnit.MINUTES.toMillis(startedMinutes));
+        ttlMillis.put(Room.RoomStatus.PAUSED, TimeUnit.MINUTES.toMillis(pausedMinutes));
+        ttlMillis.put(Room.RoomStatus.VOTING, TimeUnit.MINUTES.toMillis(votingMinutes));
+        ttlMillis.put(Room.RoomStatus.ENDED, TimeUnit.MINUTES.toMillis(endedMinutes));
+    }
+
+    @Scheduled(fixedDelayString = "${discussion.reaper.interval-ms:60000}",
+            initialDelayString = "${discussion.reaper.interval-ms:60000}")
+    public void reap() {
+        long now = System.currentTimeMillis();
+        int queued = 0;
+        for (RoomState state : roomStateStore.allRooms()) {
+            if (queued >= batchSize) {
+                break; // 나머지는 다음 주기에 처리
+            }
+            Room.RoomStatus status = state.getStatus();
+            if (status == Room.RoomStatus.ENDED && debateArchiver.isEnabled()) {
+                continue; // 종료된 방은 보관 후 DebateArchiver가 제거
+            }
+            long idleBefore = now - ttlMillis.get(status);
+            if (state.getLastActivityAt() >= idleBefore || hasConnectedParticipant(state)) {
+                continue; // 연결된 참가자가 있는 방으로 batch를 채우지 않도록 예약 전에도 확인
+            }
+            String roomId = state.getRoomId();
+            roomDispatchExecutor.execute(DispatchKeys.room(roomId), () -> removeIdleRoom(roomId, idleBefore));
+            queued++;
+        }
+        int orphans = sweepOrphans();
+        if (queued > 0 || orphans > 0) {
+            log.info("Reaper queued {} idle rooms and {} orphaned room states for removal", queued, orphans);
+        }
+    }
+
+    private void removeIdleRoom(String roomId, long idleBefore) {
+        boolean hadCounter = voteEngine.roomIds().contains(roomId);
+        RoomState removed = discussionService.removeIdleRoom(roomId, idleBefore);
+        if (removed == null) {
+            return;
+        }
+        reclaimedRooms.incrementAndGet();
+        reclaimedParticipants.addAndGet(removed.participantCount());
+        if (hadCounter) {
+            reclaimedVoteCounters.incrementAndGet();
+        }
+        log.debug("Removed idle room {} ({})", roomId, removed.getStatus());
+    }
+
+    private boolean hasConnectedParticipant(RoomState state) {
+        return state.participantList().stream().anyMatch(p -> sessionRegistry.mayBeConnected(p.getId()));
+    }
+
+    // 방은 없는데 남아 있는 투표 집계기/채팅 버퍼 (저널 재생, 복제 이벤트 순서 역전 등으로 생길 수 있음)
+    private int sweepOrphans() {
+        Set<String> candidates = new LinkedHashSet<>(voteEngine.roomIds());
+        candidates.addAll(chatHistoryStore.roomIds());
+        List<String> orphaned = new ArrayList<>();
+        for (String roomId : candidates) {
+            if (orphaned.size() >= batchSize) {
+                break;
+            }
+            if (roomStateStore.find(roomId).isEmpty()) {
+                orphaned.add(roomId);
+            }
+        }
+        for (String roomId : orphaned) {
+            // 방 생성/복제와 순서가 섞이지 않도록 방의 lane에서 다시 확인 후 제거
+            roomDispatchExecutor.execute(DispatchKeys.room(roomId), () -> {
+                if (roomStateStore.find(roomId).isPresent()) {
+                    return;
+                }
+                if (voteEngine.removeRoom(roomId)) {
+                    reclaimedVoteCounters.incrementAndGet();
+                }
+                if (chatHistoryStore.removeRoom(roomId)) {
+                    reclaimedChatBuffers.incrementAndGet();
+                }
+            });
+        }
+        return orphaned.size();
+    }
+
+    public long reclaimedRooms() {
+        return reclaimedRooms.get();
+    }
+
+    public long reclaimedParticipants() {
+        return reclaimedParticipants.get();
+    }
+
+    public long reclaimedVoteCounters() {
+        return reclaimedVoteCounters.get();
+    }
+
+    public long reclaimedChatBuffers() {
+        return reclaimedChatBuffers.get();
+    }
+}
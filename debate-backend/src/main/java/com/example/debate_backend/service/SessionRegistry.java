@@ -0,0 +1,132 @@
+package com.example.debate_backend.service;
+
+import com.example.debate_backend.repository.ParticipantRepository;
+import com.example.debate_backend.service.cluster.ClusterEventBus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * WebSocket 세션 ID → (방 ID, 참가자 ID) 인메모리 인덱스.
+ * 연결 해제 시 모든 방을 순회하지 않고 한 번의 조회로 참가자를 찾기 위해 사용합니다.
+ */
+@Component
+public class SessionRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionRegistry.class);
+
+    public record SessionBinding(String sessionId, String roomId, String participantId, String participantName) {
+    }
+
+    private final ParticipantRepository participantRepository;
+    private final ClusterEventBus clusterEventBus;
+
+    // 세션 ID -> 바인딩
+    private final Map<String, SessionBinding> bindingsBySession = new ConcurrentHashMap<>();
+    // 참가자 ID -> 세션 ID (leave/remove 시 역방향 조회용)
+    private final Map<String, String> sessionsByParticipant = new ConcurrentHashMap<>();
+    // 현재 이 노드에 연결되어 있는 WebSocket 세션 ID (재시작 전 세션으로 복원된 바인딩과 구분하기 위해 사용)
+    private final Set<String> connectedSessions = ConcurrentHashMap.newKeySet();
+    // 다른 노드의 세션으로 접속 중인 참가자 ID -> 그 노드 ID (SessionBound, 스냅샷으로 알게 됨)
+    private final Map<String, String> remoteNodesByParticipant = new ConcurrentHashMap<>();
+
+    public SessionRegistry(ParticipantRepository participantRepository, ClusterEventBus clusterEventBus) {
+        this.participantRepository = participantRepository;
+        this.clusterEventBus = clusterEventBus;
+    }
+
+    /**
+     * 애플리케이션 시작 시 DB에 남아있는 참가자들로 인덱스를 재구성합니다.
+     * 재시작 전의 세션 ID는 알 수 없으므로 기존 동작과 같이 참가자 ID를 세션 ID로 간주합니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        bindingsBySession.clear();
+        sessionsByParticipant.clear();
+        participantRepository.findAllSessionRefs().forEach(ref ->
+                bind(ref.getId(), ref.getRoomId(), ref.getId(), ref.getName()));
+        log.info("Session index rebuilt with {} participants", bindingsBySession.size());
+    }
+
+    public void bind(String sessionId, String roomId, String participantId, String participantName) {
+        if (sessionId == null) {
+            return;
+        }
+        remoteNodesByParticipant.remove(participantId);
+        // 같은 참가자가 새 세션으로 재접속한 경우 이전 세션 바인딩은 제거
+        String previousSessionId = sessionsByParticipant.put(participantId, sessionId);
+        if (previousSessionId != null && !previousSessionId.equals(sessionId)) {
+            bindingsBySession.remove(previousSessionId);
+        }
+        bindingsBySession.put(sessionId, new SessionBinding(sessionId, roomId, participantId, participantName));
+    }
+
+    public void sessionConnected(String sessionId) {
+        connectedSessions.add(sessionId);
+    }
+
+    public void sessionDisconnected(String sessionId) {
+        connectedSessions.remove(sessionId);
+    }
+
+    public Optional<SessionBinding> findBySession(String sessionId) {
+        return Optional.ofNullable(bindingsBySession.get(sessionId));
+    }
+
+    public void unbindParticipant(String participantId) {
+        remoteNodesByParticipant.remove(participantId);
+        String sessionId = sessionsByParticipant.remove(participantId);
+        if (sessionId != null) {
+            bindingsBySession.remove(sessionId);
+        }
+    }
+
+    /**
+     * 참가자가 다른 노드의 세션으로 접속 중임을 기록합니다. 이 노드에 바인딩된 참가자는 이 노드가 기준이므로 무시합니다.
+     */
+    public void bindRemote(String participantId, String nodeId) {
+        if (!sessionsByParticipant.containsKey(participantId)) {
+            remoteNodesByParticipant.put(participantId, nodeId);
+        }
+    }
+
+    /**
+     * 다른 노드에서 퇴장/제거된 참가자의 기록을 지웁니다. (이 노드의 바인딩은 그대로 둠)
+     */
+    public void unbindRemote(String participantId) {
+        remoteNodesByParticipant.remove(participantId);
+    }
+
+    /**
+     * 참가자가 이 노드의 세션에 바인딩되어 있는지 여부
+     */
+    public boolean isBound(String participantId) {
+        return sessionsByParticipant.containsKey(participantId);
+    }
+
+    /**
+     * 참가자가 아직 연결되어 있을 수 있는지 여부 (유휴 방 정리 시 확인)
+     * - 이 노드의 세션에 바인딩되어 있으면 그 세션이 연결되어 있을 때만 true (재시작 전 세션이면 false)
+     * - 다른 노드의 세션으로 접속 중이면 그 노드가 살아 있을 때만 true (크래시한 노드의 참가자는 정리 대상)
+     * - 어느 노드에 접속했는지 모르면 true
+     */
+    public boolean mayBeConnected(String participantId) {
+        String sessionId = sessionsByParticipant.get(participantId);
+        if (sessionId != null) {
+            return connectedSessions.contains(sessionId);
+        }
+        String nodeId = remoteNodesByParticipant.get(participantId);
+        return nodeId == null || clusterEventBus.isNodeAlive(nodeId);
+    }
+
+    public int size() {
+        return bindingsBySession.size();
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.debate_backend.service.ai;
+
+import java.util.function.LongSupplier;
+
+/**
+ * 연속 실패 횟수 기반의 단순한 서킷 브레이커.
+ * CLOSED에서 failureThreshold번 연속 실패하면 OPEN이 되어 openDurationMs 동안 호출을 즉시 거부하고,
+ * 이후 HALF_OPEN에서 한 번의 시험 호출 결과에 따라 CLOSED 또는 다시 OPEN으로 전환합니다.
+ * 호출 빈도가 낮은(주제 생성) 경로용이므로 모니터 락으로 충분합니다.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openDurationMs;
+    private final LongSupplier clock;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    public CircuitBreaker(int failureThreshold, long openDurationMs) {
+        this(failureThreshold, openDurationMs, System::currentTimeMillis);
+    }
+
+    CircuitBreaker(int failureThreshold, long openDurationMs, LongSupplier clock) {
+        this.failureThreshold = failureThreshold;
+        this.openDurationMs = openDurationMs;
+        this.clock = clock;
+    }
+
+    /**
+     * 호출을 시도해도 되는지 확인합니다. true를 받은 호출자는 반드시 onSuccess/onFailure 중 하나를 호출해야 합니다.
+     */
+    public synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (clock.getAsLong() - openedAt < openDurationMs) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            trialInFlight = false;
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialInFlight) {
+                return false;
+            }
+            trialInFlight = true;
+        }
+        return true;
+    }
+
+    public synchronized void onSuccess() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        trialInFlight = false;
+    }
+
+    public synchronized void onFailure() {
+        trialInFlight = false;
+        if (state == State.HALF_OPEN || ++consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = clock.getAsLong();
+            consecutiveFailures = 0;
+        }
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.debate_backend.service.ai;
+
+import com.example.debate_backend.dto.gemini.GeminiResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gemini API 호출 클라이언트.
+ * 동시 호출 수를 제한하는 bulkhead와, 업스트림 장애 시 바로 실패시키는 서킷 브레이커로 감싸서
+ * 느리거나 죽은 Gemini가 요청 스레드를 붙잡지 않도록 합니다. (실패 시 호출자는 fallback 사용)
+ */
+@Component
+public class GeminiClient {
+
+    private static final Logger log = LoggerFactory.getLogger(GeminiClient.class);
+
+    private final RestTemplate restTemplate;
+    private final String apiKey;
+    private final String apiUrl;
+    private final int maxConcurrentCalls;
+    private final Semaphore bulkhead;
+    private final CircuitBreaker circuitBreaker;
+    private final GeminiClientMetrics metrics = new GeminiClientMetrics();
+    private final Timer successTimer;
+    private final Timer failureTimer;
+
+    public GeminiClient(RestTemplate restTemplate,
+                        @Value("${ai.gemini.api-key}") String apiKey,
+                        @Value("${ai.gemini.api-url}") String apiUrl,
+                        @Value("${ai.gemini.max-concurrent-calls:4}") int maxConcurrentCalls,
+                        @Value("${ai.gemini.circuit.failure-threshold:5}") int failureThreshold,
+                        @Value("${ai.gemini.circuit.open-duration-ms:30000}") long openDurationMs,
+                        MeterRegistry meterRegistry) {
+        this.restTemplate = restTemplate;
+        this.apiKey = apiKey;
+        this.apiUrl = apiUrl;
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.bulkhead = new Semaphore(maxConcurrentCalls);
+        this.circuitBreaker = new CircuitBreaker(failureThreshold, openDurationMs);
+        this.successTimer = callTimer(meterRegistry, "success");
+        this.failureTimer = callTimer(meterRegistry, "failure");
+    }
+
+    private static Timer callTimer(MeterRegistry registry, String outcome) {
+        return Timer.builder("discussion.gemini.calls")
+                .description("Gemini API call latency")
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+    }
+
+    /**
+     * 프롬프트를 보내 첫 번째 후보의 텍스트를 받습니다.
+     * bulkhead가 가득 찼거나 서킷이 열려 있으면 호출하지 않고 바로 빈 Optional을 반환합니다.
+     */
+    public Optional<String> generateText(String prompt) {
+        if (!bulkhead.tryAcquire()) {
+            metrics.recordBulkheadRejection();
+            return Optional.empty();
+        }
+        try {
+            if (!circuitBreaker.tryAcquirePermission()) {
+                metrics.recordCircuitRejection();
+                return Optional.empty();
+            }
+
+            // Gemini API 요청 본문
+            Map<String, Object> requestBody = Map.of(
+                    "contents", List.of(
+                            Map.of("parts", List.of(Map.of("text", prompt)))
+                    )
+            );
+
+            long start = System.nanoTime();
+            try {
+                GeminiResponse response = restTemplate.postForObject(apiUrl + "?key=" + apiKey, requestBody, GeminiResponse.class);
+                circuitBreaker.onSuccess();
+                successTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return Optional.ofNullable(parseText(response));
+            } catch (RestClientException e) { // 🟢 네트워크, 타임아웃, API 에러
+                recordFailure(start);
+                log.warn("Error calling Gemini API: {}", e.getMessage());
+                return Optional.empty();
+            } catch (RuntimeException e) { // 🟢 그 외 예외도 실패로 기록 (HALF_OPEN 시험 호출이 풀리도록)
+                recordFailure(start);
+                log.warn("Error processing Gemini response: {}", e.getMessage());
+                return Optional.empty();
+            }
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    private void recordFailure(long start) {
+        circuitBreaker.onFailure();
+        failureTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    public GeminiClientMetrics metrics() {
+        return metrics;
+    }
+
+    public CircuitBreaker.State circuitState() {
+        return circuitBreaker.state();
+    }
+
+    public int inFlightCalls() {
+        return maxConcurrentCalls - bulkhead.availablePermits();
+    }
+
+    // Gemini API 응답 DTO에서 텍스트 추출
+    private String parseText(GeminiResponse apiResponse) {
+        if (apiResponse != null && apiResponse.getCandidates() != null && !apiResponse.getCandidates().isEmpty()) {
+            GeminiResponse.Candidate candidate = apiResponse.getCandidates().get(0);
+            if (candidate.getContent() != null && candidate.getContent().getParts() != null && !candidate.getContent().getParts().isEmpty()) {
+                // 첫 번째 후보의 첫 번째 파트에서 텍스트 추출
+                String text = candidate.getContent().getParts().get(0).getText();
+                return text != null ? text.trim() : null;
+            }
+        }
+        return null;
+    }
+}
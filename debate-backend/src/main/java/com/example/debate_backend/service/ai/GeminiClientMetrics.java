@@ -0,0 +1,28 @@
+package com.example.debate_backend.service.ai;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 호출하지 않고 거절된 Gemini 요청 수. (호출 지연 시간/성공/실패는 discussion.gemini.calls 타이머가 기록)
+ */
+public class GeminiClientMetrics {
+
+    private final LongAdder rejectedByBulkhead = new LongAdder();
+    private final LongAdder rejectedByCircuit = new LongAdder();
+
+    void recordBulkheadRejection() {
+        rejectedByBulkhead.increment();
+    }
+
+    void recordCircuitRejection() {
+        rejectedByCircuit.increment();
+    }
+
+    public long rejectedByBulkhead() {
+        return rejectedByBulkhead.sum();
+    }
+
+    public long rejectedByCircuit() {
+        return rejectedByCircuit.sum();
+    }
+}
@@ -0,0 +1,233 @@
+package com.example.debate_backend.service.archive;
+
+import com.example.debate_backend.dto.ArchivedDebateDto;
+import com.example.debate_backend.dto.ArgumentDto;
+import com.example.debate_backend.dto.DiscussionStatusDto;
+import com.example.debate_backend.dto.ParticipantDto;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 보관 파일의 바이너리 형식 (압축은 호출자가 스트림에 적용).
+ *
+ * <p>magic(4) | version(1) | roomId | topicId | topic | status | message | startTime(8) | durationSeconds(8) | archivedAt(8)
+ * <br>| 투표 결과 수 | (side, count)...
+ * <br>| 참가자 수 | id 열 | name 열 | side 열 | color 열
+ * <br>| 주장 수 | id 열 | 작성자(참가자 번호) 열 | side 열 | timestamp 열(첫 값 + 차이) | text 열
+ *
+ * <p>같은 종류의 값을 열 단위로 모아 두어 압축률이 높습니다. 정수는 가변 길이(varint),
+ * 문자열은 (길이+1) varint + UTF-8 이며 null은 길이 0으로 기록합니다.
+ */
+final class ArchiveCodec {
+
+    static final int MAGIC = 0x44424131; // "DBA1"
+    static final byte VERSION = 1;
+
+    private ArchiveCodec() {
+    }
+
+    /**
+     * @throws IllegalArgumentException 주장 작성자가 참가자 목록에 없는 경우
+     */
+    static void encode(ArchivedDebateDto debate, DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        writeString(out, debate.getRoomId());
+        writeString(out, debate.getTopicId());
+        writeString(out, debate.getTopic());
+        writeString(out, debate.getStatus() != null ? debate.getStatus().name() : null);
+        writeString(out, debate.getMessage());
+        out.writeLong(debate.getStartTime());
+        out.writeLong(debate.getDurationSeconds());
+        out.writeLong(debate.getArchivedAt());
+
+        Map<String, Integer> votes = debate.getVoteResults() != null ? debate.getVoteResults() : Map.of();
+        writeVarLong(out, votes.size());
+        for (Map.Entry<String, Integer> entry : votes.entrySet()) {
+            writeString(out, entry.getKey());
+            writeVarLong(out, entry.getValue());
+        }
+
+        List<ParticipantDto> participants = debate.getParticipants() != null ? debate.getParticipants() : List.of();
+        Map<String, Integer> participantIndex = new HashMap<>();
+        writeVarLong(out, participants.size());
+        for (ParticipantDto p : participants) {
+            participantIndex.put(p.getId(), participantIndex.size());
+            writeString(out, p.getId());
+        }
+        for (ParticipantDto p : participants) {
+            writeString(out, p.getName());
+        }
+        for (ParticipantDto p : participants) {
+            writeString(out, p.getSide());
+        }
+        for (ParticipantDto p : participants) {
+            writeString(out, p.getColor());
+        }
+
+        List<ArgumentDto> arguments = debate.getArguments() != null ? debate.getArguments() : List.of();
+        writeVarLong(out, arguments.size());
+        for (ArgumentDto a : arguments) {
+            writeString(out, a.getId());
+        }
+        for (ArgumentDto a : arguments) {
+            Integer author = participantIndex.get(a.getParticipantId());
+            if (author == null) {
+                throw new IllegalArgumentException("Argument author not in participants: " + a.getParticipantId());
+            }
+            writeVarLong(out, author);
+        }
+        for (ArgumentDto a : arguments) {
+            writeString(out, a.getSide());
+        }
+        long previous = 0;
+        for (ArgumentDto a : arguments) {
+            writeVarLong(out, zigZag(a.getTimestamp() - previous)); // 시간순이므로 대부분 작은 양수
+            previous = a.getTimestamp();
+        }
+        for (ArgumentDto a : arguments) {
+            writeString(out, a.getText());
+        }
+    }
+
+    static ArchivedDebateDto decode(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a debate archive");
+        }
+        byte version = in.readByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported debate archive version " + version);
+        }
+        ArchivedDebateDto debate = new ArchivedDebateDto();
+        debate.setRoomId(readString(in));
+        debate.setTopicId(readString(in));
+        debate.setTopic(readString(in));
+        String status = readString(in);
+        debate.setStatus(status != null ? DiscussionStatusDto.StatusType.valueOf(status) : null);
+        debate.setMessage(readString(in));
+        debate.setStartTime(in.readLong());
+        debate.setDurationSeconds(in.readLong());
+        debate.setArchivedAt(in.readLong());
+
+        int voteCount = readCount(in);
+        Map<String, Integer> votes = new LinkedHashMap<>();
+        for (int i = 0; i < voteCount; i++) {
+            votes.put(readString(in), (int) readVarLong(in));
+        }
+        debate.setVoteResults(votes);
+
+        int participantCount = readCount(in);
+        List<ParticipantDto> participants = new ArrayList<>(participantCount);
+        for (int i = 0; i < participantCount; i++) {
+            participants.add(new ParticipantDto(readString(in), null, null, null));
+        }
+        for (ParticipantDto p : participants) {
+            p.setName(readString(in));
+        }
+        for (ParticipantDto p : participants) {
+            p.setSide(readString(in));
+        }
+        for (ParticipantDto p : participants) {
+            p.setColor(readString(in));
+        }
+        debate.setParticipants(participants);
+
+        int argumentCount = readCount(in);
+        List<ArgumentDto> arguments = new ArrayList<>(argumentCount);
+        for (int i = 0; i < argumentCount; i++) {
+            ArgumentDto a = new ArgumentDto();
+            a.setId(readString(in));
+            arguments.add(a);
+        }
+        for (ArgumentDto a : arguments) {
+            long author = readVarLong(in);
+            if (author < 0 || author >= participants.size()) {
+                throw new IOException("Corrupt debate archive: author index " + author);
+            }
+            ParticipantDto p = participants.get((int) author);
+            a.setParticipantId(p.getId());
+            a.setParticipantName(p.getName());
+        }
+        for (ArgumentDto a : arguments) {
+            a.setSide(readString(in));
+        }
+        long previous = 0;
+        for (ArgumentDto a : arguments) {
+            previous += unZigZag(readVarLong(in));
+            a.setTimestamp(previous);
+        }
+        for (ArgumentDto a : arguments) {
+            a.setText(readString(in));
+        }
+        debate.setArguments(arguments);
+        return debate;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            writeVarLong(out, 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(out, bytes.length + 1L);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        long length = readVarLong(in);
+        if (length == 0) {
+            return null;
+        }
+        if (length - 1 > Integer.MAX_VALUE) {
+            throw new IOException("Corrupt debate archive: string length " + length);
+        }
+        byte[] bytes = new byte[(int) (length - 1)];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int readCount(DataInputStream in) throws IOException {
+        long count = readVarLong(in);
+        if (count < 0 || count > Integer.MAX_VALUE) {
+            throw new IOException("Corrupt debate archive: count " + count);
+        }
+        return (int) count;
+    }
+
+    // 부호 없는 LEB128
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Corrupt debate archive: varint too long");
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.debate_backend.service.archive;
+
+import com.example.debate_backend.dto.ArchivedDebateDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 종료된 토론 기록의 파일 저장소. 방 하나당 gzip으로 압축한 ArchiveCodec 형식 파일 하나를 씁니다.
+ *
+ * <p>파일 구조: {dir}/{방 ID 앞 2글자}/{roomId}.dba
+ * <br>읽기는 요청이 올 때만 파일을 열고, 최근에 읽은 기록 일부만 메모리에 캐시합니다.
+ */
+@Component
+public class DebateArchive {
+
+    // 경로로 사용되므로 안전한 방 ID만 허용
+    private static final Pattern SAFE_ROOM_ID = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+    private static final String EXTENSION = ".dba";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path directory;
+    private final Map<String, ArchivedDebateDto> cache;
+
+    public DebateArchive(@Value("${discussion.archive.dir:data/archive}") String directory,
+                         @Value("${discussion.archive.cache-size:64}") int cacheSize) {
+        this.directory = Paths.get(directory);
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ArchivedDebateDto> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * 기록을 임시 파일에 쓰고 fsync한 뒤 원자적으로 교체합니다. 반환된 뒤에는 DB 행을 지워도 안전합니다.
+     * @return 쓴 파일의 크기 (바이트)
+     */
+    public long write(ArchivedDebateDto debate) throws IOException {
+        Path target = pathOf(debate.getRoomId());
+        Files.createDirectories(target.getParent());
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                new GZIPOutputStream(Files.newOutputStream(temp), BUFFER_SIZE), BUFFER_SIZE))) {
+            ArchiveCodec.encode(debate, out);
+        }
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        synchronized (cache) {
+            cache.remove(debate.getRoomId());
+        }
+        return Files.size(target);
+    }
+
+    public Optional<ArchivedDebateDto> read(String roomId) throws IOException {
+        if (!SAFE_ROOM_ID.matcher(roomId).matches()) {
+            return Optional.empty();
+        }
+        synchronized (cache) {
+            ArchivedDebateDto cached = cache.get(roomId);
+            if (cached != null) {
+                return Optional.of(cached);
+            }
+        }
+        ArchivedDebateDto debate;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(pathOf(roomId)), BUFFER_SIZE), BUFFER_SIZE))) {
+            debate = ArchiveCodec.decode(in);
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        }
+        synchronized (cache) {
+            cache.put(roomId, debate);
+        }
+        return Optional.of(debate);
+    }
+
+    private Path pathOf(String roomId) {
+        if (!SAFE_ROOM_ID.matcher(roomId).matches()) {
+            throw new IllegalArgumentException("Invalid room ID: " + roomId);
+        }
+        String shard = roomId.length() >= 2 ? roomId.substring(0, 2) : roomId;
+        return directory.resolve(shard).resolve(roomId + EXTENSION);
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.debate_backend.service.archive;
+
+import com.example.debate_backend.dto.ArchivedDebateDto;
+import com.example.debate_backend.dto.ArgumentCursor;
+import com.example.debate_backend.dto.ArgumentDto;
+import com.example.debate_backend.dto.DiscussionStatusDto;
+import com.example.debate_backend.dto.ParticipantDto;
+import com.example.debate_backend.handler.DispatchKeys;
+import com.example.debate_backend.handler.ShardedMessageExecutor;
+import com.example.debate_backend.model.Room;
+import com.example.debate_backend.service.DiscussionService;
+import com.example.debate_backend.service.SessionRegistry;
+import com.example.debate_backend.service.state.RoomState;
+import com.example.debate_backend.service.state.RoomStateStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 종료(ENDED) 후 grace 기간 동안 활동이 없는 방을 DebateArchive로 옮기고 DB와 메모리에서 제거합니다.
+ * 라이브 테이블(Participant, Argument)에는 진행 중인 토론의 행만 남게 됩니다.
+ *
+ * <p>주장 조회와 파일 쓰기는 스케줄러 스레드에서 하고, 제거만 방의 dispatch lane에서 합니다.
+ * 그 사이에 활동이 있었다면 제거하지 않으며, 다음 주기에 다시 보관하면서 파일이 갱신됩니다.
+ * 연결된 참가자가 남아 있는 방은 제거되지 않으므로 (IdleRoomReaper와 같은 기준) 보관도 하지 않고 건너뜁니다.
+ * 보관 건수/크기는 방이 실제로 제거된 뒤에만 집계합니다.
+ * 보관이 켜져 있으면 ENDED 방은 IdleRoomReaper 대신 이 경로로만 정리됩니다.
+ * 마지막 참가자가 나간 ENDED 방도 DiscussionService가 바로 지우지 않고 남겨 두므로 여기서 보관됩니다.
+ */
+@Component
+public class DebateArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(DebateArchiver.class);
+
+    private static final int ARGUMENT_PAGE_SIZE = 1000;
+
+    private final DiscussionService discussionService;
+    private final RoomStateStore roomStateStore;
+    private final DebateArchive debateArchive;
+    private final ShardedMessageExecutor roomDispatchExecutor;
+    private final SessionRegistry sessionRegistry;
+    private final boolean enabled;
+    private final long graceMillis;
+    private final int batchSize;
+
+    private final AtomicLong archivedRooms = new AtomicLong();
+    private final AtomicLong archivedBytes = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    public DebateArchiver(DiscussionService discussionService,
+                          RoomStateStore roomStateStore,
+                          DebateArchive debateArchive,
+                          @Qualifier("roomDispatchExecutor") ShardedMessageExecutor roomDispatchExecutor,
+                          SessionRegistry sessionRegistry,
+                          @Value("${discussion.archive.enabled:true}") boolean enabled,
+                          @Value("${discussion.archive.grace-minutes:5}") long graceMinutes,
+                          @Value("${discussion.archive.batch-size:50}") int batchSize) {
+        this.discussionService = discussionService;
+        this.roomStateStore = roomStateStore;
+        this.debateArchive = debateArchive;
+        this.roomDispatchExecutor = roomDispatchExecutor;
+        this.sessionRegistry = sessionRegistry;
+        this.enabled = enabled;
+        this.graceMillis = TimeUnit.MINUTES.toMillis(graceMinutes);
+        this.batchSize = batchSize;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Scheduled(fixedDelayString = "${discussion.archive.interval-ms:60000}",
+            initialDelayString = "${discussion.archive.interval-ms:60000}")
+    public void archiveEndedRooms() {
+        if (!enabled) {
+            return;
+        }
+        long idleBefore = System.currentTimeMillis() - graceMillis;
+        int archived = 0;
+        for (RoomState state : roomStateStore.allRooms()) {
+            if (archived >= batchSize) {
+                break; // 나머지는 다음 주기에 처리
+            }
+            if (state.getStatus() != Room.RoomStatus.ENDED || state.getLastActivityAt() >= idleBefore) {
+                continue;
+            }
+            if (hasConnectedParticipant(state)) {
+                continue; // 제거되지 않을 방을 매 주기 다시 쓰고 batch를 채우지 않도록
+            }
+            try {
+                archive(state, idleBefore);
+                archived++;
+            } catch (IOException | RuntimeException e) {
+                // 보관에 실패한 방은 DB에 그대로 두고 다음 주기에 다시 시도
+                failures.incrementAndGet();
+                log.warn("Failed to archive room {}", state.getRoomId(), e);
+            }
+        }
+        if (archived > 0) {
+            log.info("Archived {} ended rooms", archived);
+        }
+    }
+
+    public long archivedRoomCount() {
+        return archivedRooms.get();
+    }
+
+    public long archivedByteCount() {
+        return archivedBytes.get();
+    }
+
+    public long failureCount() {
+        return failures.get();
+    }
+
+    private boolean hasConnectedParticipant(RoomState state) {
+        return state.participantList().stream().anyMatch(p -> sessionRegistry.mayBeConnected(p.getId()));
+    }
+
+    private void archive(RoomState state, long idleBefore) throws IOException {
+        String roomId = state.getRoomId();
+        DiscussionStatusDto status = state.toStatusDto();
+        List<ArgumentDto> arguments = loadArguments(roomId);
+
+        // 주장을 남기고 나간 참가자도 작성자 정보가 남도록 포함
+        Map<String, ParticipantDto> participants = new LinkedHashMap<>();
+        for (ParticipantDto p : state.participantList()) {
+            participants.put(p.getId(), p);
+        }
+        for (ArgumentDto a : arguments) {
+            participants.computeIfAbsent(a.getParticipantId(),
+                    id -> new ParticipantDto(id, a.getParticipantName(), a.getSide(), null));
+        }
+
+        long bytes = debateArchive.write(new ArchivedDebateDto(
+                roomId,
+                state.getTopicId(),
+                status.getCurrentTopic(),
+                status.getType(),
+                status.getMessage(),
+                status.getStartTime(),
+                status.getDurationSeconds(),
+                System.currentTimeMillis(),
+                discussionService.getVoteResults(roomId).getResults(),
+                new ArrayList<>(participants.values()),
+                arguments
+        ));
+        roomDispatchExecutor.execute(DispatchKeys.room(roomId), () -> {
+            if (discussionService.removeIdleRoom(roomId, idleBefore) == null) {
+                log.debug("Room {} was active again after archiving; keeping it live", roomId);
+                return;
+            }
+            archivedRooms.incrementAndGet();
+            archivedBytes.addAndGet(bytes);
+        });
+    }
+
+    private List<ArgumentDto> loadArguments(String roomId) {
+        List<ArgumentDto> all = new ArrayList<>();
+        ArgumentCursor cursor = null;
+        while (true) {
+            List<ArgumentDto> page = discussionService.getArguments(roomId, cursor, null, ARGUMENT_PAGE_SIZE);
+            all.addAll(page);
+            if (page.size() < ARGUMENT_PAGE_SIZE) {
+                return all;
+            }
+            cursor = ArgumentCursor.of(page.get(page.size() - 1));
+        }
+    }
+}
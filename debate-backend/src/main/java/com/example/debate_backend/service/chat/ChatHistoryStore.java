@@ -0,0 +1,52 @@
+package com.example.debate_backend.service.chat;
+
+import com.example.debate_backend.dto.ChatMessageDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 방별 최근 채팅 기록. 메모리 사용량은 (history-size × 방 개수)로 제한되며, 방이 삭제되면 버퍼도 해제됩니다.
+ */
+@Component
+public class ChatHistoryStore {
+
+    private final int historySize;
+    private final Map<String, ChatRingBuffer> buffers = new ConcurrentHashMap<>();
+
+    public ChatHistoryStore(@Value("${discussion.chat.history-size:100}") int historySize) {
+        this.historySize = historySize;
+    }
+
+    public void append(String roomId, ChatMessageDto message) {
+        buffers.computeIfAbsent(roomId, k -> new ChatRingBuffer(historySize)).append(message);
+    }
+
+    public List<ChatMessageDto> recent(String roomId) {
+        ChatRingBuffer buffer = buffers.get(roomId);
+        return buffer != null ? buffer.snapshot() : List.of();
+    }
+
+    /**
+     * @return 제거된 버퍼가 있었으면 true
+     */
+    public boolean removeRoom(String roomId) {
+        return buffers.remove(roomId) != null;
+    }
+
+    public int roomCount() {
+        return buffers.size();
+    }
+
+    /**
+     * 기록이 있는 방 ID (읽기 전용 뷰)
+     */
+    public Set<String> roomIds() {
+        return Collections.unmodifiableSet(buffers.keySet());
+    }
+}
@@ -0,0 +1,434 @@
+package com.example.debate_backend.service.chat;
+
+import com.example.debate_backend.dto.ChatCursor;
+import com.example.debate_backend.dto.ChatMessageDto;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * 채팅 메시지의 영구 저장소 (방별 세그먼트 로그 파일).
+ * WebSocket 스레드는 bounded 큐에 넣기만 하고(가득 차면 버리고 카운트), 전용 writer 스레드가 batch 단위로 파일에 추가합니다.
+ * 따라서 전송 경로는 디스크 I/O에 절대 블로킹되지 않습니다.
+ *
+ * <p>파일 구조: {dir}/{roomId}/chat-{첫 메시지 epoch milli}-{seq}.log
+ * <br>레코드: length(4) | epochMilli(8) | type(1) | sender | content | timestamp (문자열은 length(4) + UTF-8, null은 -1)
+ */
+@Component
+public class ChatLog {
+
+    private static final Logger log = LoggerFactory.getLogger(ChatLog.class);
+
+    // 경로로 사용되므로 안전한 방 ID만 허용
+    private static final Pattern SAFE_ROOM_ID = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final int batchSize;
+    private final int maxOpenFiles;
+    private final BlockingQueue<ChatMessageDto> queue;
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+
+    // writer 스레드 전용: 최근에 쓴 방의 열린 세그먼트 (LRU로 파일 핸들 수 제한)
+    private final LinkedHashMap<String, SegmentWriter> openWriters = new LinkedHashMap<>(16, 0.75f, true);
+    // writer 스레드 전용: 방별로 이 프로세스에서 마지막으로 쓴 (끝이 온전한) 세그먼트
+    // LRU에서 밀려났다 다시 열 때 디렉터리 목록 조회와 전체 읽기 검사를 반복하지 않도록 사용
+    private final Map<String, Path> latestSegments = new HashMap<>();
+    private long segmentSeq;
+
+    private volatile boolean running;
+    private Thread writerThread;
+
+    public ChatLog(@Value("${discussion.chat.log.dir:data/chat}") String directory,
+                   @Value("${discussion.chat.log.queue-capacity:65536}") int queueCapacity,
+                   @Value("${discussion.chat.log.batch-size:512}") int batchSize,
+                   @Value("${discussion.chat.log.segment-bytes:4194304}") long segmentBytes,
+                   @Value("${discussion.chat.log.max-open-files:256}") int maxOpenFiles) {
+        this.directory = Paths.get(directory);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.segmentBytes = segmentBytes;
+        this.maxOpenFiles = maxOpenFiles;
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        Files.createDirectories(directory);
+        running = true;
+        writerThread = new Thread(this::writeLoop, "chat-log-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * 종료 시 큐에 남은 메시지를 모두 기록한 뒤 writer 스레드를 멈춥니다.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (writerThread != null) {
+            writerThread.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    /**
+     * 메시지를 기록 큐에 넣습니다. 큐가 가득 차면 블로킹하지 않고 버립니다.
+     * @return 큐에 들어갔으면 true
+     */
+    public boolean enqueue(ChatMessageDto message) {
+        if (message.getRoomId() == null || !SAFE_ROOM_ID.matcher(message.getRoomId()).matches()) {
+            return false;
+        }
+        if (!queue.offer(message)) {
+            dropped.incrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    public long droppedCount() {
+        return dropped.get();
+    }
+
+    public long writtenCount() {
+        return written.get();
+    }
+
+    public int queueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * 채팅 기록 한 페이지 (시간순). next는 페이지가 가득 찼을 때 다음(더 오래된) 페이지 요청에 쓸 커서, 아니면 null
+     */
+    public record Page(List<ChatMessageDto> messages, ChatCursor next) {
+        static final Page EMPTY = new Page(List.of(), null);
+    }
+
+    /**
+     * before(epoch milli) 이전이면서 cursor 위치보다 앞에 기록된 메시지를 최신 것부터 최대 limit개 읽어 시간순으로 반환합니다.
+     * 다음 페이지는 반환된 Page.next를 cursor로 넘겨 요청합니다. (시간이 아니라 로그 위치 기준이라 같은 밀리초의 메시지도 빠지지 않음)
+     * 아직 큐에 남아있는(기록 전) 메시지는 포함되지 않습니다.
+     * @param cursor null이면 가장 최근 메시지부터
+     */
+    public Page readBefore(String roomId, long before, ChatCursor cursor, int limit) throws IOException {
+        if (!SAFE_ROOM_ID.matcher(roomId).matches()) {
+            return Page.EMPTY;
+        }
+        Path roomDir = directory.resolve(roomId);
+        if (!Files.isDirectory(roomDir)) {
+            return Page.EMPTY;
+        }
+        List<Path> segments;
+        try (Stream<Path> files = Files.list(roomDir)) {
+            segments = files.filter(p -> p.getFileName().toString().endsWith(".log"))
+                    .sorted(Comparator.comparing((Path p) -> p.getFileName().toString()).reversed())
+                    .toList();
+        }
+
+        Deque<ChatMessageDto> page = new ArrayDeque<>(limit);
+        ChatCursor oldest = null;
+        for (Path segment : segments) {
+            String name = segment.getFileName().toString();
+            // 세그먼트 첫 메시지가 before 이후이거나 커서보다 뒤의 세그먼트라면 이 파일에는 대상이 없음
+            if (firstTimestampOf(segment) >= before || (cursor != null && name.compareTo(cursor.segment()) > 0)) {
+                continue;
+            }
+            List<Record> records = readSegment(segment);
+            for (int i = records.size() - 1; i >= 0 && page.size() < limit; i--) {
+                Record record = records.get(i);
+                if (record.epochMilli() < before && (cursor == null || cursor.isAfter(name, record.offset()))) {
+                    page.addFirst(record.message());
+                    oldest = new ChatCursor(name, record.offset());
+                }
+            }
+            if (page.size() >= limit) {
+                break;
+            }
+        }
+        return new Page(new ArrayList<>(page), page.size() >= limit ? oldest : null);
+    }
+
+    private void writeLoop() {
+        List<ChatMessageDto> batch = new ArrayList<>(batchSize);
+        try {
+            while (running || !queue.isEmpty()) {
+                ChatMessageDto first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                writeBatch(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            closeAll();
+        }
+    }
+
+    private void writeBatch(List<ChatMessageDto> batch) {
+        // 방별로 모아 세그먼트당 한 번의 gathering write로 기록
+        Map<String, List<ChatMessageDto>> byRoom = new HashMap<>();
+        for (ChatMessageDto message : batch) {
+            byRoom.computeIfAbsent(message.getRoomId(), k -> new ArrayList<>()).add(message);
+        }
+        for (Map.Entry<String, List<ChatMessageDto>> entry : byRoom.entrySet()) {
+            try {
+                appendRoom(entry.getKey(), entry.getValue());
+                written.addAndGet(entry.getValue().size());
+            } catch (IOException | RuntimeException e) {
+                log.error("Failed to write chat log for room {}", entry.getKey(), e);
+            }
+        }
+    }
+
+    private void appendRoom(String roomId, List<ChatMessageDto> messages) throws IOException {
+        SegmentWriter writer = openWriters.get(roomId);
+        List<ByteBuffer> pending = new ArrayList<>(messages.size());
+        long pendingBytes = 0;
+        for (ChatMessageDto message : messages) {
+            long epochMilli = epochMilliOf(message);
+            byte[] record = encode(epochMilli, message);
+            if (writer == null || writer.size + pendingBytes + record.length > segmentBytes) {
+                boolean firstOpen = writer == null;
+                if (writer != null) {
+                    // 세그먼트 교체 전 지금까지 모은 레코드를 기록
+                    writer.write(pending);
+                    pending.clear();
+                    pendingBytes = 0;
+                    writer.close();
+                }
+                writer = openWriter(roomId, epochMilli, firstOpen);
+                openWriters.put(roomId, writer);
+                evictIdleWriters();
+            }
+            pending.add(ByteBuffer.wrap(record));
+            pendingBytes += record.length;
+        }
+        if (writer != null) {
+            writer.write(pending);
+        }
+    }
+
+    private SegmentWriter openWriter(String roomId, long firstEpochMilli, boolean reuseLatest) throws IOException {
+        Path roomDir = directory.resolve(roomId);
+        Files.createDirectories(roomDir);
+        if (reuseLatest) {
+            Path latest = latestSegments.get(roomId);
+            boolean validated = latest != null && Files.exists(latest);
+            if (!validated) {
+                // 재시작 후 처음 쓰는 경우: 여유가 있는 마지막 세그먼트에 이어서 기록
+                try (Stream<Path> files = Files.list(roomDir)) {
+                    latest = files.filter(p -> p.getFileName().toString().endsWith(".log"))
+                            .max(Comparator.comparing((Path p) -> p.getFileName().toString()))
+                            .orElse(null);
+                }
+            }
+            if (latest != null && Files.size(latest) < segmentBytes) {
+                long valid = -1;
+                if (!validated) {
+                    // 크래시로 끝이 잘린 레코드가 있으면 잘라내고 이어 씀 (그 뒤에 쓴 레코드가 읽히지 않는 것 방지)
+                    // 세그먼트당 프로세스에서 한 번만 검사
+                    valid = completeLength(Files.readAllBytes(latest));
+                    if (valid < Files.size(latest)) {
+                        log.warn("Truncating torn record at {} in {}", valid, latest);
+                    }
+                }
+                latestSegments.put(roomId, latest);
+                return new SegmentWriter(latest, valid);
+            }
+        }
+        String name = String.format("chat-%013d-%06d.log", firstEpochMilli, segmentSeq++ % 1_000_000);
+        Path segment = roomDir.resolve(name);
+        latestSegments.put(roomId, segment);
+        return new SegmentWriter(segment, -1);
+    }
+
+    private void evictIdleWriters() {
+        Iterator<Map.Entry<String, SegmentWriter>> it = openWriters.entrySet().iterator();
+        while (openWriters.size() > maxOpenFiles && it.hasNext()) {
+            it.next().getValue().close();
+            it.remove();
+        }
+    }
+
+    private void closeAll() {
+        openWriters.values().forEach(SegmentWriter::close);
+        openWriters.clear();
+    }
+
+    private static long epochMilliOf(ChatMessageDto message) {
+        if (message.getTimestamp() != null) {
+            try {
+                return Instant.parse(message.getTimestamp()).toEpochMilli();
+            } catch (DateTimeParseException ignored) {
+                // 아래에서 현재 시간 사용
+            }
+        }
+        return System.currentTimeMillis();
+    }
+
+    private static long firstTimestampOf(Path segment) {
+        String name = segment.getFileName().toString(); // chat-{13자리}-{seq}.log
+        try {
+            return Long.parseLong(name.substring(5, 18));
+        } catch (RuntimeException e) {
+            return Long.MIN_VALUE; // 이름 형식이 다르면 건너뛰지 않고 읽음
+        }
+    }
+
+    private static byte[] encode(long epochMilli, ChatMessageDto message) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(0); // 길이 자리
+        out.writeLong(epochMilli);
+        out.writeByte(message.getType() != null ? message.getType().ordinal() : -1);
+        writeString(out, message.getSender());
+        writeString(out, message.getContent());
+        writeString(out, message.getTimestamp());
+        out.flush();
+        byte[] record = bytes.toByteArray();
+        ByteBuffer.wrap(record).putInt(0, record.length - Integer.BYTES);
+        return record;
+    }
+
+    /**
+     * 끝까지 온전히 기록된 레코드들의 길이 (그 뒤는 기록 도중 끊긴 레코드)
+     */
+    static long completeLength(byte[] data) {
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        while (buffer.remaining() >= Integer.BYTES) {
+            int length = buffer.getInt(buffer.position());
+            if (length <= 0 || buffer.remaining() - Integer.BYTES < length) {
+                break;
+            }
+            buffer.position(buffer.position() + Integer.BYTES + length);
+        }
+        return buffer.position();
+    }
+
+    private static List<Record> readSegment(Path segment) throws IOException {
+        byte[] data = Files.readAllBytes(segment);
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+        String roomId = segment.getParent().getFileName().toString();
+        List<Record> records = new ArrayList<>();
+        while (in.available() >= Integer.BYTES) {
+            long offset = data.length - in.available();
+            int length = in.readInt();
+            if (length <= 0 || in.available() < length) {
+                break; // 기록 중인 마지막 레코드
+            }
+            long epochMilli = in.readLong();
+            byte type = in.readByte();
+            String sender = readString(in);
+            String content = readString(in);
+            String timestamp = readString(in);
+            records.add(new Record(epochMilli, offset, new ChatMessageDto(
+                    type >= 0 ? ChatMessageDto.MessageType.values()[type] : null,
+                    content,
+                    sender,
+                    roomId,
+                    timestamp
+            )));
+        }
+        return records;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private record Record(long epochMilli, long offset, ChatMessageDto message) {
+    }
+
+    private static final class SegmentWriter {
+        private final FileChannel channel;
+        private long size;
+
+        // validLength >= 0 이면 그 뒤의 (잘린) 내용을 버리고 이어 씀
+        SegmentWriter(Path path, long validLength) throws IOException {
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            if (validLength >= 0 && validLength < channel.size()) {
+                channel.truncate(validLength);
+            }
+            this.size = channel.size();
+        }
+
+        void write(List<ByteBuffer> records) throws IOException {
+            if (records.isEmpty()) {
+                return;
+            }
+            ByteBuffer[] buffers = records.toArray(new ByteBuffer[0]);
+            long total = 0;
+            for (ByteBuffer buffer : buffers) {
+                total += buffer.remaining();
+            }
+            long remaining = total;
+            while (remaining > 0) {
+                remaining -= channel.write(buffers);
+            }
+            size += total;
+        }
+
+        void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.warn("Failed to close chat log segment: {}", e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.debate_backend.service.chat;
+
+import com.example.debate_backend.dto.ChatMessageDto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 최근 N개의 채팅 메시지를 보관하는 고정 크기 링 버퍼.
+ * 슬롯 배열은 생성 시 한 번만 할당되며, 추가 시에는 가장 오래된 슬롯을 덮어씁니다.
+ */
+public class ChatRingBuffer {
+
+    private final ChatMessageDto[] slots;
+    private long written; // 지금까지 기록된 메시지 수 (다음 쓰기 위치 = written % capacity)
+
+    public ChatRingBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.slots = new ChatMessageDto[capacity];
+    }
+
+    public synchronized void append(ChatMessageDto message) {
+        slots[(int) (written % slots.length)] = message;
+        written++;
+    }
+
+    /**
+     * 보관 중인 메시지를 오래된 순서로 반환합니다.
+     */
+    public synchronized List<ChatMessageDto> snapshot() {
+        int size = (int) Math.min(written, slots.length);
+        List<ChatMessageDto> result = new ArrayList<>(size);
+        long start = written - size;
+        for (long i = start; i < written; i++) {
+            result.add(slots[(int) (i % slots.length)]);
+        }
+        return result;
+    }
+
+    public synchronized int size() {
+        return (int) Math.min(written, slots.length);
+    }
+
+    public int capacity() {
+        return slots.length;
+    }
+}
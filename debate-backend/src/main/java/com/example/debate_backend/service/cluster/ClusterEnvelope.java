@@ -0,0 +1,21 @@
+package com.example.debate_backend.service.cluster;
+
+/**
+ * 브로커로 전송되는 이벤트 봉투. 자신이 발행한 이벤트를 다시 적용하지 않도록 발행 노드 ID를 함께 보냅니다.
+ * syncRequest가 true이면 이벤트 대신 다른 노드들에게 스냅샷을 요청하는 봉투이고,
+ * 이벤트 없이 syncRequest도 false이면 노드가 살아 있음을 알리는 heartbeat 입니다.
+ */
+public record ClusterEnvelope(String nodeId, ClusterEvent event, boolean syncRequest) {
+
+    public ClusterEnvelope(String nodeId, ClusterEvent event) {
+        this(nodeId, event, false);
+    }
+
+    static ClusterEnvelope syncRequestFrom(String nodeId) {
+        return new ClusterEnvelope(nodeId, null, true);
+    }
+
+    static ClusterEnvelope heartbeatFrom(String nodeId) {
+        return new ClusterEnvelope(nodeId, null, false);
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.debate_backend.service.cluster;
+
+import com.example.debate_backend.dto.ChatMessageDto;
+import com.example.debate_backend.dto.ParticipantDto;
+import com.example.debate_backend.model.Room;
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 노드 간에 복제되는 방 상태 변경 이벤트.
+ * 변경을 처리한 노드(origin)가 발행하고, 다른 노드는 DB에 쓰거나 클라이언트에 브로드캐스트하지 않고 메모리 상태에만 반영합니다.
+ * 모든 이벤트는 방 ID를 가지며, 수신 측에서는 해당 방의 dispatch lane에서 적용됩니다.
+ */
+@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "kind")
+@JsonSubTypes({
+        @JsonSubTypes.Type(value = ClusterEvent.RoomOpened.class, name = "ROOM_OPENED"),
+        @JsonSubTypes.Type(value = ClusterEvent.RoomClosed.class, name = "ROOM_CLOSED"),
+        @JsonSubTypes.Type(value = ClusterEvent.StatusChanged.class, name = "STATUS_CHANGED"),
+        @JsonSubTypes.Type(value = ClusterEvent.ParticipantJoined.class, name = "PARTICIPANT_JOINED"),
+        @JsonSubTypes.Type(value = ClusterEvent.ParticipantLeft.class, name = "PARTICIPANT_LEFT"),
+        @JsonSubTypes.Type(value = ClusterEvent.SessionBound.class, name = "SESSION_BOUND"),
+        @JsonSubTypes.Type(value = ClusterEvent.VoteCast.class, name = "VOTE_CAST"),
+        @JsonSubTypes.Type(value = ClusterEvent.ChatPosted.class, name = "CHAT_POSTED"),
+        @JsonSubTypes.Type(value = ClusterEvent.RoomSnapshot.class, name = "ROOM_SNAPSHOT")
+})
+public sealed interface ClusterEvent {
+
+    String roomId();
+
+    record RoomOpened(String roomId, String topicId, String topicTitle, Room.RoomStatus status,
+                      String message, long startTime, long durationSeconds, long createdAt) implements ClusterEvent {
+    }
+
+    record RoomClosed(String roomId) implements ClusterEvent {
+    }
+
+    // phaseEndsAt/remainingMillis: 서버 타이머의 단계 마감 (마감 예약은 변경을 처리한 노드만 담당)
+    // changedAt: 변경 시각 - 스냅샷 병합 시 더 오래된 상태로 되돌리지 않기 위해 사용
+    record StatusChanged(String roomId, Room.RoomStatus status, String message,
+                         long startTime, long durationSeconds,
+                         long phaseEndsAt, long remainingMillis, long changedAt) implements ClusterEvent {
+    }
+
+    // rosterVersion: 변경을 처리한 노드에서의 참가자 목록 버전 - 다른 노드도 이 버전을 따라 클라이언트에 같은 번호를 보냄
+    record ParticipantJoined(String roomId, ParticipantDto participant, long rosterVersion) implements ClusterEvent {
+    }
+
+    record ParticipantLeft(String roomId, String participantId, long rosterVersion) implements ClusterEvent {
+    }
+
+    // 참가자가 (다른 노드의) 새 세션으로 접속함 → 이 노드에 남은 이전 세션 바인딩은 무효
+    // nodeId: 세션이 연결된 노드 - 그 노드가 응답하지 않으면 참가자도 연결이 끊긴 것으로 봄
+    record SessionBound(String roomId, String participantId, String nodeId) implements ClusterEvent {
+    }
+
+    record VoteCast(String roomId, String voterId, String side) implements ClusterEvent {
+    }
+
+    record ChatPosted(String roomId, ChatMessageDto message) implements ClusterEvent {
+    }
+
+    /**
+     * 한 방의 전체 상태. 노드가 브로커에 (재)연결되면 자신의 스냅샷을 보내고 다른 노드에 스냅샷을 요청하여,
+     * 연결이 끊긴 동안 놓친 이벤트와 각 노드에만 있던 상태(투표, 최근 채팅)를 맞춥니다.
+     * @param requestedBy 스냅샷을 요청한 노드 ID (요청 없이 보낸 스냅샷이면 null)
+     * @param sentBy 스냅샷을 보낸 노드 ID
+     * @param rosterVersion participants 시점의 참가자 목록 버전
+     * @param connectedParticipantIds 보낸 노드의 세션에 연결되어 있는 참가자 ID
+     * @param votes 투표자 ID -> 진영 키
+     */
+    record RoomSnapshot(String roomId, String requestedBy, String sentBy, RoomOpened room, StatusChanged status,
+                        List<ParticipantDto> participants, long rosterVersion,
+                        List<String> connectedParticipantIds, Map<String, String> votes,
+                        List<ChatMessageDto> recentChat) implements ClusterEvent {
+    }
+}
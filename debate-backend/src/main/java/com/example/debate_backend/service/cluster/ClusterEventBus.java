@@ -0,0 +1,36 @@
+package com.example.debate_backend.service.cluster;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 노드 간 상태 복제 채널.
+ * simple 브로커 모드(단일 노드)에서는 아무것도 하지 않고, relay 모드에서는 외부 STOMP 브로커를 통해 다른 노드로 전달합니다.
+ */
+public interface ClusterEventBus {
+
+    /**
+     * 이 노드에서 일어난 변경을 다른 노드에 알립니다. (자기 자신에게는 전달되지 않음)
+     */
+    void publish(ClusterEvent event);
+
+    /**
+     * 다른 노드에서 발행된 이벤트를 받을 리스너를 등록합니다.
+     */
+    void setListener(Consumer<ClusterEvent> listener);
+
+    /**
+     * (재)연결 시 다른 노드와 상태를 맞추기 위해 이 노드의 스냅샷을 만드는 함수를 등록합니다.
+     * 인자는 스냅샷을 요청한 노드 ID이며, 요청 없이 보내는 스냅샷이면 null입니다.
+     */
+    void setSnapshotSource(Function<String, List<ClusterEvent>> snapshotSource);
+
+    String nodeId();
+
+    /**
+     * 다른 노드가 살아 있다고 볼 수 있는지 여부. 최근에 그 노드의 메시지를 받았거나,
+     * 이 노드가 브로커에 연결되지 않아 판단할 수 없으면 true 입니다.
+     */
+    boolean isNodeAlive(String nodeId);
+}
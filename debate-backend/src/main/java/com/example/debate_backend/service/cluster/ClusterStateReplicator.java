@@ -0,0 +1,229 @@
+package com.example.debate_backend.service.cluster;
+
+import com.example.debate_backend.dto.ChatMessageDto;
+import com.example.debate_backend.dto.DiscussionStatusDto;
+import com.example.debate_backend.dto.ParticipantDto;
+import com.example.debate_backend.dto.RosterEventDto;
+import com.example.debate_backend.handler.DispatchKeys;
+import com.example.debate_backend.handler.ShardedMessageExecutor;
+import com.example.debate_backend.model.Room;
+import com.example.debate_backend.service.SessionRegistry;
+import com.example.debate_backend.service.chat.ChatHistoryStore;
+import com.example.debate_backend.service.state.RoomState;
+import com.example.debate_backend.service.state.RoomStateStore;
+import com.example.debate_backend.service.vote.RoomVoteCounter;
+import com.example.debate_backend.service.vote.VoteEngine;
+import com.example.debate_backend.service.vote.VoteJournal;
+import com.example.debate_backend.service.vote.VoteOutcome;
+import com.example.debate_backend.service.vote.VoteSide;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 다른 노드에서 발행된 ClusterEvent를 이 노드의 인메모리 상태(방, 참가자, 투표, 세션 인덱스, 최근 채팅)에 반영합니다.
+ * 이벤트는 해당 방의 dispatch lane에서 적용되므로 이 노드에서 처리 중인 같은 방의 메시지와 순서가 섞이지 않습니다.
+ * 브로커에 (재)연결될 때 주고받는 방 스냅샷도 만들고 병합합니다.
+ *
+ * <p>연결이 끊겨 RoomClosed를 놓친 노드의 스냅샷이 다른 노드에서 닫힌 방을 되살리지 않도록,
+ * 제거된 방을 closed-room-ttl 동안 기억하고 그 방의 스냅샷은 버린 뒤 RoomClosed를 다시 발행합니다.
+ */
+@Component
+public class ClusterStateReplicator {
+
+    private final ClusterEventBus clusterEventBus;
+    private final RoomStateStore roomStateStore;
+    private final VoteEngine voteEngine;
+    private final VoteJournal voteJournal;
+    private final SessionRegistry sessionRegistry;
+    private final ChatHistoryStore chatHistoryStore;
+    private final ShardedMessageExecutor roomDispatchExecutor;
+    private final long closedRoomTtlMillis;
+
+    public ClusterStateReplicator(ClusterEventBus clusterEventBus,
+                                  RoomStateStore roomStateStore,
+                                  VoteEngine voteEngine,
+                                  VoteJournal voteJournal,
+                                  SessionRegistry sessionRegistry,
+                                  ChatHistoryStore chatHistoryStore,
+                                  @Qualifier("roomDispatchExecutor") ShardedMessageExecutor roomDispatchExecutor,
+                                  @Value("${discussion.cluster.closed-room-ttl-ms:600000}") long closedRoomTtlMillis) {
+        this.clusterEventBus = clusterEventBus;
+        this.roomStateStore = roomStateStore;
+        this.voteEngine = voteEngine;
+        this.voteJournal = voteJournal;
+        this.sessionRegistry = sessionRegistry;
+        this.chatHistoryStore = chatHistoryStore;
+        this.roomDispatchExecutor = roomDispatchExecutor;
+        this.closedRoomTtlMillis = closedRoomTtlMillis;
+    }
+
+    @PostConstruct
+    public void register() {
+        clusterEventBus.setListener(event ->
+                roomDispatchExecutor.execute(DispatchKeys.room(event.roomId()), () -> apply(event)));
+        clusterEventBus.setSnapshotSource(this::snapshot);
+    }
+
+    @Scheduled(fixedDelayString = "${discussion.cluster.closed-room-ttl-ms:600000}")
+    public void pruneClosedRooms() {
+        roomStateStore.pruneClosedRooms(System.currentTimeMillis() - closedRoomTtlMillis);
+    }
+
+    /**
+     * 이 노드가 알고 있는 모든 방의 스냅샷 (브로커 수신 스레드에서 호출됨)
+     * @param requestedBy 스냅샷을 요청한 노드 ID, 요청 없이 보내면 null
+     */
+    List<ClusterEvent> snapshot(String requestedBy) {
+        List<ClusterEvent> events = new ArrayList<>();
+        for (RoomState state : roomStateStore.allRooms()) {
+            events.add(snapshotOf(state, requestedBy));
+        }
+        return events;
+    }
+
+    private ClusterEvent.RoomSnapshot snapshotOf(RoomState state, String requestedBy) {
+        String roomId = state.getRoomId();
+        // 변경 시각을 먼저 읽으므로 사이에 상태가 바뀌어도 더 새로운 상태가 더 오래된 시각으로 전달될 뿐
+        long changedAt = state.getStatusChangedAt();
+        DiscussionStatusDto status = state.toStatusDto();
+        Room.RoomStatus roomStatus = Room.RoomStatus.valueOf(status.getType().name());
+        ClusterEvent.RoomOpened room = new ClusterEvent.RoomOpened(roomId, state.getTopicId(), state.getTopicTitle(),
+                roomStatus, status.getMessage(), status.getStartTime(), status.getDurationSeconds(),
+                state.getCreatedAt());
+        ClusterEvent.StatusChanged statusChanged = new ClusterEvent.StatusChanged(roomId, roomStatus,
+                status.getMessage(), status.getStartTime(), status.getDurationSeconds(), status.getPhaseEndsAt(),
+                status.getRemainingMillis(), changedAt);
+        Map<String, String> votes = new HashMap<>();
+        RoomVoteCounter counter = voteEngine.counter(roomId);
+        if (counter != null) {
+            counter.votersView().forEach((voterId, side) -> votes.put(voterId, side.key()));
+        }
+        RosterEventDto roster = state.rosterSnapshot();
+        List<String> connected = roster.getParticipants().stream()
+                .map(ParticipantDto::getId)
+                .filter(id -> sessionRegistry.isBound(id) && sessionRegistry.mayBeConnected(id))
+                .toList();
+        return new ClusterEvent.RoomSnapshot(roomId, requestedBy, clusterEventBus.nodeId(), room, statusChanged,
+                roster.getParticipants(), roster.getVersion(), connected, votes, chatHistoryStore.recent(roomId));
+    }
+
+    void apply(ClusterEvent event) {
+        if (event instanceof ClusterEvent.RoomOpened e) {
+            roomStateStore.registerReplica(e.roomId(), e.topicId(), e.topicTitle(), e.status(),
+                    e.message(), e.startTime(), e.durationSeconds(), e.createdAt());
+            voteEngine.openRoom(e.roomId());
+        } else if (event instanceof ClusterEvent.RoomClosed e) {
+            roomStateStore.find(e.roomId()).ifPresent(state ->
+                    state.participantList().forEach(p -> sessionRegistry.unbindRemote(p.getId())));
+            roomStateStore.dropReplica(e.roomId());
+            voteEngine.removeRoom(e.roomId());
+            voteJournal.appendRoomRemoved(e.roomId());
+            chatHistoryStore.removeRoom(e.roomId());
+        } else if (event instanceof ClusterEvent.StatusChanged e) {
+            roomStateStore.find(e.roomId()).ifPresent(state -> {
+                if (state.applyReplicatedStatus(e.status(), e.message(), e.startTime(), e.durationSeconds(),
+                        e.phaseEndsAt(), e.remainingMillis(), e.changedAt())) {
+                    roomStateStore.reindexStatus(state);
+                }
+            });
+        } else if (event instanceof ClusterEvent.ParticipantJoined e) {
+            roomStateStore.applyReplicatedParticipant(e.roomId(), e.participant(), e.rosterVersion());
+        } else if (event instanceof ClusterEvent.ParticipantLeft e) {
+            roomStateStore.applyReplicatedRemoval(e.roomId(), e.participantId(), e.rosterVersion());
+            sessionRegistry.unbindRemote(e.participantId());
+        } else if (event instanceof ClusterEvent.SessionBound e) {
+            // 다른 노드의 새 세션으로 옮겨갔으므로, 이 노드의 이전 세션이 끊겨도 참가자를 제거하지 않도록 바인딩 해제
+            // 접속한 노드를 기록해 두어 그 노드가 죽으면 유휴 방 정리가 참가자를 정리할 수 있게 함
+            sessionRegistry.unbindParticipant(e.participantId());
+            sessionRegistry.bindRemote(e.participantId(), e.nodeId());
+        } else if (event instanceof ClusterEvent.VoteCast e) {
+            roomStateStore.find(e.roomId()).ifPresent(RoomState::touch);
+            VoteOutcome outcome = voteEngine.applyReplicated(e.roomId(), e.voterId(), e.side());
+            if (outcome == VoteOutcome.ACCEPTED || outcome == VoteOutcome.CHANGED) {
+                voteJournal.appendVote(e.roomId(), e.voterId(), VoteSide.fromKey(e.side()));
+            }
+        } else if (event instanceof ClusterEvent.RoomSnapshot e) {
+            applySnapshot(e);
+        } else if (event instanceof ClusterEvent.ChatPosted e) {
+            roomStateStore.find(e.roomId()).ifPresent(state -> {
+                state.touch();
+                chatHistoryStore.append(e.roomId(), e.message());
+            });
+        }
+    }
+
+    /**
+     * 다른 노드의 방 스냅샷을 병합합니다.
+     * - 방이 없으면 등록하고, 상태는 변경 시각이 더 나중일 때만 반영
+     * - 이 노드 세션에 바인딩된 참가자는 이 노드가 기준이므로 덮어쓰지 않음
+     * - 이 노드가 요청한 스냅샷(끊겨 있던 쪽)이면, 스냅샷에 없고 이 노드 세션에도 없는 참가자는 끊긴 동안 나간 것으로 보고 제거
+     * - 참가자 목록 버전은 스냅샷의 버전 이상으로 맞춤 (클라이언트는 버전이 건너뛰면 SNAPSHOT을 다시 요청)
+     * - 보낸 노드의 세션에 연결된 참가자는 그 노드에 접속 중인 것으로 기록 (그 노드가 죽으면 정리 대상)
+     * - 모르는 투표자는 추가하고, 이미 아는 투표자는 이 노드가 요청한 스냅샷일 때만 (이 노드 세션이 아니면) 진영을 맞춤
+     * - 최근 채팅은 이 노드에 없는 메시지만 추가
+     * 최근에 닫힌 방의 스냅샷은 병합하지 않고, 보낸 노드도 방을 제거하도록 RoomClosed를 다시 발행합니다.
+     * (이 노드가 닫힌 사실을 모르는 방은 유휴 방 정리가 제거)
+     */
+    private void applySnapshot(ClusterEvent.RoomSnapshot e) {
+        String roomId = e.roomId();
+        if (roomStateStore.isClosedSince(roomId, System.currentTimeMillis() - closedRoomTtlMillis)) {
+            clusterEventBus.publish(new ClusterEvent.RoomClosed(roomId));
+            return;
+        }
+        apply(e.room());
+        apply(e.status());
+        RoomState state = roomStateStore.find(roomId).orElse(null);
+        if (state == null) {
+            return;
+        }
+        boolean requestedHere = clusterEventBus.nodeId().equals(e.requestedBy());
+
+        Set<String> snapshotIds = new HashSet<>();
+        for (ParticipantDto participant : e.participants()) {
+            snapshotIds.add(participant.getId());
+            if (!sessionRegistry.isBound(participant.getId())) {
+                roomStateStore.applyReplicatedParticipant(roomId, participant, e.rosterVersion());
+            }
+        }
+        if (requestedHere) {
+            for (ParticipantDto participant : state.participantList()) {
+                if (!snapshotIds.contains(participant.getId()) && !sessionRegistry.isBound(participant.getId())) {
+                    roomStateStore.applyReplicatedRemoval(roomId, participant.getId(), e.rosterVersion());
+                }
+            }
+        }
+        state.adoptRosterVersion(e.rosterVersion());
+        for (String participantId : e.connectedParticipantIds()) {
+            sessionRegistry.bindRemote(participantId, e.sentBy());
+        }
+
+        RoomVoteCounter counter = voteEngine.counter(roomId);
+        e.votes().forEach((voterId, side) -> {
+            boolean known = counter != null && counter.voteOf(voterId) != null;
+            if (known && (!requestedHere || sessionRegistry.isBound(voterId))) {
+                return;
+            }
+            VoteOutcome outcome = voteEngine.applyReplicated(roomId, voterId, side);
+            if (outcome == VoteOutcome.ACCEPTED || outcome == VoteOutcome.CHANGED) {
+                voteJournal.appendVote(roomId, voterId, VoteSide.fromKey(side));
+            }
+        });
+
+        List<ChatMessageDto> known = chatHistoryStore.recent(roomId);
+        for (ChatMessageDto message : e.recentChat()) {
+            if (!known.contains(message)) {
+                chatHistoryStore.append(roomId, message);
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.debate_backend.service.cluster;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 단일 노드(simple 브로커) 모드용: 복제할 다른 노드가 없으므로 이벤트를 버립니다.
+ */
+public class LocalClusterEventBus implements ClusterEventBus {
+
+    private final String nodeId;
+
+    public LocalClusterEventBus(String nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    @Override
+    public void publish(ClusterEvent event) {
+    }
+
+    @Override
+    public void setListener(Consumer<ClusterEvent> listener) {
+    }
+
+    @Override
+    public void setSnapshotSource(Function<String, List<ClusterEvent>> snapshotSource) {
+    }
+
+    @Override
+    public String nodeId() {
+        return nodeId;
+    }
+
+    @Override
+    public boolean isNodeAlive(String nodeId) {
+        return this.nodeId.equals(nodeId); // 다른 노드 없음
+    }
+}
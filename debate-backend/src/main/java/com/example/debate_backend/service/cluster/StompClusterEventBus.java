@@ -0,0 +1,299 @@
+package com.example.debate_backend.service.cluster;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.ConnectionLostException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.messaging.tcp.reactor.ReactorNettyTcpStompClient;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.util.MimeTypeUtils;
+
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 외부 STOMP 브로커(relay 모드와 같은 브로커)를 통해 노드 간 상태 변경 이벤트를 주고받습니다.
+ * 모든 노드가 같은 토픽을 구독하고, 자신이 발행한 이벤트는 nodeId로 걸러냅니다.
+ * 연결이 끊기면 reconnect-delay 후 다시 연결합니다. 연결이 없는 동안 발행된 이벤트는 버리는 대신,
+ * 구독이 확인될 때마다 자신의 스냅샷을 보내고 다른 노드들에 스냅샷을 요청하여 놓친 변경을 맞춥니다.
+ * (처음 합류하거나 재시작한 노드도 같은 방식으로 다른 노드의 투표, 최근 채팅, 아직 DB에 없는 참가자를 받음)
+ * 연결되어 있는 동안 heartbeat를 보내고, node-timeout 동안 아무 메시지도 없는 노드는 죽은 것으로 봅니다.
+ */
+public class StompClusterEventBus implements ClusterEventBus {
+
+    private static final Logger log = LoggerFactory.getLogger(StompClusterEventBus.class);
+
+    private final ObjectMapper objectMapper;
+    private final String host;
+    private final int port;
+    private final String login;
+    private final String passcode;
+    private final String virtualHost;
+    private final String destination;
+    private final String nodeId;
+    private final Duration reconnectDelay;
+    private final Duration heartbeatInterval;
+    private final long nodeTimeoutMillis;
+
+    private final ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+    private ReactorNettyTcpStompClient stompClient;
+    private volatile StompSession session;
+    private volatile boolean subscribed;
+    private volatile boolean running;
+    private volatile Consumer<ClusterEvent> listener = event -> { };
+    private volatile Function<String, List<ClusterEvent>> snapshotSource = requestedBy -> List.of();
+    private final AtomicBoolean reconnectScheduled = new AtomicBoolean();
+    // 다른 노드 ID -> 마지막으로 메시지를 받은 시각
+    private final Map<String, Long> lastSeenByNode = new ConcurrentHashMap<>();
+    // 구독이 확인된 시각 (그 전에 죽은 것으로 판단하지 않도록 사용)
+    private volatile long readySince;
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder received = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder resyncs = new LongAdder();
+
+    public StompClusterEventBus(ObjectMapper objectMapper, String host, int port, String login, String passcode,
+                                String virtualHost, String destination, String nodeId, Duration reconnectDelay,
+                                Duration heartbeatInterval, Duration nodeTimeout) {
+        this.objectMapper = objectMapper;
+        this.host = host;
+        this.port = port;
+        this.login = login;
+        this.passcode = passcode;
+        this.virtualHost = virtualHost;
+        this.destination = destination;
+        this.nodeId = nodeId;
+        this.reconnectDelay = reconnectDelay;
+        this.heartbeatInterval = heartbeatInterval;
+        this.nodeTimeoutMillis = nodeTimeout.toMillis();
+    }
+
+    public void start() {
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("cluster-bus-");
+        scheduler.setDaemon(true);
+        scheduler.initialize();
+
+        MappingJackson2MessageConverter converter = new MappingJackson2MessageConverter();
+        converter.setObjectMapper(objectMapper);
+        stompClient = new ReactorNettyTcpStompClient(host, port);
+        stompClient.setMessageConverter(converter);
+        stompClient.setTaskScheduler(scheduler); // heart-beat, receipt 처리용
+        running = true;
+        scheduler.scheduleWithFixedDelay(this::sendHeartbeat, heartbeatInterval);
+        connect();
+    }
+
+    public void stop() {
+        running = false;
+        StompSession current = session;
+        if (current != null && current.isConnected()) {
+            current.disconnect();
+        }
+        if (stompClient != null) {
+            stompClient.shutdown();
+        }
+        scheduler.shutdown();
+    }
+
+    @Override
+    public void publish(ClusterEvent event) {
+        StompSession current = session;
+        if (current == null || !current.isConnected()) {
+            dropped.increment();
+            return;
+        }
+        try {
+            StompHeaders headers = new StompHeaders();
+            headers.setDestination(destination);
+            headers.setContentType(MimeTypeUtils.APPLICATION_JSON);
+            current.send(headers, new ClusterEnvelope(nodeId, event));
+            published.increment();
+        } catch (RuntimeException e) {
+            dropped.increment();
+            log.warn("Failed to publish cluster event {}: {}", event.getClass().getSimpleName(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void setListener(Consumer<ClusterEvent> listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public void setSnapshotSource(Function<String, List<ClusterEvent>> snapshotSource) {
+        this.snapshotSource = snapshotSource;
+    }
+
+    @Override
+    public String nodeId() {
+        return nodeId;
+    }
+
+    /**
+     * 브로커에 연결되어 클러스터 토픽 구독까지 확인되었는지 여부
+     */
+    public boolean isReady() {
+        StompSession current = session;
+        return subscribed && current != null && current.isConnected();
+    }
+
+    @Override
+    public boolean isNodeAlive(String otherNodeId) {
+        long now = System.currentTimeMillis();
+        if (!isReady() || now - readySince < nodeTimeoutMillis) {
+            return true; // 연결이 없거나 막 연결되어 다른 노드의 메시지를 아직 받지 못했을 수 있음
+        }
+        Long lastSeen = lastSeenByNode.get(otherNodeId);
+        return lastSeen != null && now - lastSeen < nodeTimeoutMillis;
+    }
+
+    public long publishedCount() {
+        return published.sum();
+    }
+
+    public long receivedCount() {
+        return received.sum();
+    }
+
+    public long droppedCount() {
+        return dropped.sum();
+    }
+
+    public long resyncCount() {
+        return resyncs.sum();
+    }
+
+    private void connect() {
+        if (!running) {
+            return;
+        }
+        StompHeaders connectHeaders = new StompHeaders();
+        connectHeaders.setLogin(login);
+        connectHeaders.setPasscode(passcode);
+        if (virtualHost != null && !virtualHost.isBlank()) {
+            connectHeaders.setHost(virtualHost);
+        }
+        // 연결 실패도 handleTransportError로 전달되어 재연결이 예약됨
+        stompClient.connectAsync(connectHeaders, new SessionHandler());
+    }
+
+    /**
+     * 구독이 확인된 직후 호출됩니다. 끊겨 있던 동안 이 노드에서 일어난 변경을 스냅샷으로 보내고,
+     * 다른 노드들이 놓친 변경을 보내도록 스냅샷을 요청합니다.
+     */
+    private void resync(StompSession connected) {
+        resyncs.increment();
+        publishSnapshot(null);
+        try {
+            StompHeaders headers = new StompHeaders();
+            headers.setDestination(destination);
+            headers.setContentType(MimeTypeUtils.APPLICATION_JSON);
+            connected.send(headers, ClusterEnvelope.syncRequestFrom(nodeId));
+        } catch (RuntimeException e) {
+            log.warn("Failed to request cluster snapshot: {}", e.getMessage());
+        }
+    }
+
+    private void sendHeartbeat() {
+        StompSession current = session;
+        if (!subscribed || current == null || !current.isConnected()) {
+            return;
+        }
+        try {
+            StompHeaders headers = new StompHeaders();
+            headers.setDestination(destination);
+            headers.setContentType(MimeTypeUtils.APPLICATION_JSON);
+            current.send(headers, ClusterEnvelope.heartbeatFrom(nodeId));
+        } catch (RuntimeException e) {
+            log.debug("Failed to send cluster heartbeat: {}", e.getMessage());
+        }
+    }
+
+    private void publishSnapshot(String requestedBy) {
+        List<ClusterEvent> snapshot;
+        try {
+            snapshot = snapshotSource.apply(requestedBy);
+        } catch (RuntimeException e) {
+            log.error("Failed to build cluster snapshot", e);
+            return;
+        }
+        snapshot.forEach(this::publish);
+        log.info("Published cluster snapshot of {} rooms{}", snapshot.size(),
+                requestedBy != null ? " for node " + requestedBy : "");
+    }
+
+    private void scheduleReconnect() {
+        session = null;
+        subscribed = false;
+        if (running && reconnectScheduled.compareAndSet(false, true)) {
+            scheduler.schedule(() -> {
+                reconnectScheduled.set(false);
+                connect();
+            }, Instant.now().plus(reconnectDelay));
+        }
+    }
+
+    private class SessionHandler extends StompSessionHandlerAdapter {
+
+        @Override
+        public void afterConnected(StompSession connected, StompHeaders connectedHeaders) {
+            session = connected;
+            connected.setAutoReceipt(true);
+            StompSession.Subscription subscription = connected.subscribe(destination, this);
+            subscription.addReceiptTask(() -> {
+                readySince = System.currentTimeMillis();
+                subscribed = true;
+                resync(connected);
+            });
+            log.info("Cluster bus connected as node {} ({})", nodeId, destination);
+        }
+
+        @Override
+        public Type getPayloadType(StompHeaders headers) {
+            return ClusterEnvelope.class;
+        }
+
+        @Override
+        public void handleFrame(StompHeaders headers, Object payload) {
+            ClusterEnvelope envelope = (ClusterEnvelope) payload;
+            if (envelope == null || nodeId.equals(envelope.nodeId())) {
+                return; // 자기 자신이 발행한 이벤트
+            }
+            lastSeenByNode.put(envelope.nodeId(), System.currentTimeMillis());
+            if (envelope.syncRequest()) {
+                publishSnapshot(envelope.nodeId());
+            } else if (envelope.event() != null) {
+                received.increment(); // 다른 노드의 이벤트만 집계 (스냅샷 요청, heartbeat 제외)
+                listener.accept(envelope.event());
+            }
+        }
+
+        @Override
+        public void handleException(StompSession s, StompCommand command, StompHeaders headers, byte[] payload, Throwable ex) {
+            log.warn("Cluster bus failed to handle frame: {}", ex.getMessage());
+        }
+
+        @Override
+        public void handleTransportError(StompSession s, Throwable ex) {
+            if (ex instanceof ConnectionLostException || !s.isConnected()) {
+                log.warn("Cluster bus connection to {}:{} lost, reconnecting: {}", host, port, ex.getMessage());
+                scheduleReconnect();
+            }
+        }
+    }
+}
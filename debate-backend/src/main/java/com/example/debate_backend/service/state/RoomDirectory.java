@@ -0,0 +1,118 @@
+package com.example.debate_backend.service.state;
+
+import com.example.debate_backend.model.Room;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 로비 목록용 방 인덱스. 생성 시각 내림차순(최신 방 먼저)으로 정렬된 전체 목록과 상태별 목록을 유지합니다.
+ * 목록 조회는 정렬된 skip list를 커서 위치부터 limit개만 읽으므로 방 수와 관계없이 페이지 크기에 비례합니다.
+ *
+ * <p>한 방의 인덱스 변경(등록, 상태 이동, 제거)은 roomId 단위로 원자적으로 처리되어,
+ * 여러 스레드에서 같은 방을 갱신해도 항상 현재 상태의 목록 하나에만 들어 있습니다.
+ */
+class RoomDirectory {
+
+    // 생성 시각 내림차순, 같은 시각이면 roomId 오름차순
+    record Key(long createdAt, String roomId) {
+        static final Comparator<Key> ORDER = Comparator.comparingLong(Key::createdAt).reversed()
+                .thenComparing(Key::roomId);
+    }
+
+    private record Indexed(Key key, Room.RoomStatus status) {
+    }
+
+    private final ConcurrentSkipListMap<Key, RoomState> all = new ConcurrentSkipListMap<>(Key.ORDER);
+    // 생성자에서만 채우고 이후에는 읽기만 함
+    private final Map<Room.RoomStatus, ConcurrentSkipListMap<Key, RoomState>> byStatus = new EnumMap<>(Room.RoomStatus.class);
+    // skip list의 size()는 O(n)이므로 상태별 개수는 따로 셈
+    private final Map<Room.RoomStatus, AtomicInteger> counts = new EnumMap<>(Room.RoomStatus.class);
+    private final Map<String, Indexed> entries = new ConcurrentHashMap<>();
+
+    RoomDirectory() {
+        for (Room.RoomStatus status : Room.RoomStatus.values()) {
+            byStatus.put(status, new ConcurrentSkipListMap<>(Key.ORDER));
+            counts.put(status, new AtomicInteger());
+        }
+    }
+
+    /**
+     * 방을 등록합니다. 같은 ID의 방이 이미 있으면 교체합니다.
+     */
+    void add(RoomState state) {
+        entries.compute(state.getRoomId(), (id, previous) -> {
+            if (previous != null) {
+                unlink(previous);
+            }
+            Indexed indexed = new Indexed(new Key(state.getCreatedAt(), id), state.getStatus());
+            link(indexed, state);
+            return indexed;
+        });
+    }
+
+    /**
+     * 방의 현재 상태에 맞게 상태별 목록을 옮깁니다. 등록되지 않은(이미 제거된) 방은 무시합니다.
+     */
+    void update(RoomState state) {
+        entries.computeIfPresent(state.getRoomId(), (id, previous) -> {
+            Room.RoomStatus status = state.getStatus();
+            if (status == previous.status()) {
+                return previous;
+            }
+            unlink(previous);
+            Indexed indexed = new Indexed(previous.key(), status);
+            link(indexed, state);
+            return indexed;
+        });
+    }
+
+    void remove(String roomId) {
+        entries.computeIfPresent(roomId, (id, previous) -> {
+            unlink(previous);
+            return null;
+        });
+    }
+
+    /**
+     * @param status null이면 전체 목록
+     * @param after 이전 페이지 마지막 방의 위치 (null이면 처음부터)
+     */
+    List<RoomState> list(Room.RoomStatus status, Key after, int limit) {
+        ConcurrentNavigableMap<Key, RoomState> index = status != null ? byStatus.get(status) : all;
+        if (after != null) {
+            index = index.tailMap(after, false);
+        }
+        List<RoomState> page = new ArrayList<>(Math.min(limit, 64));
+        for (RoomState state : index.values()) {
+            if (page.size() >= limit) {
+                break;
+            }
+            page.add(state);
+        }
+        return page;
+    }
+
+    int count(Room.RoomStatus status) {
+        return counts.get(status).get();
+    }
+
+    private void link(Indexed indexed, RoomState state) {
+        all.put(indexed.key(), state);
+        byStatus.get(indexed.status()).put(indexed.key(), state);
+        counts.get(indexed.status()).incrementAndGet();
+    }
+
+    private void unlink(Indexed indexed) {
+        all.remove(indexed.key());
+        byStatus.get(indexed.status()).remove(indexed.key());
+        counts.get(indexed.status()).decrementAndGet();
+    }
+}
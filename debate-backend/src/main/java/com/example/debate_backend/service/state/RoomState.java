@@ -0,0 +1,433 @@
+package com.example.debate_backend.service.state;
+
+import com.example.debate_backend.dto.DiscussionStatusDto;
+import com.example.debate_backend.dto.ParticipantDto;
+import com.example.debate_backend.dto.RoomSummaryDto;
+import com.example.debate_backend.dto.RosterEventDto;
+import com.example.debate_backend.model.Room;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 한 토론방의 인메모리 상태 (상태, 메시지, 시작 시간, 참가자).
+ * 모든 접근은 인스턴스 모니터로 동기화되며, 변경 사항은 dirty 표시 후 RoomStateStore가 비동기로 DB에 반영합니다.
+ */
+public class RoomState {
+
+    private final String roomId;
+    private final String topicId;
+    private final String topicTitle;
+    private final long createdAt;
+
+    private Room.RoomStatus status;
+    private String message;
+    private long startTime;
+    private long durationSeconds;
+    // 서버 타이머: 진행 중(STARTED/VOTING)인 단계의 종료 시각(epoch milli, 없으면 0)과 멈춰 있을 때 남은 토론 시간
+    private long phaseEndsAt;
+    private long remainingMillis;
+    // 마지막 상태 변경 시각 (epoch milli, 이 노드에서 아직 바뀐 적이 없으면 0) - 클러스터 스냅샷 병합 시 순서 판단용
+    private long statusChangedAt;
+    // 마지막 활동(입장/퇴장, 상태 변경, 채팅, 주장, 투표) 시각 - 유휴 방 정리 기준 (투표 경로에서 락 없이 갱신)
+    private volatile long lastActivityAt;
+
+    // 참가 순서를 유지하기 위해 LinkedHashMap 사용
+    private final Map<String, ParticipantDto> participants = new LinkedHashMap<>();
+    // 참가자 목록 버전: 목록이 바뀔 때마다 1 증가 (변경분 브로드캐스트 순서 확인용)
+    private long rosterVersion;
+
+    // 아직 DB에 반영되지 않은 변경 사항
+    private boolean roomDirty;
+    private final Set<String> dirtyParticipantIds = new HashSet<>();
+    private final Set<String> removedParticipantIds = new HashSet<>();
+    // DB에 행이 아직 없는 참가자 (주장 저장 시 FK 보장용)
+    private final Set<String> unpersistedParticipantIds = new HashSet<>();
+
+    public RoomState(String roomId, String topicId, String topicTitle, Room.RoomStatus status,
+                     String message, long startTime, long durationSeconds) {
+        this(roomId, topicId, topicTitle, status, message, startTime, durationSeconds, System.currentTimeMillis());
+    }
+
+    public RoomState(String roomId, String topicId, String topicTitle, Room.RoomStatus status,
+                     String message, long startTime, long durationSeconds, long createdAt) {
+        this.roomId = roomId;
+        this.topicId = topicId;
+        this.topicTitle = topicTitle;
+        this.createdAt = createdAt;
+        this.status = status;
+        this.message = message;
+        this.startTime = startTime;
+        this.durationSeconds = durationSeconds;
+        this.remainingMillis = durationSeconds * 1000;
+        this.lastActivityAt = System.currentTimeMillis(); // 재시작 직후에는 모든 방이 TTL만큼 유예됨
+        // 재시작 시에는 일시 정지 이력을 알 수 없으므로 시작 시각 기준으로 마감을 복원
+        if (status == Room.RoomStatus.STARTED && startTime > 0) {
+            this.phaseEndsAt = startTime + durationSeconds * 1000;
+        }
+    }
+
+    public String getRoomId() {
+        return roomId;
+    }
+
+    public String getTopicId() {
+        return topicId;
+    }
+
+    public String getTopicTitle() {
+        return topicTitle;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public synchronized Room.RoomStatus getStatus() {
+        return status;
+    }
+
+    public synchronized DiscussionStatusDto toStatusDto() {
+        long now = System.currentTimeMillis();
+        return new DiscussionStatusDto(
+                roomId,
+                DiscussionStatusDto.StatusType.valueOf(status.name()),
+                message,
+                topicTitle,
+                startTime,
+                durationSeconds,
+                phaseEndsAt,
+                remainingMillisAt(now),
+                now
+        );
+    }
+
+    public synchronized RoomSummaryDto toSummaryDto() {
+        return new RoomSummaryDto(
+                roomId,
+                DiscussionStatusDto.StatusType.valueOf(status.name()),
+                topicTitle,
+                participants.size(),
+                createdAt
+        );
+    }
+
+    /**
+     * 상태를 변경합니다. 시작/종료 시간 규칙은 기존 updateDiscussionStatus와 같고,
+     * 서버 타이머를 위해 STARTED/VOTING 단계의 종료 시각을 함께 계산합니다.
+     * @param votingMillis VOTING 단계 길이
+     */
+    public synchronized DiscussionStatusDto applyStatus(Room.RoomStatus newStatus, String newMessage, long now,
+                                                        long votingMillis) {
+        Room.RoomStatus previous = status;
+        // 진행 중이던 토론 시간을 멈춤 (PAUSED, VOTING, ENDED로 넘어갈 때)
+        if (previous == Room.RoomStatus.STARTED && newStatus != Room.RoomStatus.STARTED) {
+            remainingMillis = Math.max(0, phaseEndsAt - now);
+            phaseEndsAt = 0;
+        }
+        status = newStatus;
+        message = newMessage;
+        switch (newStatus) {
+            case STARTED -> {
+                if (startTime == 0) {
+                    startTime = now;
+                }
+                if (previous != Room.RoomStatus.STARTED) {
+                    if (remainingMillis <= 0) {
+                        remainingMillis = durationSeconds * 1000; // 끝난 토론을 다시 시작하면 새 라운드
+                    }
+                    phaseEndsAt = now + remainingMillis;
+                }
+            }
+            case VOTING -> phaseEndsAt = previous == Room.RoomStatus.VOTING && phaseEndsAt > 0 ? phaseEndsAt : now + votingMillis;
+            case ENDED -> {
+                durationSeconds = (now - startTime) / 1000;
+                phaseEndsAt = 0;
+                remainingMillis = 0;
+            }
+            case WAITING -> {
+                phaseEndsAt = 0;
+                remainingMillis = durationSeconds * 1000;
+            }
+            case PAUSED -> phaseEndsAt = 0;
+        }
+        roomDirty = true;
+        statusChangedAt = now;
+        lastActivityAt = now;
+        return toStatusDto();
+    }
+
+    /**
+     * 다른 노드에서 복제된 상태 변경을 반영합니다. (DB 반영은 변경을 처리한 노드가 담당하므로 dirty 표시 없음)
+     * 이미 더 나중의 변경을 알고 있으면 (재연결 스냅샷이 늦게 도착한 경우) 무시합니다.
+     * @return 반영했으면 true
+     */
+    public synchronized boolean applyReplicatedStatus(Room.RoomStatus newStatus, String newMessage,
+                                                      long newStartTime, long newDurationSeconds,
+                                                      long newPhaseEndsAt, long newRemainingMillis,
+                                                      long changedAt) {
+        if (changedAt < statusChangedAt) {
+            return false;
+        }
+        statusChangedAt = changedAt;
+        status = newStatus;
+        message = newMessage;
+        startTime = newStartTime;
+        durationSeconds = newDurationSeconds;
+        phaseEndsAt = newPhaseEndsAt;
+        remainingMillis = newRemainingMillis;
+        touch();
+        return true;
+    }
+
+    public synchronized long getStatusChangedAt() {
+        return statusChangedAt;
+    }
+
+    /**
+     * 활동 시각을 갱신합니다.
+     */
+    public void touch() {
+        lastActivityAt = System.currentTimeMillis();
+    }
+
+    public long getLastActivityAt() {
+        return lastActivityAt;
+    }
+
+    /**
+     * 현재 단계의 종료 시각 (진행 중이 아니면 0)
+     */
+    public synchronized long getPhaseEndsAt() {
+        return phaseEndsAt;
+    }
+
+    /**
+     * 진행 중인 단계인데 종료 시각을 모르면 (재시작 직후의 VOTING 등) 주어진 시각으로 설정합니다.
+     * @return 설정 후의 종료 시각
+     */
+    public synchronized long ensurePhaseDeadline(long fallbackEndsAt) {
+        if (phaseEndsAt == 0 && (status == Room.RoomStatus.STARTED || status == Room.RoomStatus.VOTING)) {
+            phaseEndsAt = fallbackEndsAt;
+        }
+        return phaseEndsAt;
+    }
+
+    // 진행 중이면 종료 시각까지, 멈춰 있으면 저장된 남은 토론 시간
+    private long remainingMillisAt(long now) {
+        if (phaseEndsAt > 0) {
+            return Math.max(0, phaseEndsAt - now);
+        }
+        return status == Room.RoomStatus.ENDED ? 0 : remainingMillis;
+    }
+
+    public synchronized List<ParticipantDto> participantList() {
+        List<ParticipantDto> result = new ArrayList<>(participants.size());
+        for (ParticipantDto p : participants.values()) {
+            result.add(copyOf(p));
+        }
+        return result;
+    }
+
+    public synchronized ParticipantDto getParticipant(String participantId) {
+        ParticipantDto p = participants.get(participantId);
+        return p != null ? copyOf(p) : null;
+    }
+
+    /**
+     * 현재 참가자 전체 목록과 그 시점의 버전을 함께 반환합니다.
+     */
+    public synchronized RosterEventDto rosterSnapshot() {
+        return RosterEventDto.snapshot(roomId, rosterVersion, participantList());
+    }
+
+    public synchronized int participantCount() {
+        return participants.size();
+    }
+
+    public synchronized boolean isParticipantUnpersisted(String participantId) {
+        return unpersistedParticipantIds.contains(participantId);
+    }
+
+    /**
+     * 참가자를 추가하거나 갱신합니다.
+     * @param persisted DB에 이미 행이 있는 참가자인지 여부 (시작 시 로딩 등)
+     * @return JOINED/UPDATED 이벤트, 내용이 그대로면 null
+     */
+    public synchronized RosterEventDto upsertParticipant(ParticipantDto participant, boolean persisted) {
+        ParticipantDto previous = participants.get(participant.getId());
+        if (participant.equals(previous)) {
+            return null;
+        }
+        boolean isNew = previous == null;
+        ParticipantDto copy = copyOf(participant);
+        participants.put(participant.getId(), copy);
+        removedParticipantIds.remove(participant.getId());
+        if (!persisted) {
+            dirtyParticipantIds.add(participant.getId());
+            if (isNew) {
+                unpersistedParticipantIds.add(participant.getId());
+            }
+        }
+        rosterVersion++;
+        touch();
+        return isNew
+                ? RosterEventDto.joined(roomId, rosterVersion, copyOf(copy))
+                : RosterEventDto.updated(roomId, rosterVersion, copyOf(copy));
+    }
+
+    /**
+     * 참가자를 제거하고 DB 삭제 대상으로 표시합니다.
+     * @return LEFT 이벤트, 참가자가 없었으면 null
+     */
+    public synchronized RosterEventDto removeParticipant(String participantId) {
+        if (participants.remove(participantId) == null) {
+            return null;
+        }
+        dirtyParticipantIds.remove(participantId);
+        // DB에 한 번도 저장되지 않았다면 삭제할 행도 없음
+        if (!unpersistedParticipantIds.remove(participantId)) {
+            removedParticipantIds.add(participantId);
+        }
+        rosterVersion++;
+        touch();
+        return RosterEventDto.left(roomId, rosterVersion, participantId);
+    }
+
+    /**
+     * 다른 노드에서 처리된 입장/갱신을 반영합니다. (DB 반영은 변경을 처리한 노드가 담당)
+     * 목록 버전은 변경을 처리한 노드의 버전을 따르므로, 어느 노드에서 받은 SNAPSHOT 뒤에도 같은 번호의 변경분이 이어집니다.
+     * @param version 변경을 처리한 노드에서의 목록 버전
+     */
+    public synchronized void upsertReplicatedParticipant(ParticipantDto participant, long version) {
+        participants.put(participant.getId(), copyOf(participant));
+        removedParticipantIds.remove(participant.getId());
+        adoptRosterVersion(version);
+        touch();
+    }
+
+    /**
+     * 다른 노드에서 처리된 퇴장을 반영합니다. (DB 삭제는 변경을 처리한 노드가 담당)
+     * @param version 변경을 처리한 노드에서의 목록 버전
+     */
+    public synchronized boolean removeReplicatedParticipant(String participantId, long version) {
+        adoptRosterVersion(version);
+        if (participants.remove(participantId) == null) {
+            return false;
+        }
+        dirtyParticipantIds.remove(participantId);
+        unpersistedParticipantIds.remove(participantId);
+        touch();
+        return true;
+    }
+
+    /**
+     * 다른 노드의 목록 버전을 따릅니다. 늦게 도착한 이벤트나 스냅샷으로 버전이 되돌아가지는 않습니다.
+     */
+    public synchronized void adoptRosterVersion(long version) {
+        rosterVersion = Math.max(rosterVersion, version);
+    }
+
+    /**
+     * 참가자가 다른 방으로 이동한 경우 삭제 표시 없이 목록에서만 분리합니다.
+     * (Participant 행은 새 방의 flush에서 방 ID가 갱신됩니다)
+     */
+    public synchronized RosterEventDto detachParticipant(String participantId) {
+        if (participants.remove(participantId) == null) {
+            return null;
+        }
+        dirtyParticipantIds.remove(participantId);
+        unpersistedParticipantIds.remove(participantId);
+        rosterVersion++;
+        return RosterEventDto.left(roomId, rosterVersion, participantId);
+    }
+
+    public synchronized boolean isEmpty() {
+        return participants.isEmpty();
+    }
+
+    /**
+     * 현재까지의 변경 사항을 스냅샷으로 꺼내고 dirty 표시를 지웁니다.
+     */
+    public synchronized Changes drainChanges() {
+        List<ParticipantDto> upserts = new ArrayList<>(dirtyParticipantIds.size());
+        for (String id : dirtyParticipantIds) {
+            upserts.add(copyOf(participants.get(id)));
+        }
+        Changes changes = new Changes(
+                roomId,
+                roomDirty,
+                status,
+                message,
+                startTime,
+                durationSeconds,
+                upserts,
+                new ArrayList<>(removedParticipantIds)
+        );
+        roomDirty = false;
+        dirtyParticipantIds.clear();
+        removedParticipantIds.clear();
+        return changes;
+    }
+
+    /**
+     * flush 실패 시 꺼냈던 변경 사항을 다시 dirty로 되돌립니다. (그 사이의 더 새로운 변경은 유지)
+     */
+    public synchronized void restoreChanges(Changes changes) {
+        roomDirty |= changes.roomChanged();
+        for (ParticipantDto p : changes.participantUpserts()) {
+            if (participants.containsKey(p.getId())) {
+                dirtyParticipantIds.add(p.getId());
+            }
+        }
+        for (String id : changes.removedParticipantIds()) {
+            if (!participants.containsKey(id)) {
+                removedParticipantIds.add(id);
+            }
+        }
+    }
+
+    public synchronized void markPersisted(Changes changes) {
+        for (ParticipantDto p : changes.participantUpserts()) {
+            unpersistedParticipantIds.remove(p.getId());
+        }
+    }
+
+    private static ParticipantDto copyOf(ParticipantDto p) {
+        return new ParticipantDto(p.getId(), p.getName(), p.getSide(), p.getColor());
+    }
+
+    /**
+     * DB에 반영할 변경 사항 스냅샷
+     */
+    public record Changes(String roomId,
+                          boolean roomChanged,
+                          Room.RoomStatus status,
+                          String message,
+                          long startTime,
+                          long durationSeconds,
+                          List<ParticipantDto> participantUpserts,
+                          List<String> removedParticipantIds) {
+
+        public boolean isEmpty() {
+            return !roomChanged && participantUpserts.isEmpty() && removedParticipantIds.isEmpty();
+        }
+
+        /**
+         * 퇴장 참가자 삭제만 담은 변경 사항 (삭제는 별도 트랜잭션으로 처리되어 실패해도 다른 변경을 막지 않음)
+         */
+        public Changes removalsOnly() {
+            return new Changes(roomId, false, status, message, startTime, durationSeconds, List.of(),
+                    removedParticipantIds);
+        }
+
+        public Changes withoutRemovals() {
+            return new Changes(roomId, roomChanged, status, message, startTime, durationSeconds, participantUpserts,
+                    List.of());
+        }
+    }
+}
@@ -0,0 +1,638 @@
+package com.example.debate_backend.service.state;
+
+import com.example.debate_backend.dto.ParticipantDto;
+import com.example.debate_backend.dto.RoomCursor;
+import com.example.debate_backend.dto.RosterEventDto;
+import com.example.debate_backend.model.Participant;
+import com.example.debate_backend.model.Room;
+import com.example.debate_backend.repository.ArgumentRepository;
+import com.example.debate_backend.repository.ParticipantRepository;
+import com.example.debate_backend.repository.RoomRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 토론방 상태의 권위 있는(authoritative) 인메모리 저장소.
+ * 읽기와 검증은 메모리에서 바로 처리하고, 변경된 방은 주기적으로 묶어서 DB에 write-behind 방식으로 반영합니다.
+ * 크래시 시 유실 가능한 범위는 flush 주기(discussion.state.flush-interval-ms)로 제한되며, 종료 시에는 강제 flush 합니다.
+ */
+@Component
+public class RoomStateStore {
+
+    private static final Logger log = LoggerFactory.getLogger(RoomStateStore.class);
+
+    private final RoomRepository roomRepository;
+    private final ParticipantRepository participantRepository;
+    private final ArgumentRepository argumentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxRetryAttempts;
+    private final long retryBackoffMillis;
+
+    private final Map<String, RoomState> rooms = new ConcurrentHashMap<>();
+    // 참가자 ID -> 현재 속한 방 ID (참가자 ID는 전역 PK이므로 한 방에만 속함)
+    private final Map<String, String> participantRooms = new ConcurrentHashMap<>();
+    // 로비 목록용 생성 시각/상태 인덱스
+    private final RoomDirectory directory = new RoomDirectory();
+    private final Set<String> dirtyRoomIds = ConcurrentHashMap.newKeySet();
+    private final Queue<String> deletedRoomIds = new ConcurrentLinkedQueue<>();
+    // 최근에 (이 노드에서 또는 복제로) 제거된 방 ID -> 제거 시각. 클러스터 스냅샷이 닫힌 방을 되살리지 않도록 사용
+    private final Map<String, Long> closedRooms = new ConcurrentHashMap<>();
+    // flush에 실패한 방의 연속 실패 횟수와 다음 재시도 가능 시각
+    private final Map<String, Retry> retries = new ConcurrentHashMap<>();
+    // 방 삭제 연속 실패 횟수와 다음 재시도 가능 시각 (실패가 없으면 null, flushLock으로 보호)
+    private Retry deleteRetry;
+    // 스케줄 flush와 주장 저장 전 동기 flush가 겹치지 않도록 직렬화
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public RoomStateStore(RoomRepository roomRepository,
+                          ParticipantRepository participantRepository,
+                          ArgumentRepository argumentRepository,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${discussion.state.flush-batch-size:100}") int batchSize,
+                          @Value("${discussion.state.retry.max-attempts:5}") int maxRetryAttempts,
+                          @Value("${discussion.state.retry.backoff-ms:1000}") long retryBackoffMillis) {
+        this.roomRepository = roomRepository;
+        this.participantRepository = participantRepository;
+        this.argumentRepository = argumentRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // 호출자(예: 주장 저장 트랜잭션)와 독립적으로 커밋되도록 항상 새 트랜잭션 사용
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.batchSize = batchSize;
+        this.maxRetryAttempts = maxRetryAttempts;
+        this.retryBackoffMillis = retryBackoffMillis;
+    }
+
+    private record Retry(int attempts, long notBefore) {
+    }
+
+    /**
+     * 시작 시 DB에 저장된 방과 참가자를 메모리로 적재합니다.
+     */
+    @PostConstruct
+    public void load() {
+        transactionTemplate.executeWithoutResult(tx -> {
+            // 엔티티 대신 projection으로 읽어 영속성 컨텍스트에 방/참가자 전체가 쌓이지 않도록 함
+            for (RoomRepository.RoomSnapshot room : roomRepository.findAllSnapshots()) {
+                add(new RoomState(room.getId(), room.getTopicId(), room.getTopicTitle(), room.getStatus(),
+                        room.getMessage(), room.getStartTime(), room.getDurationSeconds(), room.getCreatedAt()));
+            }
+            for (ParticipantRepository.ParticipantSnapshot p : participantRepository.findAllSnapshots()) {
+                String roomId = p.getRoomId();
+                RoomState state = rooms.get(roomId);
+                if (state != null) {
+                    state.upsertParticipant(new ParticipantDto(p.getId(), p.getName(), p.getSide(), p.getColor()), true);
+                    participantRooms.put(p.getId(), roomId);
+                }
+            }
+        });
+        log.info("Loaded {} rooms into memory", rooms.size());
+    }
+
+    /**
+     * 이미 DB에 저장된 방을 등록합니다.
+     * topic은 지연 로딩 프록시일 수 있으므로 제목은 호출자가 넘겨줍니다. (프록시의 getId()는 조회를 일으키지 않음)
+     */
+    public RoomState register(Room room, String topicTitle) {
+        return add(new RoomState(
+                room.getId(),
+                room.getTopic().getId(),
+                topicTitle,
+                room.getStatus(),
+                room.getMessage(),
+                room.getStartTime(),
+                room.getDurationSeconds(),
+                room.getCreatedAt()
+        ));
+    }
+
+    private RoomState add(RoomState state) {
+        rooms.put(state.getRoomId(), state);
+        directory.add(state);
+        return state;
+    }
+
+    /**
+     * 다른 노드에서 생성된 방을 등록합니다. (이미 DB에 저장되어 있으므로 dirty 표시 없음)
+     */
+    public RoomState registerReplica(String roomId, String topicId, String topicTitle, Room.RoomStatus status,
+                                     String message, long startTime, long durationSeconds, long createdAt) {
+        return rooms.computeIfAbsent(roomId, id -> {
+            RoomState state = new RoomState(id, topicId, topicTitle, status, message, startTime, durationSeconds,
+                    createdAt);
+            directory.add(state);
+            return state;
+        });
+    }
+
+    /**
+     * 다른 노드에서 입장/갱신된 참가자를 반영합니다. DB 반영은 해당 노드의 flush가 담당합니다.
+     * @param rosterVersion 변경을 처리한 노드에서의 목록 버전 (RoomState.upsertReplicatedParticipant 참고)
+     */
+    public void applyReplicatedParticipant(String roomId, ParticipantDto participant, long rosterVersion) {
+        RoomState state = rooms.get(roomId);
+        if (state == null) {
+            return;
+        }
+        String previousRoomId = participantRooms.put(participant.getId(), roomId);
+        if (previousRoomId != null && !previousRoomId.equals(roomId)) {
+            RoomState previous = rooms.get(previousRoomId);
+            if (previous != null) {
+                previous.detachParticipant(participant.getId());
+            }
+        }
+        state.upsertReplicatedParticipant(participant, rosterVersion);
+    }
+
+    public void applyReplicatedRemoval(String roomId, String participantId, long rosterVersion) {
+        RoomState state = rooms.get(roomId);
+        if (state != null && state.removeReplicatedParticipant(participantId, rosterVersion)) {
+            participantRooms.remove(participantId, roomId);
+        }
+    }
+
+    /**
+     * 다른 노드에서 제거된 방을 메모리에서만 제거합니다. (DB 삭제는 해당 노드가 담당)
+     */
+    public void dropReplica(String roomId) {
+        RoomState state = rooms.remove(roomId);
+        if (state == null) {
+            return;
+        }
+        directory.remove(roomId);
+        dirtyRoomIds.remove(roomId);
+        retries.remove(roomId);
+        for (ParticipantDto p : state.participantList()) {
+            participantRooms.remove(p.getId(), roomId);
+        }
+        closedRooms.put(roomId, System.currentTimeMillis());
+    }
+
+    public Optional<RoomState> find(String roomId) {
+        return Optional.ofNullable(rooms.get(roomId));
+    }
+
+    public RoomState require(String roomId) {
+        RoomState state = rooms.get(roomId);
+        if (state == null) {
+            throw new IllegalArgumentException("Room not found: " + roomId);
+        }
+        return state;
+    }
+
+    public Set<String> roomIds() {
+        return rooms.keySet();
+    }
+
+    public Collection<RoomState> allRooms() {
+        return rooms.values();
+    }
+
+    /**
+     * 방 상태가 바뀐 뒤 호출해 로비 목록의 상태별 인덱스를 갱신합니다.
+     */
+    public void reindexStatus(RoomState state) {
+        directory.update(state);
+    }
+
+    /**
+     * 생성 시각 내림차순 방 목록 한 페이지 (DB 조회 없음)
+     * @param status null이면 전체
+     * @param after 이전 페이지 마지막 방의 커서 (null이면 처음부터)
+     */
+    public List<RoomState> listRooms(Room.RoomStatus status, RoomCursor after, int limit) {
+        RoomDirectory.Key afterKey = after != null ? new RoomDirectory.Key(after.createdAt(), after.roomId()) : null;
+        return directory.list(status, afterKey, limit);
+    }
+
+    public int roomCount(Room.RoomStatus status) {
+        return directory.count(status);
+    }
+
+    public void markDirty(String roomId) {
+        dirtyRoomIds.add(roomId);
+    }
+
+    /**
+     * 참가자를 추가/갱신합니다.
+     * @return 브로드캐스트할 참가자 목록 변경 이벤트 (다른 방에서 옮겨온 경우 이전 방의 LEFT 포함)
+     */
+    public List<RosterEventDto> upsertParticipant(String roomId, ParticipantDto participant) {
+        RoomState state = require(roomId);
+        List<RosterEventDto> events = new ArrayList<>(2);
+        String previousRoomId = participantRooms.put(participant.getId(), roomId);
+        if (previousRoomId != null && !previousRoomId.equals(roomId)) {
+            RoomState previous = rooms.get(previousRoomId);
+            if (previous != null) {
+                RosterEventDto left = previous.detachParticipant(participant.getId());
+                if (left != null) {
+                    events.add(left);
+                }
+            }
+        }
+        RosterEventDto event = state.upsertParticipant(participant, false);
+        if (event != null) {
+            events.add(event);
+            markDirty(roomId);
+        }
+        return events;
+    }
+
+    /**
+     * @return LEFT 이벤트, 방이나 참가자가 없으면 null
+     */
+    public RosterEventDto removeParticipant(String roomId, String participantId) {
+        RoomState state = rooms.get(roomId);
+        RosterEventDto event = state != null ? state.removeParticipant(participantId) : null;
+        if (event == null) {
+            return null;
+        }
+        participantRooms.remove(participantId, roomId);
+        markDirty(roomId);
+        return event;
+    }
+
+    /**
+     * 방을 메모리에서 제거하고 DB 삭제를 예약합니다.
+     * @return 제거된 방 상태 (남아 있던 참가자 확인용), 없었으면 null
+     */
+    public RoomState removeRoom(String roomId) {
+        RoomState state = rooms.remove(roomId);
+        if (state == null) {
+            return null;
+        }
+        directory.remove(roomId);
+        dirtyRoomIds.remove(roomId);
+        retries.remove(roomId);
+        for (ParticipantDto p : state.participantList()) {
+            participantRooms.remove(p.getId(), roomId);
+        }
+        deletedRoomIds.add(roomId);
+        closedRooms.put(roomId, System.currentTimeMillis());
+        return state;
+    }
+
+    /**
+     * since(epoch milli) 이후에 제거된 방인지 여부
+     */
+    public boolean isClosedSince(String roomId, long since) {
+        Long closedAt = closedRooms.get(roomId);
+        return closedAt != null && closedAt >= since;
+    }
+
+    /**
+     * before(epoch milli) 이전에 제거된 방의 기록을 지웁니다.
+     */
+    public void pruneClosedRooms(long before) {
+        closedRooms.values().removeIf(closedAt -> closedAt < before);
+    }
+
+    /**
+     * 주장 저장 전 FK 대상인 참가자 행이 DB에 존재하도록 보장합니다.
+     * 아직 flush되지 않은 새 참가자인 경우에만 해당 방을 동기적으로 flush 합니다.
+     * @throws IllegalStateException flush에 실패해 참가자 행이 아직 없는 경우 (변경 사항은 재시도를 위해 되돌림)
+     */
+    public void ensureParticipantPersisted(String roomId, String participantId) {
+        RoomState state = rooms.get(roomId);
+        if (state == null || !state.isParticipantUnpersisted(participantId)) {
+            return;
+        }
+        flushLock.lock();
+        try {
+            if (!state.isParticipantUnpersisted(participantId)) {
+                return; // 대기하는 동안 스케줄 flush가 처리함
+            }
+            dirtyRoomIds.remove(roomId);
+            RoomState.Changes changes = state.drainChanges();
+            if (!changes.isEmpty()) {
+                writeBatch(List.of(changes));
+            }
+            if (state.isParticipantUnpersisted(participantId)) {
+                throw new IllegalStateException("Participant " + participantId + " could not be persisted");
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * dirty 상태인 방들을 batch 단위로 DB에 반영합니다.
+     */
+    @Scheduled(fixedDelayString = "${discussion.state.flush-interval-ms:1000}")
+    public void flush() {
+        flush(false);
+    }
+
+    // ignoreBackoff: 종료 시에는 재시도 대기 중인 방도 마지막으로 한 번 더 시도
+    private void flush(boolean ignoreBackoff) {
+        flushLock.lock();
+        try {
+            long now = System.currentTimeMillis();
+            List<String> deferred = new ArrayList<>();
+            List<RoomState.Changes> batch = new ArrayList<>();
+            Iterator<String> it = dirtyRoomIds.iterator();
+            while (it.hasNext()) {
+                String roomId = it.next();
+                it.remove();
+                Retry retry = retries.get(roomId);
+                if (!ignoreBackoff && retry != null && retry.notBefore() > now) {
+                    deferred.add(roomId);
+                    continue;
+                }
+                RoomState state = rooms.get(roomId);
+                if (state == null) {
+                    continue;
+                }
+                RoomState.Changes changes = state.drainChanges();
+                if (changes.isEmpty()) {
+                    continue;
+                }
+                batch.add(changes);
+                if (batch.size() >= batchSize) {
+                    writeBatch(batch);
+                    batch = new ArrayList<>();
+                }
+            }
+            if (!batch.isEmpty()) {
+                writeBatch(batch);
+            }
+            dirtyRoomIds.addAll(deferred);
+            flushDeletedRooms(ignoreBackoff);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush(true);
+        log.info("Room state flushed on shutdown");
+    }
+
+    public int dirtyRoomCount() {
+        return dirtyRoomIds.size();
+    }
+
+    // 방/참가자 갱신과 퇴장 참가자 삭제는 서로 다른 트랜잭션으로 반영하여, 한쪽이 실패해도 다른 쪽은 저장되도록 함
+    private void writeBatch(List<RoomState.Changes> batch) {
+        List<RoomState.Changes> updates = new ArrayList<>(batch.size());
+        List<RoomState.Changes> removals = new ArrayList<>();
+        for (RoomState.Changes changes : batch) {
+            RoomState.Changes update = changes.withoutRemovals();
+            if (!update.isEmpty()) {
+                updates.add(update);
+            }
+            if (!changes.removedParticipantIds().isEmpty()) {
+                removals.add(changes.removalsOnly());
+            }
+        }
+        if (!updates.isEmpty()) {
+            writeUpdates(updates);
+        }
+        if (!removals.isEmpty()) {
+            writeRemovals(removals);
+        }
+    }
+
+    private void writeUpdates(List<RoomState.Changes> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(tx -> writeChanges(batch));
+            batch.forEach(this::markPersisted);
+        } catch (Exception e) {
+            log.warn("Batch flush of {} rooms failed, retrying one by one: {}", batch.size(), e.getMessage());
+            for (RoomState.Changes changes : batch) {
+                try {
+                    transactionTemplate.executeWithoutResult(tx -> writeChanges(List.of(changes)));
+                    markPersisted(changes);
+                } catch (Exception single) {
+                    onFlushFailed(changes, single);
+                }
+            }
+        }
+    }
+
+    private void writeRemovals(List<RoomState.Changes> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(tx -> removeParticipants(batch));
+        } catch (Exception e) {
+            log.warn("Removing participants of {} rooms failed, retrying one by one: {}", batch.size(), e.getMessage());
+            for (RoomState.Changes changes : batch) {
+                try {
+                    transactionTemplate.executeWithoutResult(tx -> removeParticipants(List.of(changes)));
+                } catch (Exception single) {
+                    onFlushFailed(changes, single);
+                }
+            }
+        }
+    }
+
+    private void markPersisted(RoomState.Changes changes) {
+        retries.remove(changes.roomId());
+        RoomState state = rooms.get(changes.roomId());
+        if (state != null) {
+            state.markPersisted(changes);
+        }
+    }
+
+    /**
+     * 꺼냈던 변경 사항을 방 상태로 되돌리고 지수 backoff 후 다시 시도하도록 예약합니다.
+     * 연속 실패가 max-attempts에 도달하면 자동 재시도를 멈추지만 변경 사항은 유지되어, 방의 다음 변경 때 함께 다시 시도됩니다.
+     */
+    private void onFlushFailed(RoomState.Changes changes, Exception e) {
+        String roomId = changes.roomId();
+        RoomState state = rooms.get(roomId);
+        if (state == null) {
+            return; // 그 사이 방이 제거됨 (행은 방 삭제로 정리)
+        }
+        state.restoreChanges(changes);
+        Retry previous = retries.get(roomId);
+        int attempts = previous != null ? previous.attempts() + 1 : 1;
+        long backoff = retryBackoffMillis << Math.min(attempts - 1, 10);
+        retries.put(roomId, new Retry(attempts, System.currentTimeMillis() + backoff));
+        if (attempts < maxRetryAttempts) {
+            log.warn("Failed to flush room {} (attempt {}), retrying in {} ms: {}", roomId, attempts, backoff,
+                    e.getMessage());
+            dirtyRoomIds.add(roomId);
+        } else {
+            log.error("Failed to flush room {} after {} attempts, waiting for its next change", roomId, attempts, e);
+        }
+    }
+
+    private void writeChanges(List<RoomState.Changes> batch) {
+        // 1. 방 필드 갱신 (한 번의 조회 후 dirty checking으로 UPDATE)
+        List<String> changedRoomIds = new ArrayList<>();
+        for (RoomState.Changes changes : batch) {
+            if (changes.roomChanged()) {
+                changedRoomIds.add(changes.roomId());
+            }
+        }
+        if (!changedRoomIds.isEmpty()) {
+            Map<String, RoomState.Changes> changesById = new HashMap<>();
+            batch.forEach(c -> changesById.put(c.roomId(), c));
+            for (Room room : roomRepository.findAllById(changedRoomIds)) {
+                RoomState.Changes changes = changesById.get(room.getId());
+                room.setStatus(changes.status());
+                room.setMessage(changes.message());
+                room.setStartTime(changes.startTime());
+                room.setDurationSeconds(changes.durationSeconds());
+            }
+        }
+
+        // 2. 참가자 upsert
+        List<String> upsertIds = new ArrayList<>();
+        for (RoomState.Changes changes : batch) {
+            changes.participantUpserts().forEach(p -> upsertIds.add(p.getId()));
+        }
+        if (!upsertIds.isEmpty()) {
+            Map<String, Participant> existing = new HashMap<>();
+            participantRepository.findAllById(upsertIds).forEach(p -> existing.put(p.getId(), p));
+            List<Participant> toSave = new ArrayList<>(upsertIds.size());
+            for (RoomState.Changes changes : batch) {
+                if (changes.participantUpserts().isEmpty()) {
+                    continue;
+                }
+                Room roomRef = roomRepository.getReferenceById(changes.roomId());
+                for (ParticipantDto dto : changes.participantUpserts()) {
+                    Participant participant = existing.get(dto.getId());
+                    if (participant == null) {
+                        participant = new Participant(dto.getId(), roomRef, dto.getName(), dto.getSide(), dto.getColor());
+                    } else {
+                        participant.setLeftAt(null); // 퇴장 후 다시 입장
+                        participant.setRoom(roomRef);
+                        participant.setName(dto.getName());
+                        participant.setSide(dto.getSide());
+                        participant.setColor(dto.getColor());
+                    }
+                    toSave.add(participant);
+                }
+            }
+            participantRepository.saveAll(toSave);
+        }
+    }
+
+    /**
+     * 퇴장한 참가자 행을 정리합니다.
+     * 주장을 남긴 참가자는 주장의 FK 때문에 지울 수 없으므로 퇴장 표시만 하고, 행은 방 삭제 시 주장과 함께 삭제됩니다.
+     * flush 전에 다른 방(또는 같은 방)에 다시 입장한 참가자는 새 방의 upsert가 행을 갱신하므로 건드리지 않습니다.
+     */
+    private void removeParticipants(List<RoomState.Changes> batch) {
+        List<String> removedIds = new ArrayList<>();
+        for (RoomState.Changes changes : batch) {
+            for (String id : changes.removedParticipantIds()) {
+                if (!participantRooms.containsKey(id)) {
+                    removedIds.add(id);
+                }
+            }
+        }
+        if (removedIds.isEmpty()) {
+            return;
+        }
+        int deleted = participantRepository.deleteWithoutArguments(removedIds);
+        if (deleted < removedIds.size()) {
+            participantRepository.markLeft(removedIds, System.currentTimeMillis());
+        }
+    }
+
+    private void flushDeletedRooms(boolean ignoreBackoff) {
+        if (!ignoreBackoff && deleteRetry != null && deleteRetry.notBefore() > System.currentTimeMillis()) {
+            return;
+        }
+        List<String> failed = new ArrayList<>();
+        Exception lastError = null;
+        List<String> ids = new ArrayList<>();
+        String roomId;
+        while ((roomId = deletedRoomIds.poll()) != null) {
+            ids.add(roomId);
+            if (ids.size() >= batchSize) {
+                lastError = deleteRooms(ids, failed, lastError);
+                ids = new ArrayList<>();
+            }
+        }
+        if (!ids.isEmpty()) {
+            lastError = deleteRooms(ids, failed, lastError);
+        }
+        if (failed.isEmpty()) {
+            deleteRetry = null;
+        } else {
+            onDeleteFailed(failed, lastError);
+        }
+    }
+
+    /**
+     * 방들을 삭제합니다. batch가 실패하면 한 방씩 다시 시도하여, 실패한 방 ID를 failed에 모읍니다.
+     * @return 마지막으로 발생한 예외 (없으면 lastError 그대로)
+     */
+    private Exception deleteRooms(List<String> ids, List<String> failed, Exception lastError) {
+        try {
+            deleteRoomsInTransaction(ids);
+            return lastError;
+        } catch (Exception e) {
+            if (ids.size() == 1) {
+                failed.addAll(ids);
+                return e;
+            }
+            log.warn("Batch delete of {} rooms failed, retrying one by one: {}", ids.size(), e.getMessage());
+            Exception last = e;
+            for (String id : ids) {
+                try {
+                    deleteRoomsInTransaction(List.of(id));
+                } catch (Exception single) {
+                    failed.add(id);
+                    last = single;
+                }
+            }
+            return last;
+        }
+    }
+
+    private void deleteRoomsInTransaction(List<String> ids) {
+        // 엔티티를 로딩해 cascade 하지 않고 bulk DELETE 3번으로 처리 (주장이 많은 방도 트랜잭션이 짧게 유지됨)
+        transactionTemplate.executeWithoutResult(tx -> {
+            argumentRepository.deleteByRoomIds(ids);
+            participantRepository.deleteByRoomIds(ids);
+            roomRepository.deleteAllByIdInBatch(ids);
+        });
+    }
+
+    /**
+     * 삭제에 실패한 방을 다시 삭제 대기열에 넣고 지수 backoff 후 재시도합니다.
+     * 메모리에서는 이미 제거되어 다른 경로로는 행이 정리되지 않으므로, max-attempts 이후에도 최대 간격으로 계속 시도합니다.
+     */
+    private void onDeleteFailed(List<String> failed, Exception e) {
+        int attempts = deleteRetry != null ? deleteRetry.attempts() + 1 : 1;
+        long backoff = retryBackoffMillis << Math.min(attempts - 1, 10);
+        deleteRetry = new Retry(attempts, System.currentTimeMillis() + backoff);
+        deletedRoomIds.addAll(failed);
+        if (attempts < maxRetryAttempts) {
+            log.warn("Failed to delete rooms {} (attempt {}), retrying in {} ms: {}", failed, attempts, backoff,
+                    e.getMessage());
+        } else {
+            log.error("Failed to delete rooms {} after {} attempts, retrying in {} ms", failed, attempts, backoff, e);
+        }
+    }
+
+    public int pendingDeleteCount() {
+        return deletedRoomIds.size();
+    }
+}
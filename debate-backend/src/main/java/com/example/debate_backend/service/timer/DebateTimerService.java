@@ -0,0 +1,174 @@
+package com.example.debate_backend.service.timer;
+
+import com.example.debate_backend.dto.DiscussionStatusDto;
+import com.example.debate_backend.dto.TimerSyncDto;
+import com.example.debate_backend.handler.DispatchKeys;
+import com.example.debate_backend.handler.ShardedMessageExecutor;
+import com.example.debate_backend.model.Room;
+import com.example.debate_backend.service.state.RoomState;
+import com.example.debate_backend.service.state.RoomStateStore;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 방별 단계(STARTED → VOTING → ENDED) 마감을 서버에서 관리합니다.
+ * 마감은 HashedTimingWheel에 등록되고, 만료되면 해당 방의 dispatch lane에서 전환을 처리한 뒤 새 상태를 브로드캐스트합니다.
+ * 클라이언트는 상태의 phaseEndsAt으로 직접 카운트다운하고, 시계 보정용 동기화 프레임만 주기적으로 받습니다.
+ *
+ * <p>relay 모드에서는 상태를 변경한 노드만 마감을 예약합니다. 다른 노드의 예약이 남아 있어도
+ * 전환 시 현재 단계와 마감 시각을 다시 확인하므로 이미 지난 예약은 무시됩니다.
+ */
+@Component
+public class DebateTimerService {
+
+    private static final Logger log = LoggerFactory.getLogger(DebateTimerService.class);
+
+    /**
+     * 만료된 단계. phaseEndsAt은 예약 당시의 마감 시각으로, 그 사이 상태가 바뀌었는지 확인하는 데 사용합니다.
+     */
+    public record PhaseExpired(String roomId, DiscussionStatusDto.StatusType phase, long phaseEndsAt) {
+    }
+
+    private record Tracked(DiscussionStatusDto.StatusType phase, long phaseEndsAt, HashedTimingWheel.Timeout timeout) {
+    }
+
+    private final HashedTimingWheel wheel;
+    private final RoomStateStore roomStateStore;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ShardedMessageExecutor roomDispatchExecutor;
+    private final long votingMillis;
+
+    private final Map<String, Tracked> tracked = new ConcurrentHashMap<>();
+    // 만료된 단계를 다음 상태로 전환하고 그 상태를 돌려줌 (전환할 필요가 없으면 null)
+    private volatile Function<PhaseExpired, DiscussionStatusDto> expiryListener = expired -> null;
+
+    public DebateTimerService(RoomStateStore roomStateStore,
+                              SimpMessagingTemplate messagingTemplate,
+                              @Qualifier("roomDispatchExecutor") ShardedMessageExecutor roomDispatchExecutor,
+                              @Value("${discussion.timer.tick-ms:100}") long tickMillis,
+                              @Value("${discussion.timer.wheel-size:512}") int wheelSize,
+                              @Value("${discussion.timer.voting-seconds:60}") long votingSeconds) {
+        this.roomStateStore = roomStateStore;
+        this.messagingTemplate = messagingTemplate;
+        this.roomDispatchExecutor = roomDispatchExecutor;
+        this.votingMillis = votingSeconds * 1000;
+        this.wheel = new HashedTimingWheel("debate-timer", tickMillis, wheelSize);
+        this.wheel.start();
+    }
+
+    public void setExpiryListener(Function<PhaseExpired, DiscussionStatusDto> expiryListener) {
+        this.expiryListener = expiryListener;
+    }
+
+    /**
+     * VOTING 단계 길이
+     */
+    public long votingMillis() {
+        return votingMillis;
+    }
+
+    /**
+     * 상태에 맞춰 방의 마감을 다시 예약합니다. 진행 중인 단계(STARTED/VOTING)가 아니면 기존 예약만 취소합니다.
+     * 방의 dispatch lane에서 호출됩니다.
+     */
+    public void track(DiscussionStatusDto status) {
+        String roomId = status.getRoomId();
+        DiscussionStatusDto.StatusType phase = status.getType();
+        long phaseEndsAt = status.getPhaseEndsAt();
+        if ((phase != DiscussionStatusDto.StatusType.STARTED && phase != DiscussionStatusDto.StatusType.VOTING)
+                || phaseEndsAt <= 0) {
+            untrack(roomId);
+            return;
+        }
+        Tracked previous = tracked.get(roomId);
+        if (previous != null && previous.phase() == phase && previous.phaseEndsAt() == phaseEndsAt) {
+            return; // 같은 마감이 이미 예약됨
+        }
+        PhaseExpired expired = new PhaseExpired(roomId, phase, phaseEndsAt);
+        HashedTimingWheel.Timeout timeout = wheel.schedule(() -> onExpired(expired),
+                phaseEndsAt - System.currentTimeMillis());
+        previous = tracked.put(roomId, new Tracked(phase, phaseEndsAt, timeout));
+        if (previous != null) {
+            previous.timeout().cancel();
+        }
+    }
+
+    public void untrack(String roomId) {
+        Tracked previous = tracked.remove(roomId);
+        if (previous != null) {
+            previous.timeout().cancel();
+        }
+    }
+
+    /**
+     * 예약된 마감 수
+     */
+    public long pendingCount() {
+        return wheel.pendingCount();
+    }
+
+    // 타이밍 휠 워커 스레드에서 호출 → 전환은 방의 lane으로 넘겨 다른 메시지와 순서를 맞춤
+    private void onExpired(PhaseExpired expired) {
+        roomDispatchExecutor.execute(DispatchKeys.room(expired.roomId()), () -> {
+            tracked.computeIfPresent(expired.roomId(), (id, t) ->
+                    t.phaseEndsAt() == expired.phaseEndsAt() && t.phase() == expired.phase() ? null : t);
+            DiscussionStatusDto next = expiryListener.apply(expired);
+            if (next == null) {
+                return;
+            }
+            log.info("Room {} {} phase expired, now {}", expired.roomId(), expired.phase(), next.getType());
+            messagingTemplate.convertAndSend("/topic/room/" + expired.roomId() + "/status", next);
+            track(next);
+        });
+    }
+
+    /**
+     * 진행 중인 단계의 동기화 프레임을 전송합니다. 방당 sync-interval마다 한 번이므로 방 수에 비례하는 낮은 빈도입니다.
+     */
+    @Scheduled(fixedDelayString = "${discussion.timer.sync-interval-ms:15000}")
+    public void publishTimerSync() {
+        long now = System.currentTimeMillis();
+        tracked.forEach((roomId, t) -> messagingTemplate.convertAndSend("/topic/room/" + roomId + "/timer",
+                new TimerSyncDto(roomId, t.phase(), t.phaseEndsAt(), Math.max(0, t.phaseEndsAt() - now), now)));
+    }
+
+    /**
+     * 재시작 시 진행 중이던 방의 마감을 다시 예약합니다. 이미 지난 마감은 다음 tick에 바로 전환됩니다.
+     * (마감을 알 수 없는 VOTING 방은 지금부터 VOTING 단계 길이만큼 유예)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void restoreDeadlines() {
+        long fallbackEndsAt = System.currentTimeMillis() + votingMillis;
+        int restored = 0;
+        for (RoomState state : roomStateStore.allRooms()) {
+            Room.RoomStatus status = state.getStatus();
+            if (status != Room.RoomStatus.STARTED && status != Room.RoomStatus.VOTING) {
+                continue;
+            }
+            state.ensurePhaseDeadline(fallbackEndsAt);
+            DiscussionStatusDto current = state.toStatusDto();
+            roomDispatchExecutor.execute(DispatchKeys.room(state.getRoomId()), () -> track(current));
+            restored++;
+        }
+        if (restored > 0) {
+            log.info("Restored {} debate timers", restored);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        wheel.stop();
+    }
+}
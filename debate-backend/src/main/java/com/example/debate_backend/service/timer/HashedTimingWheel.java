@@ -0,0 +1,262 @@
+package com.example.debate_backend.service.timer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * 해시 타이밍 휠. 수십만 개의 방 마감 시각을 O(1) 등록/취소로 관리합니다.
+ * 시간을 tickMillis 단위 칸으로 나누고 wheelSize개 버킷에 (마감 칸 % wheelSize)로 배정하며,
+ * 한 바퀴 이상 뒤의 마감은 남은 바퀴 수(remainingRounds)로 구분합니다. 정밀도는 tickMillis 입니다.
+ *
+ * <p>버킷은 전용 워커 스레드 하나만 만지고, 다른 스레드의 등록/취소는 큐를 거쳐 다음 tick에 반영됩니다.
+ * 만료된 작업은 워커 스레드에서 바로 실행되므로 오래 걸리는 작업은 호출자가 다른 Executor로 넘겨야 합니다.
+ */
+public class HashedTimingWheel {
+
+    private static final Logger log = LoggerFactory.getLogger(HashedTimingWheel.class);
+
+    // 한 tick에 버킷으로 옮길 최대 등록 수 (대량 등록 시 tick이 밀리지 않도록)
+    private static final int MAX_TRANSFERS_PER_TICK = 100_000;
+
+    private final String name;
+    private final long tickMillis;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final LongSupplier clock; // 밀리초 단위 단조 시계
+    private final long startMillis;
+
+    private final Queue<Timeout> pendingAdds = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> pendingCancels = new ConcurrentLinkedQueue<>();
+    private final AtomicLong pendingCount = new AtomicLong();
+    private long tick; // 다음에 처리할 tick (워커 스레드 전용)
+
+    private final AtomicInteger workerState = new AtomicInteger(); // 0: 생성, 1: 실행, 2: 종료
+    private Thread worker;
+
+    public HashedTimingWheel(String name, long tickMillis, int wheelSize) {
+        this(name, tickMillis, wheelSize, () -> TimeUnit.NANOSECONDS.toMillis(System.nanoTime()));
+    }
+
+    HashedTimingWheel(String name, long tickMillis, int wheelSize, LongSupplier clock) {
+        if (tickMillis < 1 || wheelSize < 1) {
+            throw new IllegalArgumentException("tickMillis and wheelSize must be positive");
+        }
+        this.name = name;
+        this.tickMillis = tickMillis;
+        int size = Integer.highestOneBit(wheelSize - 1) << 1; // 2의 거듭제곱으로 올림
+        this.wheel = new Bucket[Math.max(size, 1)];
+        for (int i = 0; i < wheel.length; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = wheel.length - 1;
+        this.clock = clock;
+        this.startMillis = clock.getAsLong();
+    }
+
+    public void start() {
+        if (!workerState.compareAndSet(0, 1)) {
+            return;
+        }
+        worker = new Thread(this::runWorker, name);
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    public void stop() {
+        if (workerState.getAndSet(2) == 1) {
+            worker.interrupt();
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * delayMillis 뒤에 task를 실행하도록 등록합니다. (스레드 안전)
+     */
+    public Timeout schedule(Runnable task, long delayMillis) {
+        long deadline = clock.getAsLong() - startMillis + Math.max(0, delayMillis);
+        Timeout timeout = new Timeout(task, deadline);
+        pendingCount.incrementAndGet();
+        pendingAdds.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * 아직 실행/취소되지 않은 예약 수
+     */
+    public long pendingCount() {
+        return pendingCount.get();
+    }
+
+    public long tickMillis() {
+        return tickMillis;
+    }
+
+    private void runWorker() {
+        while (workerState.get() == 1) {
+            long sleepMillis = (tick + 1) * tickMillis - (clock.getAsLong() - startMillis);
+            if (sleepMillis > 0) {
+                try {
+                    Thread.sleep(sleepMillis);
+                } catch (InterruptedException e) {
+                    if (workerState.get() != 1) {
+                        return;
+                    }
+                    continue;
+                }
+            }
+            advanceTo(clock.getAsLong());
+        }
+    }
+
+    /**
+     * 주어진 시각(시계 기준 밀리초)까지 끝난 tick을 모두 처리합니다. 워커 스레드(또는 테스트)에서만 호출합니다.
+     */
+    void advanceTo(long nowMillis) {
+        long elapsed = nowMillis - startMillis;
+        // tick t는 [t, t+1) * tickMillis 구간의 마감을 담당하며, 구간이 끝난 뒤에 처리
+        while ((tick + 1) * tickMillis <= elapsed) {
+            transferPending();
+            removeCancelled();
+            expire(wheel[(int) (tick & mask)]);
+            tick++;
+        }
+    }
+
+    private void transferPending() {
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+            Timeout timeout = pendingAdds.poll();
+            if (timeout == null) {
+                return;
+            }
+            if (timeout.state.get() != Timeout.ST_INIT) {
+                continue; // 등록 전에 취소됨 (카운트는 cancel에서 이미 차감)
+            }
+            long deadlineTick = Math.max(timeout.deadline / tickMillis, tick); // 이미 지난 마감은 이번 tick에서 실행
+            timeout.remainingRounds = (deadlineTick - tick) / wheel.length;
+            wheel[(int) (deadlineTick & mask)].add(timeout);
+        }
+    }
+
+    private void removeCancelled() {
+        Timeout timeout;
+        while ((timeout = pendingCancels.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    private void expire(Bucket bucket) {
+        Timeout timeout = bucket.head;
+        while (timeout != null) {
+            Timeout next = timeout.next;
+            if (timeout.state.get() != Timeout.ST_INIT) {
+                bucket.remove(timeout);
+            } else if (timeout.remainingRounds <= 0) {
+                bucket.remove(timeout);
+                if (timeout.state.compareAndSet(Timeout.ST_INIT, Timeout.ST_EXPIRED)) {
+                    pendingCount.decrementAndGet();
+                    try {
+                        timeout.task.run();
+                    } catch (RuntimeException e) {
+                        log.warn("{} timer task failed", name, e);
+                    }
+                }
+            } else {
+                timeout.remainingRounds--;
+            }
+            timeout = next;
+        }
+    }
+
+    /**
+     * 등록된 예약. cancel()은 어느 스레드에서든 호출할 수 있습니다.
+     */
+    public final class Timeout {
+
+        private static final int ST_INIT = 0;
+        private static final int ST_CANCELLED = 1;
+        private static final int ST_EXPIRED = 2;
+
+        private final Runnable task;
+        private final long deadline; // 휠 시작 기준 밀리초
+        private final AtomicInteger state = new AtomicInteger(ST_INIT);
+        // 아래 필드는 워커 스레드 전용
+        private long remainingRounds;
+        private Bucket bucket;
+        private Timeout prev;
+        private Timeout next;
+
+        private Timeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * @return 이번 호출로 취소되었으면 true (이미 실행/취소된 경우 false)
+         */
+        public boolean cancel() {
+            if (!state.compareAndSet(ST_INIT, ST_CANCELLED)) {
+                return false;
+            }
+            pendingCount.decrementAndGet();
+            pendingCancels.add(this); // 버킷에서 빨리 빼서 메모리 회수
+            return true;
+        }
+
+        public boolean isCancelled() {
+            return state.get() == ST_CANCELLED;
+        }
+
+        public boolean isExpired() {
+            return state.get() == ST_EXPIRED;
+        }
+    }
+
+    // 이중 연결 리스트 버킷 (워커 스레드 전용)
+    private static final class Bucket {
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        void remove(Timeout timeout) {
+            if (timeout.bucket != this) {
+                return;
+            }
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            } else {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.debate_backend.service.topic;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.random.RandomGenerator;
+
+/**
+ * Walker/Vose alias method 테이블.
+ * 생성은 O(n), 샘플링은 난수 두 개로 O(1)입니다. 가중치가 0인 항목은 선택되지 않습니다.
+ */
+final class AliasTable {
+
+    private final double[] probability;
+    private final int[] alias;
+
+    /**
+     * @param weights 음수가 아닌 가중치 (합이 0보다 커야 함)
+     */
+    AliasTable(double[] weights) {
+        int n = weights.length;
+        double total = 0;
+        for (double w : weights) {
+            total += w;
+        }
+        if (n == 0 || !(total > 0)) {
+            throw new IllegalArgumentException("Alias table needs a positive total weight");
+        }
+        probability = new double[n];
+        alias = new int[n];
+
+        double[] scaled = new double[n];
+        Deque<Integer> small = new ArrayDeque<>();
+        Deque<Integer> large = new ArrayDeque<>();
+        for (int i = 0; i < n; i++) {
+            scaled[i] = weights[i] * n / total;
+            if (scaled[i] < 1.0) {
+                small.push(i);
+            } else {
+                large.push(i);
+            }
+        }
+        while (!small.isEmpty() && !large.isEmpty()) {
+            int s = small.pop();
+            int l = large.pop();
+            probability[s] = scaled[s];
+            alias[s] = l;
+            scaled[l] = (scaled[l] + scaled[s]) - 1.0;
+            if (scaled[l] < 1.0) {
+                small.push(l);
+            } else {
+                large.push(l);
+            }
+        }
+        // 부동소수점 오차로 남은 항목은 확률 1로 처리
+        while (!large.isEmpty()) {
+            probability[large.pop()] = 1.0;
+        }
+        while (!small.isEmpty()) {
+            probability[small.pop()] = 1.0;
+        }
+    }
+
+    int sample(RandomGenerator random) {
+        int column = random.nextInt(probability.length);
+        return random.nextDouble() < probability[column] ? column : alias[column];
+    }
+
+    int size() {
+        return probability.length;
+    }
+}
@@ -0,0 +1,249 @@
+package com.example.debate_backend.service.topic;
+
+import com.example.debate_backend.model.Topic;
+import com.example.debate_backend.repository.TopicRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 전체 주제의 (ID, 제목, 카테고리, 난이도) 인메모리 인덱스.
+ * 방 생성 시 DB를 조회하지 않고 O(1)로 균등/가중치 랜덤 샘플링을 합니다.
+ * 주제 저장 시 add()로 (트랜잭션 안이면 커밋 후에) 반영하고, 다른 경로로 바뀐 행은 주기적인 refresh()로 다시 맞춥니다.
+ */
+@Component
+public class TopicIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(TopicIndex.class);
+
+    public record IndexedTopic(String id, String title, String category, String difficulty) {
+    }
+
+    private final TopicRepository topicRepository;
+    private final TopicWeights defaultWeights;
+
+    // 읽기는 락 없이 volatile 스냅샷으로, 쓰기(add/refresh)는 새 스냅샷으로 교체
+    private volatile Snapshot snapshot = Snapshot.of(List.of());
+    // refresh()가 DB를 읽는 동안 추가된 주제 (읽는 중이 아니면 null, this로 보호)
+    private List<IndexedTopic> addedDuringRefresh;
+    // 동시에 두 refresh가 addedDuringRefresh를 덮어쓰지 않도록 직렬화
+    private final Object refreshLock = new Object();
+
+    public TopicIndex(TopicRepository topicRepository,
+                      @Value("${discussion.topic-index.category-weights:}") String categoryWeights,
+                      @Value("${discussion.topic-index.difficulty-weights:}") String difficultyWeights) {
+        this.topicRepository = topicRepository;
+        this.defaultWeights = TopicWeights.parse(categoryWeights, difficultyWeights);
+    }
+
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${discussion.topic-index.refresh-interval-ms:300000}",
+            initialDelayString = "${discussion.topic-index.refresh-interval-ms:300000}")
+    public void refresh() {
+        synchronized (refreshLock) {
+            synchronized (this) {
+                addedDuringRefresh = new ArrayList<>();
+            }
+            try {
+                List<IndexedTopic> topics = new ArrayList<>();
+                for (TopicRepository.TopicIndexEntry e : topicRepository.findAllIndexEntries()) {
+                    topics.add(new IndexedTopic(e.getId(), e.getTitle(), e.getCategory(), e.getDifficulty()));
+                }
+                synchronized (this) {
+                    // 읽기가 시작된 뒤 커밋된 주제는 결과에 없을 수 있으므로 함께 병합
+                    snapshot = Snapshot.of(topics).with(addedDuringRefresh);
+                }
+                log.debug("Topic index refreshed with {} topics", snapshot.topics.length);
+            } finally {
+                synchronized (this) {
+                    addedDuringRefresh = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * 새로 저장된 주제를 인덱스에 추가합니다. (저장 직후 호출, ID가 채워진 엔티티여야 함)
+     * 트랜잭션 안에서 호출되면 커밋된 뒤에 반영하므로, 롤백된 주제는 인덱스에 남지 않습니다.
+     */
+    public void add(Collection<Topic> saved) {
+        if (saved.isEmpty()) {
+            return;
+        }
+        List<IndexedTopic> indexed = new ArrayList<>(saved.size());
+        for (Topic t : saved) {
+            indexed.add(new IndexedTopic(t.getId(), t.getTitle(), t.getCategory(), t.getDifficulty()));
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    addIndexed(indexed);
+                }
+            });
+        } else {
+            addIndexed(indexed);
+        }
+    }
+
+    synchronized void addIndexed(Collection<IndexedTopic> added) {
+        snapshot = snapshot.with(added);
+        if (addedDuringRefresh != null) {
+            addedDuringRefresh.addAll(added);
+        }
+    }
+
+    synchronized void replace(Collection<IndexedTopic> topics) {
+        snapshot = Snapshot.of(topics);
+    }
+
+    /**
+     * 모든 주제 중 하나를 균등한 확률로 선택합니다.
+     */
+    public Optional<IndexedTopic> sample() {
+        IndexedTopic[] topics = snapshot.topics;
+        if (topics.length == 0) {
+            return Optional.empty();
+        }
+        return Optional.of(topics[ThreadLocalRandom.current().nextInt(topics.length)]);
+    }
+
+    /**
+     * 설정된 기본 가중치(discussion.topic-index.*-weights)로 선택합니다. 설정이 없으면 균등 선택입니다.
+     */
+    public Optional<IndexedTopic> sampleWeighted() {
+        return sample(defaultWeights);
+    }
+
+    /**
+     * 카테고리/난이도 가중치에 비례하여 주제를 선택합니다.
+     * (카테고리, 난이도) 그룹을 alias table로 고른 뒤 그룹 안에서 균등 선택하므로 O(1)입니다.
+     * 모든 주제의 가중치가 0이면 빈 Optional을 반환합니다.
+     */
+    public Optional<IndexedTopic> sample(TopicWeights weights) {
+        if (weights.isUniform()) {
+            return sample();
+        }
+        Snapshot current = snapshot;
+        AliasTable table = current.aliasTable(weights);
+        if (table == null) {
+            return Optional.empty();
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int group = table.sample(random);
+        int start = current.groupStart[group];
+        int end = current.groupStart[group + 1];
+        return Optional.of(current.topics[start + random.nextInt(end - start)]);
+    }
+
+    public int size() {
+        return snapshot.topics.length;
+    }
+
+    /**
+     * 불변 인덱스 스냅샷. 주제는 (카테고리, 난이도) 순으로 정렬되어 그룹별로 연속 구간을 가집니다.
+     */
+    private static final class Snapshot {
+
+        private static final Comparator<IndexedTopic> GROUP_ORDER = Comparator
+                .comparing((IndexedTopic t) -> TopicWeights.keyOf(t.category()))
+                .thenComparing(t -> TopicWeights.keyOf(t.difficulty()));
+
+        final IndexedTopic[] topics;
+        // 그룹 i는 topics[groupStart[i], groupStart[i + 1]) 구간
+        final int[] groupStart;
+        // 가중치 설정별 alias table 캐시 (스냅샷이 바뀌면 함께 버려짐, 전부 0이면 Optional.empty)
+        private final Map<TopicWeights, Optional<AliasTable>> aliasTables = new ConcurrentHashMap<>();
+
+        private Snapshot(IndexedTopic[] topics, int[] groupStart) {
+            this.topics = topics;
+            this.groupStart = groupStart;
+        }
+
+        static Snapshot of(Collection<IndexedTopic> source) {
+            IndexedTopic[] topics = source.toArray(new IndexedTopic[0]);
+            Arrays.sort(topics, GROUP_ORDER);
+            return sorted(topics);
+        }
+
+        /**
+         * 새 주제를 병합한 스냅샷 (같은 ID는 새 값으로 교체).
+         * 새 주제만 정렬한 뒤 이미 정렬된 기존 배열과 선형 병합하므로 전체를 다시 정렬하지 않습니다. (O(n + k log k))
+         */
+        Snapshot with(Collection<IndexedTopic> added) {
+            if (added.isEmpty()) {
+                return this;
+            }
+            Map<String, IndexedTopic> byId = new LinkedHashMap<>();
+            for (IndexedTopic t : added) {
+                byId.put(t.id(), t);
+            }
+            IndexedTopic[] incoming = byId.values().toArray(new IndexedTopic[0]);
+            Arrays.sort(incoming, GROUP_ORDER);
+            IndexedTopic[] merged = new IndexedTopic[topics.length + incoming.length];
+            int i = 0;
+            int j = 0;
+            int n = 0;
+            while (i < topics.length || j < incoming.length) {
+                if (i < topics.length && byId.containsKey(topics[i].id())) {
+                    i++; // 교체되는 기존 항목
+                } else if (j == incoming.length
+                        || (i < topics.length && GROUP_ORDER.compare(topics[i], incoming[j]) <= 0)) {
+                    merged[n++] = topics[i++];
+                } else {
+                    merged[n++] = incoming[j++];
+                }
+            }
+            return sorted(n == merged.length ? merged : Arrays.copyOf(merged, n));
+        }
+
+        // topics는 GROUP_ORDER로 정렬되어 있어야 함
+        private static Snapshot sorted(IndexedTopic[] topics) {
+            List<Integer> starts = new ArrayList<>();
+            for (int i = 0; i < topics.length; i++) {
+                if (i == 0 || GROUP_ORDER.compare(topics[i - 1], topics[i]) != 0) {
+                    starts.add(i);
+                }
+            }
+            int[] groupStart = new int[starts.size() + 1];
+            for (int i = 0; i < starts.size(); i++) {
+                groupStart[i] = starts.get(i);
+            }
+            groupStart[starts.size()] = topics.length;
+            return new Snapshot(topics, groupStart);
+        }
+
+        AliasTable aliasTable(TopicWeights weights) {
+            return aliasTables.computeIfAbsent(weights, this::buildAliasTable).orElse(null);
+        }
+
+        private Optional<AliasTable> buildAliasTable(TopicWeights weights) {
+            int groups = groupStart.length - 1;
+            double[] groupWeights = new double[groups];
+            double total = 0;
+            for (int g = 0; g < groups; g++) {
+                IndexedTopic first = topics[groupStart[g]];
+                // 그룹 가중치 = 주제 하나의 가중치 × 그룹 크기
+                groupWeights[g] = weights.weightOf(first.category(), first.difficulty()) * (groupStart[g + 1] - groupStart[g]);
+                total += groupWeights[g];
+            }
+            return total > 0 ? Optional.of(new AliasTable(groupWeights)) : Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.debate_backend.service.topic;
+
+import com.example.debate_backend.model.Topic;
+import com.example.debate_backend.service.AITopicGenerationService;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 미리 생성해 둔 AI 토론 주제 풀.
+ * 방 생성 시 O(1)로 하나를 꺼내고, 풀이 low watermark 아래로 내려가면 백그라운드에서 high watermark까지 채웁니다.
+ * 한 번의 Gemini 호출로 batch-size개의 주제를 요청하므로 방 생성 요청은 원격 호출을 기다리지 않습니다.
+ */
+@Component
+public class TopicPool {
+
+    public record PooledTopic(String id, String title) {
+    }
+
+    private final AITopicGenerationService aiTopicGenerationService;
+    private final int lowWatermark;
+    private final int highWatermark;
+    private final int batchSize;
+
+    private final Queue<PooledTopic> pool = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicBoolean refilling = new AtomicBoolean();
+    private final ExecutorService refillExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "topic-pool-refill");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public TopicPool(AITopicGenerationService aiTopicGenerationService,
+                     @Value("${discussion.topic-pool.low-watermark:5}") int lowWatermark,
+                     @Value("${discussion.topic-pool.high-watermark:20}") int highWatermark,
+                     @Value("${discussion.topic-pool.batch-size:10}") int batchSize) {
+        this.aiTopicGenerationService = aiTopicGenerationService;
+        this.lowWatermark = lowWatermark;
+        this.highWatermark = highWatermark;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * 풀에서 주제 하나를 꺼냅니다. 비어 있으면 빈 Optional을 반환하고 호출자는 fallback을 사용합니다.
+     */
+    public Optional<PooledTopic> poll() {
+        PooledTopic topic = pool.poll();
+        if (topic != null) {
+            size.decrementAndGet();
+        }
+        requestRefillIfLow();
+        return Optional.ofNullable(topic);
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        requestRefillIfLow();
+    }
+
+    // 이전 refill이 실패(Gemini 장애 등)한 경우를 위해 주기적으로 재확인
+    @Scheduled(fixedDelayString = "${discussion.topic-pool.check-interval-ms:30000}")
+    public void periodicCheck() {
+        requestRefillIfLow();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refillExecutor.shutdownNow();
+    }
+
+    private void requestRefillIfLow() {
+        if (size.get() < lowWatermark && refilling.compareAndSet(false, true)) {
+            refillExecutor.execute(this::refill);
+        }
+    }
+
+    private void refill() {
+        try {
+            while (size.get() < highWatermark) {
+                int count = Math.min(batchSize, highWatermark - size.get());
+                List<Topic> topics = aiTopicGenerationService.generateTopicsFromAI(count);
+                if (topics.isEmpty()) {
+                    break; // 실패하거나 새 주제가 없으면 다음 확인 때 재시도
+                }
+                for (Topic topic : topics) {
+                    pool.offer(new PooledTopic(topic.getId(), topic.getTitle()));
+                    size.incrementAndGet();
+                }
+            }
+        } finally {
+            refilling.set(false);
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.example.debate_backend.service.topic;
+
+import com.example.debate_backend.repository.TopicRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+
+/**
+ * 주제 제목의 유사 중복(near-duplicate) 탐지 인덱스.
+ * 제목을 단어 + 문자 3-gram shingle 집합으로 바꾸고, MinHash 서명을 LSH band로 나눠 버킷에 넣습니다.
+ * 조회 시 같은 버킷에 걸린 후보만 실제 Jaccard 유사도로 검증하므로 전체 주제 수와 무관하게 빠르며,
+ * 주제가 저장될 때마다 add()로 증분 반영합니다. (시작 시 한 번만 전체 적재)
+ */
+@Component
+public class TopicSimilarityIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(TopicSimilarityIndex.class);
+
+    public record Match(String title, double similarity) {
+    }
+
+    // 32 band × 3 row: Jaccard 0.4에서 후보로 잡힐 확률 약 0.88, 0.1에서는 약 0.03
+    private static final int BANDS = 32;
+    private static final int ROWS = 3;
+    private static final int HASHES = BANDS * ROWS;
+
+    // 주제 의미에 기여하지 않는 영어 단어 (한국어는 문자 3-gram이 조사 차이를 흡수)
+    private static final Set<String> STOP_WORDS = Set.of(
+            "should", "a", "an", "the", "all", "to", "of", "for", "be", "is", "are", "do", "does",
+            "in", "on", "and", "or", "it", "its", "we", "our", "their", "every", "any", "must",
+            "can", "could", "would", "will", "by", "with", "as", "at", "from", "that", "this");
+
+    private static final long[] SEEDS = new long[HASHES];
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x5eedL);
+        for (int i = 0; i < HASHES; i++) {
+            SEEDS[i] = random.nextLong();
+        }
+    }
+
+    private final TopicRepository topicRepository;
+    private final double threshold;
+
+    // 제목 -> 정렬된 shingle 해시 (검증용)
+    private final Map<String, long[]> shinglesByTitle = new HashMap<>();
+    // band별 버킷: band 키 -> 제목 목록
+    private final List<Map<Long, List<String>>> buckets = new ArrayList<>(BANDS);
+
+    public TopicSimilarityIndex(TopicRepository topicRepository,
+                                @Value("${discussion.topic-dedup.similarity-threshold:0.4}") double threshold) {
+        this.topicRepository = topicRepository;
+        this.threshold = threshold;
+        for (int b = 0; b < BANDS; b++) {
+            buckets.add(new HashMap<>());
+        }
+    }
+
+    @PostConstruct
+    public void load() {
+        topicRepository.findAllIndexEntries().forEach(e -> add(e.getTitle()));
+        log.info("Topic similarity index built with {} titles", size());
+    }
+
+    /**
+     * 기존 주제 중 threshold 이상으로 유사한 가장 비슷한 주제를 찾습니다.
+     */
+    public synchronized Optional<Match> findNearDuplicate(String title) {
+        long[] shingles = shingles(title);
+        if (shingles.length == 0) {
+            return Optional.empty();
+        }
+        long[] signature = signature(shingles);
+        Set<String> checked = new HashSet<>();
+        Match best = null;
+        for (int b = 0; b < BANDS; b++) {
+            List<String> candidates = buckets.get(b).get(bandKey(signature, b));
+            if (candidates == null) {
+                continue;
+            }
+            for (String candidate : candidates) {
+                if (!checked.add(candidate)) {
+                    continue;
+                }
+                double similarity = jaccard(shingles, shinglesByTitle.get(candidate));
+                if (similarity >= threshold && (best == null || similarity > best.similarity())) {
+                    best = new Match(candidate, similarity);
+                }
+            }
+        }
+        return Optional.ofNullable(best);
+    }
+
+    public synchronized void add(String title) {
+        long[] shingles = shingles(title);
+        if (shingles.length == 0 || shinglesByTitle.putIfAbsent(title, shingles) != null) {
+            return;
+        }
+        long[] signature = signature(shingles);
+        for (int b = 0; b < BANDS; b++) {
+            buckets.get(b).computeIfAbsent(bandKey(signature, b), k -> new ArrayList<>(2)).add(title);
+        }
+    }
+
+    /**
+     * 저장에 실패한 주제 등을 인덱스에서 되돌립니다.
+     */
+    public synchronized void remove(String title) {
+        long[] shingles = shinglesByTitle.remove(title);
+        if (shingles == null) {
+            return;
+        }
+        long[] signature = signature(shingles);
+        for (int b = 0; b < BANDS; b++) {
+            Map<Long, List<String>> band = buckets.get(b);
+            long key = bandKey(signature, b);
+            List<String> titles = band.get(key);
+            if (titles != null) {
+                titles.remove(title);
+                if (titles.isEmpty()) {
+                    band.remove(key);
+                }
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return shinglesByTitle.size();
+    }
+
+    /**
+     * 제목을 정규화한 뒤 단어와 단어 내부 문자 3-gram의 해시 집합(정렬됨)으로 변환합니다.
+     */
+    static long[] shingles(String title) {
+        String normalized = Normalizer.normalize(title, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        Set<Long> hashes = new TreeSet<>();
+        for (String token : normalized.split("[^\\p{L}\\p{N}]+")) {
+            if (token.isEmpty() || STOP_WORDS.contains(token)) {
+                continue;
+            }
+            String word = stem(token);
+            hashes.add(hash("w:" + word));
+            String padded = "^" + word + "$";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                hashes.add(hash(padded.substring(i, i + 3)));
+            }
+        }
+        long[] result = new long[hashes.size()];
+        int i = 0;
+        for (long h : hashes) {
+            result[i++] = h;
+        }
+        return result;
+    }
+
+    static double jaccard(long[] a, long[] b) {
+        int i = 0;
+        int j = 0;
+        int common = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j]) {
+                common++;
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return (double) common / (a.length + b.length - common);
+    }
+
+    // 영어 복수형 정도만 단순 제거 (lunches -> lunch, schools -> school, policies -> policy)
+    private static String stem(String token) {
+        if (token.length() > 4 && token.endsWith("ies")) {
+            return token.substring(0, token.length() - 3) + "y";
+        }
+        if (token.length() > 4 && (token.endsWith("ches") || token.endsWith("shes") || token.endsWith("sses")
+                || token.endsWith("xes") || token.endsWith("zes"))) {
+            return token.substring(0, token.length() - 2);
+        }
+        if (token.length() > 3 && token.endsWith("s") && !token.endsWith("ss")) {
+            return token.substring(0, token.length() - 1);
+        }
+        return token;
+    }
+
+    private static long[] signature(long[] shingles) {
+        long[] signature = new long[HASHES];
+        Arrays.fill(signature, Long.MAX_VALUE);
+        for (long shingle : shingles) {
+            for (int i = 0; i < HASHES; i++) {
+                long h = mix(shingle ^ SEEDS[i]);
+                if (h < signature[i]) {
+                    signature[i] = h;
+                }
+            }
+        }
+        return signature;
+    }
+
+    private static long bandKey(long[] signature, int band) {
+        long key = band;
+        for (int r = 0; r < ROWS; r++) {
+            key = mix(key * 31 + signature[band * ROWS + r]);
+        }
+        return key;
+    }
+
+    // FNV-1a 64bit
+    private static long hash(String s) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < s.length(); i++) {
+            h ^= s.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    // splitmix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
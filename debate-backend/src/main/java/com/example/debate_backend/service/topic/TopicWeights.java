@@ -0,0 +1,58 @@
+package com.example.debate_backend.service.topic;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 카테고리/난이도별 주제 선택 가중치.
+ * 주제 하나의 가중치는 (카테고리 가중치 × 난이도 가중치)이며, 지정되지 않은 값은 1.0입니다.
+ * 카테고리/난이도가 없는(null) 주제는 빈 문자열 키로 조회합니다.
+ */
+public record TopicWeights(Map<String, Double> categoryWeights, Map<String, Double> difficultyWeights) {
+
+    public static final TopicWeights UNIFORM = new TopicWeights(Map.of(), Map.of());
+
+    public TopicWeights {
+        categoryWeights = Map.copyOf(categoryWeights);
+        difficultyWeights = Map.copyOf(difficultyWeights);
+    }
+
+    /**
+     * "politics=2,sports=0.5" 형식의 설정 문자열에서 가중치를 만듭니다.
+     */
+    public static TopicWeights parse(String categoryWeights, String difficultyWeights) {
+        return new TopicWeights(parseMap(categoryWeights), parseMap(difficultyWeights));
+    }
+
+    public boolean isUniform() {
+        return categoryWeights.isEmpty() && difficultyWeights.isEmpty();
+    }
+
+    public double weightOf(String category, String difficulty) {
+        return categoryWeights.getOrDefault(keyOf(category), 1.0)
+                * difficultyWeights.getOrDefault(keyOf(difficulty), 1.0);
+    }
+
+    static String keyOf(String value) {
+        return value == null ? "" : value;
+    }
+
+    private static Map<String, Double> parseMap(String spec) {
+        Map<String, Double> result = new HashMap<>();
+        if (spec == null || spec.isBlank()) {
+            return result;
+        }
+        for (String entry : spec.split(",")) {
+            int eq = entry.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Invalid topic weight entry: " + entry);
+            }
+            double weight = Double.parseDouble(entry.substring(eq + 1).trim());
+            if (weight < 0 || Double.isNaN(weight) || Double.isInfinite(weight)) {
+                throw new IllegalArgumentException("Invalid topic weight entry: " + entry);
+            }
+            result.put(entry.substring(0, eq).trim(), weight);
+        }
+        return result;
+    }
+}
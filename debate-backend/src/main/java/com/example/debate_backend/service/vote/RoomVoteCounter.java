@@ -0,0 +1,93 @@
+package com.example.debate_backend.service.vote;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 한 방의 투표 집계기.
+ * 진영별 카운트는 LongAdder(내부적으로 셀 단위로 분산된 카운터)로 누적하여 동시 투표 시 경합을 피하고,
+ * 투표자 ID -> 진영 맵으로 중복 투표를 거부하며 진영 변경을 지원합니다.
+ */
+public class RoomVoteCounter {
+
+    private final LongAdder[] counts = new LongAdder[VoteSide.values().length];
+    // 값은 enum 상수이므로 투표자당 추가 할당은 맵 엔트리뿐
+    private final Map<String, VoteSide> voters = new ConcurrentHashMap<>();
+
+    // 마지막 브로드캐스트 이후 집계가 바뀌었는지 여부
+    private final AtomicBoolean changed = new AtomicBoolean();
+    // 브로드캐스트 스레드만 접근
+    private Map<String, Integer> lastPublished;
+
+    public RoomVoteCounter() {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * 투표를 반영합니다. 투표자 맵에 대한 원자적 교체(put) 결과로 카운트를 조정하므로
+     * 같은 투표자의 동시 요청이 섞여도 최종 카운트는 맵과 일치합니다.
+     */
+    public VoteOutcome vote(String voterId, VoteSide side) {
+        VoteSide previous = voters.put(voterId, side);
+        if (previous == null) {
+            counts[side.ordinal()].increment();
+            return VoteOutcome.ACCEPTED;
+        }
+        if (previous == side) {
+            return VoteOutcome.DUPLICATE;
+        }
+        counts[previous.ordinal()].decrement();
+        counts[side.ordinal()].increment();
+        return VoteOutcome.CHANGED;
+    }
+
+    /**
+     * 변경 표시를 합니다. 이미 표시된 상태면 CAS 없이 바로 false를 반환하여 캐시 라인 경합을 줄입니다.
+     * @return 이번 호출로 새로 표시되었으면 true
+     */
+    boolean markChanged() {
+        return !changed.get() && changed.compareAndSet(false, true);
+    }
+
+    /**
+     * 변경 표시를 지우고, 마지막으로 발행한 값과 다를 때만 스냅샷을 반환합니다.
+     * (표시를 먼저 지우므로 그 이후의 투표는 다음 틱에 다시 발행됨)
+     */
+    Map<String, Integer> takeChangedSnapshot() {
+        changed.set(false);
+        Map<String, Integer> current = snapshot();
+        if (current.equals(lastPublished)) {
+            return null;
+        }
+        lastPublished = current;
+        return current;
+    }
+
+    public VoteSide voteOf(String voterId) {
+        return voters.get(voterId);
+    }
+
+    // 스냅샷 저장용 읽기 전용 뷰
+    public Map<String, VoteSide> votersView() {
+        return Collections.unmodifiableMap(voters);
+    }
+
+    public int voterCount() {
+        return voters.size();
+    }
+
+    /**
+     * 현재 집계의 불변 스냅샷 ({"for": n, "against": m})
+     */
+    public Map<String, Integer> snapshot() {
+        return Map.of(
+                VoteSide.FOR.key(), (int) counts[VoteSide.FOR.ordinal()].sum(),
+                VoteSide.AGAINST.key(), (int) counts[VoteSide.AGAINST.ordinal()].sum()
+        );
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.debate_backend.service.vote;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * 방별 투표 집계기를 관리합니다.
+ */
+@Component
+public class VoteEngine {
+
+    private static final Map<String, Integer> EMPTY_RESULTS = new RoomVoteCounter().snapshot();
+
+    private final Map<String, RoomVoteCounter> counters = new ConcurrentHashMap<>();
+    // 마지막 브로드캐스트 이후 집계가 바뀐 방
+    private final Set<String> changedRoomIds = ConcurrentHashMap.newKeySet();
+
+    public void openRoom(String roomId) {
+        counters.putIfAbsent(roomId, new RoomVoteCounter());
+    }
+
+    public VoteOutcome vote(String roomId, String voterId, String sideKey) {
+        VoteSide side = VoteSide.fromKey(sideKey);
+        if (voterId == null || voterId.isBlank() || side == null) {
+            return VoteOutcome.REJECTED;
+        }
+        RoomVoteCounter counter = counters.computeIfAbsent(roomId, k -> new RoomVoteCounter());
+        VoteOutcome outcome = counter.vote(voterId, side);
+        if ((outcome == VoteOutcome.ACCEPTED || outcome == VoteOutcome.CHANGED) && counter.markChanged()) {
+            changedRoomIds.add(roomId);
+        }
+        return outcome;
+    }
+
+    /**
+     * 다른 노드에서 받은 투표를 반영합니다.
+     * 결과 브로드캐스트는 투표를 받은 노드가 (공유 브로커로) 하므로 이 노드에서는 변경 표시를 하지 않습니다.
+     */
+    public VoteOutcome applyReplicated(String roomId, String voterId, String sideKey) {
+        VoteSide side = VoteSide.fromKey(sideKey);
+        if (voterId == null || voterId.isBlank() || side == null) {
+            return VoteOutcome.REJECTED;
+        }
+        return counters.computeIfAbsent(roomId, k -> new RoomVoteCounter()).vote(voterId, side);
+    }
+
+    /**
+     * 마지막 호출 이후 집계가 실제로 바뀐 방의 스냅샷을 publisher에 넘깁니다.
+     */
+    public void drainChangedResults(BiConsumer<String, Map<String, Integer>> publisher) {
+        Iterator<String> it = changedRoomIds.iterator();
+        while (it.hasNext()) {
+            String roomId = it.next();
+            it.remove();
+            RoomVoteCounter counter = counters.get(roomId);
+            if (counter == null) {
+                continue;
+            }
+            Map<String, Integer> snapshot = counter.takeChangedSnapshot();
+            if (snapshot != null) {
+                publisher.accept(roomId, snapshot);
+            }
+        }
+    }
+
+    /**
+     * 저널/스냅샷 복원용. 브로드캐스트 대상으로 표시하지 않고 바로 반영합니다.
+     */
+    void restore(String roomId, String voterId, VoteSide side) {
+        counters.computeIfAbsent(roomId, k -> new RoomVoteCounter()).vote(voterId, side);
+    }
+
+    Map<String, RoomVoteCounter> countersView() {
+        return Collections.unmodifiableMap(counters);
+    }
+
+    public Map<String, Integer> results(String roomId) {
+        RoomVoteCounter counter = counters.get(roomId);
+        return counter != null ? counter.snapshot() : EMPTY_RESULTS;
+    }
+
+    public RoomVoteCounter counter(String roomId) {
+        return counters.get(roomId);
+    }
+
+    /**
+     * @return 제거된 집계기가 있었으면 true
+     */
+    public boolean removeRoom(String roomId) {
+        changedRoomIds.remove(roomId);
+        return counters.remove(roomId) != null;
+    }
+
+    /**
+     * 집계기가 있는 방 ID (유휴 방 정리 시 고아 집계기 확인용, 읽기 전용 뷰)
+     */
+    public Set<String> roomIds() {
+        return Collections.unmodifiableSet(counters.keySet());
+    }
+}
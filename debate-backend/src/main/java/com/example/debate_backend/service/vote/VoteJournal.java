@@ -0,0 +1,373 @@
+package com.example.debate_backend.service.vote;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * 투표 이벤트의 append-only 저널 (memory-mapped, 고정 크기 레코드).
+ * 재시작 시 최신 스냅샷 + 이후 저널을 재생하여 VoteEngine의 집계를 복원합니다.
+ *
+ * <p>레코드 레이아웃 (128 bytes):
+ * type(1) | side(1) | roomIdLen(1) | voterIdLen(1) | roomId(24) | voterId(64) | timestamp(8) | crc32(4) | padding
+ *
+ * <p>쓰기는 원자적 슬롯 예약 후 서로 겹치지 않는 영역에 절대 위치로 기록하므로 락이 없고,
+ * type 바이트를 마지막에 기록하여 중간에 끊긴 레코드는 재생 시 CRC 검사로 걸러집니다.
+ * 같은 투표자의 거의 동시 투표는 저널 순서와 메모리 반영 순서가 다를 수 있으며, 이 경우 둘 중 하나가 최종값이 됩니다.
+ */
+@Component
+public class VoteJournal {
+
+    private static final Logger log = LoggerFactory.getLogger(VoteJournal.class);
+
+    public enum FsyncPolicy {
+        ALWAYS,   // 레코드마다 force
+        INTERVAL, // fsync-interval-ms 주기로 force
+        NEVER     // OS에 맡김
+    }
+
+    static final int RECORD_SIZE = 128;
+    static final int MAX_ROOM_ID_BYTES = 24;
+    static final int MAX_VOTER_ID_BYTES = 64;
+
+    private static final byte TYPE_EMPTY = 0;
+    private static final byte TYPE_VOTE = 1;
+    private static final byte TYPE_ROOM_REMOVED = 2;
+
+    private static final int OFF_SIDE = 1;
+    private static final int OFF_ROOM_LEN = 2;
+    private static final int OFF_VOTER_LEN = 3;
+    private static final int OFF_ROOM = 4;
+    private static final int OFF_VOTER = OFF_ROOM + MAX_ROOM_ID_BYTES;
+    private static final int OFF_TIME = OFF_VOTER + MAX_VOTER_ID_BYTES;
+    private static final int OFF_CRC = OFF_TIME + Long.BYTES;
+
+    private static final String SNAPSHOT_FILE = "votes.snapshot";
+    private static final int SNAPSHOT_MAGIC = 0x564F5445; // "VOTE"
+    private static final Pattern SEGMENT_NAME = Pattern.compile("votes-(\\d+)\\.journal");
+
+    private final VoteEngine voteEngine;
+    private final boolean enabled;
+    private final Path directory;
+    private final int segmentRecords;
+    private final FsyncPolicy fsyncPolicy;
+
+    private volatile Segment current;
+    private final Object rotateLock = new Object();
+    private final Object snapshotLock = new Object();
+
+    public VoteJournal(VoteEngine voteEngine,
+                       @Value("${discussion.vote.journal.enabled:true}") boolean enabled,
+                       @Value("${discussion.vote.journal.dir:data/votes}") String directory,
+                       @Value("${discussion.vote.journal.segment-records:262144}") int segmentRecords,
+                       @Value("${discussion.vote.journal.fsync:INTERVAL}") FsyncPolicy fsyncPolicy) {
+        this.voteEngine = voteEngine;
+        this.enabled = enabled;
+        this.directory = Paths.get(directory);
+        this.segmentRecords = segmentRecords;
+        this.fsyncPolicy = fsyncPolicy;
+    }
+
+    /**
+     * 스냅샷과 저널을 재생하여 투표 집계를 복원한 뒤, 새 세그먼트를 열어 기록을 시작합니다.
+     */
+    @PostConstruct
+    public void restore() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        Files.createDirectories(directory);
+
+        long replayFrom = readSnapshot();
+        long lastGeneration = replayFrom - 1;
+        int replayed = 0;
+        for (long generation : listGenerations()) {
+            if (generation >= replayFrom) {
+                replayed += replaySegment(segmentPath(generation));
+            }
+            lastGeneration = Math.max(lastGeneration, generation);
+        }
+        current = openSegment(lastGeneration + 1);
+        log.info("Vote journal restored: {} rooms, {} journal records replayed", voteEngine.countersView().size(), replayed);
+    }
+
+    public void appendVote(String roomId, String voterId, VoteSide side) {
+        append(TYPE_VOTE, roomId, voterId, side);
+    }
+
+    public void appendRoomRemoved(String roomId) {
+        append(TYPE_ROOM_REMOVED, roomId, "", null);
+    }
+
+    private void append(byte type, String roomId, String voterId, VoteSide side) {
+        if (!enabled) {
+            return;
+        }
+        byte[] room = roomId.getBytes(StandardCharsets.UTF_8);
+        byte[] voter = voterId.getBytes(StandardCharsets.UTF_8);
+        if (room.length > MAX_ROOM_ID_BYTES || voter.length > MAX_VOTER_ID_BYTES) {
+            log.warn("Vote journal skipped oversized record for room {}", roomId);
+            return;
+        }
+        byte[] record = encode(type, room, voter, side);
+
+        while (true) {
+            Segment segment = current;
+            int slot = segment.reserve();
+            if (slot < 0) {
+                rotateIfCurrent(segment);
+                continue;
+            }
+            int base = slot * RECORD_SIZE;
+            // 본문을 먼저 쓰고 type 바이트를 마지막에 기록
+            segment.buffer.put(base + 1, record, 1, RECORD_SIZE - 1);
+            segment.buffer.put(base, type);
+            if (fsyncPolicy == FsyncPolicy.ALWAYS) {
+                segment.buffer.force(base, RECORD_SIZE);
+            }
+            return;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${discussion.vote.journal.fsync-interval-ms:100}")
+    public void periodicForce() {
+        if (enabled && fsyncPolicy == FsyncPolicy.INTERVAL) {
+            current.buffer.force();
+        }
+    }
+
+    /**
+     * 현재 집계를 압축 스냅샷으로 저장하고, 스냅샷에 포함된 이전 세그먼트를 삭제합니다.
+     * VoteEngine 반영 후 저널에 기록하므로, 세그먼트를 교체한 뒤 읽은 집계에는 이전 세그먼트의 모든 투표가 포함됩니다.
+     */
+    @Scheduled(fixedDelayString = "${discussion.vote.journal.snapshot-interval-ms:60000}")
+    public void snapshot() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (snapshotLock) {
+            long replayFrom;
+            synchronized (rotateLock) {
+                Segment sealed = current;
+                if (sealed.nextSlot.get() == 0 && listGenerations().size() <= 1) {
+                    return; // 마지막 스냅샷 이후 기록 없음
+                }
+                current = openSegment(sealed.generation + 1);
+                sealed.seal();
+                replayFrom = current.generation;
+            }
+            try {
+                writeSnapshot(replayFrom);
+                for (long generation : listGenerations()) {
+                    if (generation < replayFrom) {
+                        Files.deleteIfExists(segmentPath(generation));
+                    }
+                }
+            } catch (IOException e) {
+                log.error("Failed to write vote snapshot", e);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (enabled && current != null) {
+            current.buffer.force();
+        }
+    }
+
+    private void rotateIfCurrent(Segment full) {
+        synchronized (rotateLock) {
+            if (current == full) {
+                current = openSegment(full.generation + 1);
+                full.seal();
+            }
+        }
+    }
+
+    private Segment openSegment(long generation) {
+        try {
+            return new Segment(generation, segmentPath(generation), segmentRecords);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open vote journal segment " + generation, e);
+        }
+    }
+
+    private Path segmentPath(long generation) {
+        return directory.resolve(String.format("votes-%012d.journal", generation));
+    }
+
+    private List<Long> listGenerations() {
+        List<Long> generations = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(path -> {
+                Matcher m = SEGMENT_NAME.matcher(path.getFileName().toString());
+                if (m.matches()) {
+                    generations.add(Long.parseLong(m.group(1)));
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        generations.sort(null);
+        return generations;
+    }
+
+    private static byte[] encode(byte type, byte[] room, byte[] voter, VoteSide side) {
+        byte[] record = new byte[RECORD_SIZE];
+        ByteBuffer buf = ByteBuffer.wrap(record);
+        buf.put(0, type);
+        buf.put(OFF_SIDE, side != null ? (byte) side.ordinal() : 0);
+        buf.put(OFF_ROOM_LEN, (byte) room.length);
+        buf.put(OFF_VOTER_LEN, (byte) voter.length);
+        buf.put(OFF_ROOM, room);
+        buf.put(OFF_VOTER, voter);
+        buf.putLong(OFF_TIME, System.currentTimeMillis());
+        CRC32 crc = new CRC32();
+        crc.update(record, 0, OFF_CRC);
+        buf.putInt(OFF_CRC, (int) crc.getValue());
+        return record;
+    }
+
+    private int replaySegment(Path path) throws IOException {
+        int applied = 0;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            byte[] record = new byte[RECORD_SIZE];
+            long records = channel.size() / RECORD_SIZE;
+            for (int slot = 0; slot < records; slot++) {
+                int base = slot * RECORD_SIZE;
+                byte type = buffer.get(base);
+                if (type == TYPE_EMPTY) {
+                    continue; // 예약만 되고 기록되지 않은 슬롯 또는 미사용 영역
+                }
+                buffer.get(base, record);
+                CRC32 crc = new CRC32();
+                crc.update(record, 0, OFF_CRC);
+                if ((int) crc.getValue() != ByteBuffer.wrap(record).getInt(OFF_CRC)) {
+                    continue; // 기록 도중 끊긴 레코드
+                }
+                String roomId = new String(record, OFF_ROOM, record[OFF_ROOM_LEN], StandardCharsets.UTF_8);
+                if (type == TYPE_ROOM_REMOVED) {
+                    voteEngine.removeRoom(roomId);
+                } else if (type == TYPE_VOTE) {
+                    String voterId = new String(record, OFF_VOTER, record[OFF_VOTER_LEN], StandardCharsets.UTF_8);
+                    voteEngine.restore(roomId, voterId, VoteSide.values()[record[OFF_SIDE]]);
+                }
+                applied++;
+            }
+        }
+        return applied;
+    }
+
+    private void writeSnapshot(long replayFrom) throws IOException {
+        Path tmp = directory.resolve(SNAPSHOT_FILE + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeLong(replayFrom);
+            for (Map.Entry<String, RoomVoteCounter> room : voteEngine.countersView().entrySet()) {
+                out.writeBoolean(true);
+                out.writeUTF(room.getKey());
+                for (Map.Entry<String, VoteSide> vote : room.getValue().votersView().entrySet()) {
+                    out.writeBoolean(true);
+                    out.writeUTF(vote.getKey());
+                    out.writeByte(vote.getValue().ordinal());
+                }
+                out.writeBoolean(false);
+            }
+            out.writeBoolean(false);
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(tmp, directory.resolve(SNAPSHOT_FILE), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * @return 스냅샷 이후 재생을 시작할 세그먼트 세대 (스냅샷이 없으면 0)
+     */
+    private long readSnapshot() throws IOException {
+        Path path = directory.resolve(SNAPSHOT_FILE);
+        if (!Files.exists(path)) {
+            return 0;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                throw new IOException("Invalid vote snapshot: " + path);
+            }
+            long replayFrom = in.readLong();
+            while (in.readBoolean()) {
+                String roomId = in.readUTF();
+                while (in.readBoolean()) {
+                    String voterId = in.readUTF();
+                    voteEngine.restore(roomId, voterId, VoteSide.values()[in.readByte()]);
+                }
+            }
+            return replayFrom;
+        }
+    }
+
+    /**
+     * 하나의 저널 파일. 전체 용량을 미리 매핑하고 슬롯 번호를 원자적으로 예약합니다.
+     */
+    private static final class Segment {
+        final long generation;
+        final MappedByteBuffer buffer;
+        final AtomicLong nextSlot = new AtomicLong();
+        private final FileChannel channel;
+        private final int capacity;
+
+        Segment(long generation, Path path, int capacity) throws IOException {
+            this.generation = generation;
+            this.capacity = capacity;
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) capacity * RECORD_SIZE);
+        }
+
+        // 가득 차면 -1
+        int reserve() {
+            long slot = nextSlot.getAndIncrement();
+            return slot < capacity ? (int) slot : -1;
+        }
+
+        // 교체된 세그먼트: 디스크에 반영하고 채널을 닫음 (매핑은 진행 중인 writer를 위해 GC 때까지 유효)
+        void seal() {
+            buffer.force();
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.warn("Failed to close vote journal segment {}: {}", generation, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.debate_backend.service.vote;
+
+public enum VoteOutcome {
+    ACCEPTED,  // 첫 투표
+    CHANGED,   // 다른 진영으로 변경
+    DUPLICATE, // 같은 진영에 중복 투표 (무시)
+    REJECTED   // 투표자 ID 또는 진영이 유효하지 않음
+}
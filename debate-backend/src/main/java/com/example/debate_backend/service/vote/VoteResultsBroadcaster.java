@@ -0,0 +1,28 @@
+package com.example.debate_backend.service.vote;
+
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 투표 결과를 방별로 묶어서 브로드캐스트합니다.
+ * 틱(discussion.vote.broadcast-interval-ms)마다 방당 최대 한 번, 집계가 바뀐 경우에만 전송하므로
+ * 투표량이 늘어도 송신 프레임 수는 일정하게 유지됩니다.
+ */
+@Component
+public class VoteResultsBroadcaster {
+
+    private final VoteEngine voteEngine;
+    private final SimpMessagingTemplate messagingTemplate;
+
+    public VoteResultsBroadcaster(VoteEngine voteEngine, SimpMessagingTemplate messagingTemplate) {
+        this.voteEngine = voteEngine;
+        this.messagingTemplate = messagingTemplate;
+    }
+
+    @Scheduled(fixedDelayString = "${discussion.vote.broadcast-interval-ms:200}")
+    public void publishChangedResults() {
+        voteEngine.drainChangedResults((roomId, results) ->
+                messagingTemplate.convertAndSend("/topic/room/" + roomId + "/vote-results", results));
+    }
+}
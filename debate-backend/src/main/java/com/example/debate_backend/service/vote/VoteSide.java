@@ -0,0 +1,29 @@
+package com.example.debate_backend.service.vote;
+
+/**
+ * 투표 가능한 진영. 카운터 배열의 인덱스로 ordinal을 사용합니다.
+ */
+public enum VoteSide {
+    FOR("for"),
+    AGAINST("against");
+
+    private final String key;
+
+    VoteSide(String key) {
+        this.key = key;
+    }
+
+    // VoteResultsDto/클라이언트에서 사용하는 키 ("for", "against")
+    public String key() {
+        return key;
+    }
+
+    public static VoteSide fromKey(String key) {
+        for (VoteSide side : values()) {
+            if (side.key.equals(key)) {
+                return side;
+            }
+        }
+        return null;
+    }
+}
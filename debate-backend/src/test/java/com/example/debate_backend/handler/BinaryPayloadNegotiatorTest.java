@@ -0,0 +1,36 @@
+package com.example.debate_backend.handler;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BinaryPayloadNegotiatorTest {
+
+	@Test
+	void transcodedPayloadDecodesToSameDocument() throws Exception {
+		String json = "{\"roomId\":\"r1\",\"results\":{\"for\":5,\"against\":3},\"ratio\":0.625,\"closed\":false,"
+				+ "\"tags\":[\"a\",null,\"한글\"]}";
+
+		byte[] cbor = BinaryPayloadNegotiator.jsonToCbor(json.getBytes(StandardCharsets.UTF_8));
+
+		JsonNode expected = new ObjectMapper().readTree(json);
+		JsonNode actual = new ObjectMapper(new CBORFactory()).readTree(cbor);
+		assertThat(actual).isEqualTo(expected);
+		assertThat(cbor.length).isLessThan(json.getBytes(StandardCharsets.UTF_8).length);
+	}
+
+	@Test
+	void detectsCborContentTypeOnlyInHeaderBlock() {
+		String cborFrame = "MESSAGE\ndestination:/topic/room/r1/vote\ncontent-type:application/cbor\n\n\u0000";
+		String textFrame = "MESSAGE\ndestination:/topic/room/r1/chat\ncontent-type:text/plain\n\n"
+				+ "hello\ncontent-type:application/cbor\u0000";
+
+		assertThat(BinaryPayloadNegotiator.isCborFrame(cborFrame.getBytes(StandardCharsets.UTF_8))).isTrue();
+		assertThat(BinaryPayloadNegotiator.isCborFrame(textFrame.getBytes(StandardCharsets.UTF_8))).isFalse();
+	}
+}
@@ -0,0 +1,52 @@
+package com.example.debate_backend.handler;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HandlerMetricsTest {
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	private final HandlerMetrics metrics = new HandlerMetrics(registry);
+
+	private double queries(String handler) {
+		return registry.get("discussion.jpa.queries").tag("handler", handler).counter().count();
+	}
+
+	@Test
+	void attributesStatementsToRunningHandler() {
+		try (HandlerMetrics.Scope ignored = metrics.start("joinRoom")) {
+			metrics.onStatement();
+			metrics.onStatement();
+		}
+		metrics.onStatement();
+
+		assertThat(queries("joinRoom")).isEqualTo(2);
+		assertThat(queries(HandlerMetrics.BACKGROUND)).isEqualTo(1);
+		assertThat(registry.get("discussion.ws.handler").tag("handler", "joinRoom").timer().count()).isEqualTo(1);
+		assertThat(registry.get("discussion.ws.handler.queries").tag("handler", "joinRoom").summary().totalAmount())
+				.isEqualTo(2);
+	}
+
+	@Test
+	void nestedScopeRestoresOuterHandler() {
+		try (HandlerMetrics.Scope outer = metrics.start("disconnect")) {
+			try (HandlerMetrics.Scope inner = metrics.start("leaveRoom")) {
+				metrics.onStatement();
+			}
+			metrics.onStatement();
+		}
+
+		assertThat(queries("leaveRoom")).isEqualTo(1);
+		assertThat(queries("disconnect")).isEqualTo(1);
+	}
+
+	@Test
+	void broadcastCategoryDropsRoomId() {
+		assertThat(BroadcastMetricsInterceptor.category("/topic/room/abc-123/chat")).isEqualTo("chat");
+		assertThat(BroadcastMetricsInterceptor.category("/topic/room/abc-123/argument.new")).isEqualTo("argument.new");
+		assertThat(BroadcastMetricsInterceptor.category("/queue/room/abc/participants-user1")).isEqualTo("user");
+		assertThat(BroadcastMetricsInterceptor.category(null)).isEqualTo("unknown");
+	}
+}
@@ -0,0 +1,80 @@
+package com.example.debate_backend.handler;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ShardedMessageExecutorTest {
+
+	private final ShardedMessageExecutor executor =
+			new ShardedMessageExecutor("test", 4, 1000, 100, DispatchKeys::roomOrSession);
+
+	@AfterEach
+	void shutdown() {
+		executor.shutdown();
+	}
+
+	@Test
+	void keepsPerKeyOrderAcrossInterleavedSubmissions() throws Exception {
+		Map<String, List<Integer>> seen = new ConcurrentHashMap<>();
+		CountDownLatch done = new CountDownLatch(3 * 500);
+		for (int i = 0; i < 500; i++) {
+			for (String room : List.of("a", "b", "c")) {
+				int seq = i;
+				executor.execute(DispatchKeys.room(room), () -> {
+					seen.computeIfAbsent(room, k -> new ArrayList<>()).add(seq);
+					done.countDown();
+				});
+			}
+		}
+		assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+		for (List<Integer> order : seen.values()) {
+			assertThat(order).isSorted().hasSize(500);
+		}
+	}
+
+	@Test
+	void extractsRoomFromStompDestinations() {
+		assertThat(DispatchKeys.roomOrSession(message("/app/r1/join", "s1"))).isEqualTo("room:r1");
+		assertThat(DispatchKeys.roomOrSession(message("/topic/room/r1/chat", "s1"))).isEqualTo("room:r1");
+		assertThat(DispatchKeys.roomOrSession(message("/user/queue/room/r1/chat-history", "s1"))).isEqualTo("room:r1");
+		assertThat(DispatchKeys.roomOrSession(message(null, "s1"))).isEqualTo("session:s1");
+	}
+
+	@Test
+	void exposesQueueDepthOfBlockedLane() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		executor.execute(DispatchKeys.room("busy"), () -> {
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		for (int i = 0; i < 3; i++) {
+			executor.execute(DispatchKeys.room("busy"), () -> { });
+		}
+		int lane = executor.laneOf(DispatchKeys.room("busy"));
+		assertThat(executor.laneQueueDepths()[lane]).isEqualTo(3);
+		release.countDown();
+	}
+
+	private static Message<byte[]> message(String destination, String sessionId) {
+		SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+		accessor.setDestination(destination);
+		accessor.setSessionId(sessionId);
+		return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+	}
+}
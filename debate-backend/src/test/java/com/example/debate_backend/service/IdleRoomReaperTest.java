@@ -0,0 +1,216 @@
+package com.example.debate_backend.service;
+
+import com.example.debate_backend.dto.ChatMessageDto;
+import com.example.debate_backend.dto.ParticipantDto;
+import com.example.debate_backend.handler.ShardedMessageExecutor;
+import com.example.debate_backend.model.Room;
+import com.example.debate_backend.repository.ArgumentRepository;
+import com.example.debate_backend.repository.ParticipantRepository;
+import com.example.debate_backend.repository.RoomRepository;
+import com.example.debate_backend.repository.TopicRepository;
+import com.example.debate_backend.service.archive.DebateArchive;
+import com.example.debate_backend.service.archive.DebateArchiver;
+import com.example.debate_backend.service.chat.ChatHistoryStore;
+import com.example.debate_backend.service.chat.ChatLog;
+import com.example.debate_backend.service.cluster.LocalClusterEventBus;
+import com.example.debate_backend.service.state.RoomStateStore;
+import com.example.debate_backend.service.timer.DebateTimerService;
+import com.example.debate_backend.service.topic.TopicIndex;
+import com.example.debate_backend.service.topic.TopicPool;
+import com.example.debate_backend.service.topic.TopicSimilarityIndex;
+import com.example.debate_backend.service.vote.VoteEngine;
+import com.example.debate_backend.service.vote.VoteJournal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 유휴 방 정리: 상태별 TTL, 주기당 batch 제한, lane에서의 활동 재확인, 연결된 참가자 보호, 고아 상태 정리.
+ * lane 작업은 바로 실행하지 않고 모아 두었다가 runLanes()로 실행합니다.
+ */
+class IdleRoomReaperTest {
+
+	private final RoomStateStore store = new RoomStateStore(null, null, null, null, 100, 5, 1000);
+	private final VoteEngine votes = new VoteEngine();
+	private final ChatHistoryStore chat = new ChatHistoryStore(10);
+	private final SessionRegistry sessions = new SessionRegistry(null, new LocalClusterEventBus("test"));
+	private final DebateArchiver archiver = mock(DebateArchiver.class);
+	private final ShardedMessageExecutor lanes = mock(ShardedMessageExecutor.class);
+	private final List<Runnable> laneTasks = new ArrayList<>();
+
+	private DiscussionService discussionService;
+
+	@BeforeEach
+	void setUp() {
+		doAnswer(invocation -> laneTasks.add(invocation.getArgument(1)))
+				.when(lanes).execute(anyString(), any(Runnable.class));
+		TopicRepository topicRepository = mock(TopicRepository.class);
+		when(topicRepository.count()).thenReturn(1L); // 기본 주제 초기화 생략
+		discussionService = new DiscussionService(topicRepository, mock(RoomRepository.class),
+				mock(ParticipantRepository.class), mock(ArgumentRepository.class), mock(TopicPool.class),
+				mock(TopicIndex.class), mock(TopicSimilarityIndex.class), sessions, store, votes,
+				mock(VoteJournal.class), chat, mock(ChatLog.class), new LocalClusterEventBus("test"),
+				mock(DebateTimerService.class), mock(DebateArchive.class), false);
+	}
+
+	// TTL은 분 단위이므로 0분 = 지금 이전의 모든 활동이 유휴
+	private IdleRoomReaper reaper(int batchSize, long waitingMinutes, long startedMinutes, long endedMinutes) {
+		return new IdleRoomReaper(discussionService, store, votes, chat, lanes, archiver, sessions, batchSize,
+				waitingMinutes, startedMinutes, 60, 60, endedMinutes);
+	}
+
+	private void openRoom(String roomId, Room.RoomStatus status) {
+		store.registerReplica(roomId, "t1", "Topic?", status, "", 0, 300, 1_000);
+		votes.openRoom(roomId);
+	}
+
+	private void runLanes() {
+		List<Runnable> tasks = new ArrayList<>(laneTasks);
+		laneTasks.clear();
+		tasks.forEach(Runnable::run);
+	}
+
+	private static void tick() throws InterruptedException {
+		Thread.sleep(5); // 마지막 활동 시각이 reap 시각보다 확실히 이전이 되도록
+	}
+
+	@Test
+	void ttlIsAppliedPerStatus() throws Exception {
+		openRoom("waiting", Room.RoomStatus.WAITING);
+		openRoom("started", Room.RoomStatus.STARTED);
+		tick();
+
+		IdleRoomReaper reaper = reaper(100, 0, 60, 0);
+		reaper.reap();
+		runLanes();
+
+		assertThat(store.find("waiting")).isEmpty();
+		assertThat(store.find("started")).isPresent();
+		assertThat(votes.roomIds()).containsExactly("started");
+		assertThat(reaper.reclaimedRooms()).isEqualTo(1);
+		assertThat(reaper.reclaimedVoteCounters()).isEqualTo(1);
+	}
+
+	@Test
+	void endedRoomsAreLeftToArchiverWhenArchivingIsEnabled() throws Exception {
+		openRoom("ended", Room.RoomStatus.ENDED);
+		tick();
+		when(archiver.isEnabled()).thenReturn(true);
+
+		reaper(100, 0, 0, 0).reap();
+		runLanes();
+
+		assertThat(store.find("ended")).isPresent();
+	}
+
+	@Test
+	void queuesAtMostBatchSizeRoomsPerCycle() throws Exception {
+		for (int i = 0; i < 5; i++) {
+			openRoom("r" + i, Room.RoomStatus.WAITING);
+		}
+		tick();
+		IdleRoomReaper reaper = reaper(2, 0, 0, 0);
+
+		reaper.reap();
+		assertThat(laneTasks).hasSize(2);
+		runLanes();
+		assertThat(store.roomIds()).hasSize(3);
+
+		reaper.reap();
+		runLanes();
+		reaper.reap();
+		runLanes();
+		assertThat(store.roomIds()).isEmpty();
+		assertThat(reaper.reclaimedRooms()).isEqualTo(5);
+	}
+
+	@Test
+	void activityAfterSchedulingIsRecheckedOnLane() throws Exception {
+		openRoom("r1", Room.RoomStatus.WAITING);
+		tick();
+		IdleRoomReaper reaper = reaper(100, 0, 0, 0);
+
+		reaper.reap();
+		assertThat(laneTasks).hasSize(1);
+		store.require("r1").touch(); // 예약 후 lane에서 실행되기 전에 활동 발생
+		runLanes();
+
+		assertThat(store.find("r1")).isPresent();
+		assertThat(reaper.reclaimedRooms()).isZero();
+	}
+
+	@Test
+	void roomsWithConnectedParticipantsAreKept() throws Exception {
+		openRoom("live", Room.RoomStatus.WAITING);
+		store.upsertParticipant("live", new ParticipantDto("p1", "alice", "for", "c"));
+		sessions.sessionConnected("s1");
+		sessions.bind("s1", "live", "p1", "alice");
+
+		openRoom("stale", Room.RoomStatus.WAITING);
+		store.upsertParticipant("stale", new ParticipantDto("p2", "bob", "for", "c"));
+		sessions.bind("p2", "stale", "p2", "bob"); // 재시작 전 세션으로 복원된 바인딩 (연결 안 됨)
+
+		openRoom("remote", Room.RoomStatus.WAITING);
+		store.applyReplicatedParticipant("remote", new ParticipantDto("p3", "carol", "for", "c"), 1); // 다른 노드의 세션
+
+		openRoom("crashed", Room.RoomStatus.WAITING);
+		store.applyReplicatedParticipant("crashed", new ParticipantDto("p4", "dave", "for", "c"), 1);
+		sessions.bindRemote("p4", "dead-node"); // 응답하지 않는 노드의 세션
+		tick();
+
+		IdleRoomReaper reaper = reaper(100, 0, 0, 0);
+		reaper.reap();
+		runLanes();
+
+		assertThat(store.roomIds()).containsExactlyInAnyOrder("live", "remote");
+		assertThat(reaper.reclaimedParticipants()).isEqualTo(2);
+		assertThat(sessions.findBySession("p2")).isEmpty();
+
+		// 연결이 끊긴 뒤(퇴장 처리 전)에는 다음 주기에 제거됨
+		sessions.sessionDisconnected("s1");
+		reaper.reap();
+		runLanes();
+		assertThat(store.find("live")).isEmpty();
+	}
+
+	@Test
+	void orphanedVoteCountersAndChatBuffersAreSwept() {
+		openRoom("r1", Room.RoomStatus.WAITING);
+		votes.openRoom("ghost");
+		chat.append("ghost", new ChatMessageDto(ChatMessageDto.MessageType.CHAT, "hi", "alice", "ghost",
+				"2024-01-01T00:00:00Z"));
+		chat.append("ghost-chat-only", new ChatMessageDto(ChatMessageDto.MessageType.CHAT, "hi", "bob",
+				"ghost-chat-only", "2024-01-01T00:00:00Z"));
+		IdleRoomReaper reaper = reaper(100, 60, 60, 60);
+
+		reaper.reap();
+		runLanes();
+
+		assertThat(votes.roomIds()).containsExactly("r1");
+		assertThat(chat.roomIds()).isEmpty();
+		assertThat(reaper.reclaimedVoteCounters()).isEqualTo(1);
+		assertThat(reaper.reclaimedChatBuffers()).isEqualTo(2);
+		assertThat(reaper.reclaimedRooms()).isZero();
+	}
+
+	@Test
+	void orphanSweepSkipsRoomsRecreatedBeforeLaneRuns() {
+		votes.openRoom("r1");
+		IdleRoomReaper reaper = reaper(100, 60, 60, 60);
+
+		reaper.reap();
+		openRoom("r1", Room.RoomStatus.WAITING); // 같은 lane에서 앞서 처리된 방 생성/복제
+		runLanes();
+
+		assertThat(votes.roomIds()).containsExactly("r1");
+	}
+}
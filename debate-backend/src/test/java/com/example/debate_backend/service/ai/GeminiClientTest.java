@@ -0,0 +1,134 @@
+package com.example.debate_backend.service.ai;
+
+import com.example.debate_backend.config.RestTemplateConfig;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GeminiClientTest {
+
+	private static final String OK_BODY = "{\"candidates\":[{\"content\":{\"parts\":[{\"text\":\" Should homework be banned? \"}]}}]}";
+
+	private HttpServer server;
+	private final AtomicInteger hits = new AtomicInteger();
+	private volatile int status = 200;
+	private volatile long delayMs;
+	private volatile CountDownLatch gate;
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+	@BeforeEach
+	void startServer() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.setExecutor(Executors.newCachedThreadPool());
+		server.createContext("/generate", exchange -> {
+			hits.incrementAndGet();
+			try {
+				if (gate != null) {
+					gate.await(5, TimeUnit.SECONDS);
+				}
+				if (delayMs > 0) {
+					Thread.sleep(delayMs);
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			byte[] body = (status == 200 ? OK_BODY : "{}").getBytes(StandardCharsets.UTF_8);
+			exchange.getResponseHeaders().add("Content-Type", "application/json");
+			exchange.sendResponseHeaders(status, body.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(body);
+			}
+		});
+		server.start();
+	}
+
+	@AfterEach
+	void stopServer() {
+		if (gate != null) {
+			gate.countDown();
+		}
+		server.stop(0);
+	}
+
+	private GeminiClient client(int maxConcurrentCalls, int failureThreshold) {
+		String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/generate";
+		return new GeminiClient(new RestTemplateConfig().restTemplate(4, 4, 500, 300, 200),
+				"test-key", url, maxConcurrentCalls, failureThreshold, 60_000, registry);
+	}
+
+	private long calls(String outcome) {
+		return registry.get("discussion.gemini.calls").tag("outcome", outcome).timer().count();
+	}
+
+	@Test
+	void returnsFirstCandidateText() {
+		GeminiClient client = client(2, 3);
+
+		assertThat(client.generateText("topic")).contains("Should homework be banned?");
+		assertThat(calls("success")).isEqualTo(1);
+		assertThat(calls("failure")).isZero();
+		assertThat(client.circuitState()).isEqualTo(CircuitBreaker.State.CLOSED);
+	}
+
+	@Test
+	void readTimeoutIsCountedAsFailure() {
+		delayMs = 1_000;
+		GeminiClient client = client(2, 3);
+
+		long start = System.nanoTime();
+		assertThat(client.generateText("topic")).isEmpty();
+		// 응답 타임아웃(300ms)에서 끊겨야 하고 업스트림 지연(1s)을 기다리지 않는다
+		assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(900);
+		assertThat(calls("failure")).isEqualTo(1);
+	}
+
+	@Test
+	void opensCircuitAfterConsecutiveFailures() {
+		status = 500;
+		GeminiClient client = client(2, 3);
+
+		for (int i = 0; i < 3; i++) {
+			assertThat(client.generateText("topic")).isEmpty();
+		}
+		assertThat(client.circuitState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+		// 서킷이 열린 뒤에는 업스트림을 호출하지 않고 바로 실패한다
+		status = 200;
+		assertThat(client.generateText("topic")).isEmpty();
+		assertThat(hits.get()).isEqualTo(3);
+		assertThat(calls("failure")).isEqualTo(3); // 거절된 요청은 호출 타이머에 기록하지 않음
+		assertThat(client.metrics().rejectedByCircuit()).isEqualTo(1);
+	}
+
+	@Test
+	void rejectsCallsBeyondBulkheadLimit() throws Exception {
+		gate = new CountDownLatch(1);
+		GeminiClient client = client(1, 3);
+
+		Thread inFlight = new Thread(() -> client.generateText("slow"));
+		inFlight.start();
+		while (hits.get() == 0) {
+			Thread.sleep(5);
+		}
+
+		assertThat(client.inFlightCalls()).isEqualTo(1);
+		assertThat(client.generateText("topic")).isEmpty();
+		assertThat(client.metrics().rejectedByBulkhead()).isEqualTo(1);
+
+		gate.countDown();
+		inFlight.join(2_000);
+	}
+}
@@ -0,0 +1,73 @@
+package com.example.debate_backend.service.archive;
+
+import com.example.debate_backend.dto.ArchivedDebateDto;
+import com.example.debate_backend.dto.ArgumentDto;
+import com.example.debate_backend.dto.DiscussionStatusDto;
+import com.example.debate_backend.dto.ParticipantDto;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ArchiveCodecTest {
+
+	private static ArchivedDebateDto sample() {
+		ParticipantDto alice = new ParticipantDto("p1", "alice", "for", "bg-red-500");
+		ParticipantDto bob = new ParticipantDto("p2", "밥", "against", null);
+		return new ArchivedDebateDto("room-1", "t1", "숙제를 금지해야 하는가?", DiscussionStatusDto.StatusType.ENDED,
+				"투표가 종료되었습니다.", 1_700_000_000_000L, 360, 1_700_000_900_000L,
+				Map.of("for", 3, "against", 1),
+				List.of(alice, bob),
+				List.of(
+						new ArgumentDto("a1", "p1", "alice", "for", "첫 주장", 1_700_000_010_000L),
+						new ArgumentDto("a2", "p2", "밥", "against", "반론", 1_700_000_012_500L),
+						// 같은 시각, 더 이른 시각(시계 보정)도 그대로 복원
+						new ArgumentDto("a3", "p1", "alice", "for", "", 1_700_000_012_500L),
+						new ArgumentDto("a4", "p2", "밥", "against", "재반론", 1_700_000_012_000L)));
+	}
+
+	private static byte[] encode(ArchivedDebateDto debate) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			ArchiveCodec.encode(debate, out);
+		}
+		return bytes.toByteArray();
+	}
+
+	@Test
+	void roundTripsTranscript() throws IOException {
+		ArchivedDebateDto debate = sample();
+
+		ArchivedDebateDto decoded = ArchiveCodec.decode(new DataInputStream(new ByteArrayInputStream(encode(debate))));
+
+		assertThat(decoded).isEqualTo(debate);
+	}
+
+	@Test
+	void rejectsArgumentFromUnknownParticipant() {
+		ArchivedDebateDto debate = sample();
+		debate.setParticipants(List.of(debate.getParticipants().get(0)));
+
+		assertThatThrownBy(() -> encode(debate)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void archiveServesWrittenTranscriptAndMissingRoomsAsEmpty(@TempDir Path dir) throws IOException {
+		DebateArchive archive = new DebateArchive(dir.toString(), 4);
+		assertThat(archive.write(sample())).isPositive();
+
+		assertThat(archive.read("room-1")).contains(sample());
+		assertThat(archive.read("room-2")).isEmpty();
+		assertThat(archive.read("../etc")).isEmpty();
+	}
+}
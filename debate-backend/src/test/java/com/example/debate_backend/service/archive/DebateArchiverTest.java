@@ -0,0 +1,121 @@
+package com.example.debate_backend.service.archive;
+
+import com.example.debate_backend.dto.ParticipantDto;
+import com.example.debate_backend.handler.ShardedMessageExecutor;
+import com.example.debate_backend.model.Room;
+import com.example.debate_backend.repository.ArgumentRepository;
+import com.example.debate_backend.repository.ParticipantRepository;
+import com.example.debate_backend.repository.RoomRepository;
+import com.example.debate_backend.repository.TopicRepository;
+import com.example.debate_backend.service.DiscussionService;
+import com.example.debate_backend.service.SessionRegistry;
+import com.example.debate_backend.service.chat.ChatHistoryStore;
+import com.example.debate_backend.service.chat.ChatLog;
+import com.example.debate_backend.service.cluster.LocalClusterEventBus;
+import com.example.debate_backend.service.state.RoomStateStore;
+import com.example.debate_backend.service.timer.DebateTimerService;
+import com.example.debate_backend.service.topic.TopicIndex;
+import com.example.debate_backend.service.topic.TopicPool;
+import com.example.debate_backend.service.topic.TopicSimilarityIndex;
+import com.example.debate_backend.service.vote.VoteEngine;
+import com.example.debate_backend.service.vote.VoteJournal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 종료된 방 보관: 연결된 참가자가 있는 방은 건너뛰고, 실제로 제거된 방만 집계합니다.
+ * lane 작업은 바로 실행하지 않고 모아 두었다가 runLanes()로 실행합니다.
+ */
+class DebateArchiverTest {
+
+	@TempDir
+	Path archiveDir;
+
+	private final RoomStateStore store = new RoomStateStore(null, null, null, null, 100, 5, 1000);
+	private final VoteEngine votes = new VoteEngine();
+	private final SessionRegistry sessions = new SessionRegistry(null, new LocalClusterEventBus("test"));
+	private final ShardedMessageExecutor lanes = mock(ShardedMessageExecutor.class);
+	private final List<Runnable> laneTasks = new ArrayList<>();
+
+	private DebateArchiver archiver;
+
+	@BeforeEach
+	void setUp() {
+		doAnswer(invocation -> laneTasks.add(invocation.getArgument(1)))
+				.when(lanes).execute(anyString(), any(Runnable.class));
+		TopicRepository topicRepository = mock(TopicRepository.class);
+		when(topicRepository.count()).thenReturn(1L); // 기본 주제 초기화 생략
+		DebateArchive archive = new DebateArchive(archiveDir.toString(), 4);
+		DiscussionService discussionService = new DiscussionService(topicRepository, mock(RoomRepository.class),
+				mock(ParticipantRepository.class), mock(ArgumentRepository.class), mock(TopicPool.class),
+				mock(TopicIndex.class), mock(TopicSimilarityIndex.class), sessions, store, votes,
+				mock(VoteJournal.class), new ChatHistoryStore(10), mock(ChatLog.class),
+				new LocalClusterEventBus("test"), mock(DebateTimerService.class), archive, true);
+		// grace 0분 = 지금 이전의 모든 활동이 유휴
+		archiver = new DebateArchiver(discussionService, store, archive, lanes, sessions, true, 0, 100);
+	}
+
+	private void endRoom(String roomId) {
+		store.registerReplica(roomId, "t1", "Topic?", Room.RoomStatus.ENDED, "", 0, 300, 1_000);
+		votes.openRoom(roomId);
+	}
+
+	private void runLanes() {
+		List<Runnable> tasks = new ArrayList<>(laneTasks);
+		laneTasks.clear();
+		tasks.forEach(Runnable::run);
+	}
+
+	private static void tick() throws InterruptedException {
+		Thread.sleep(5); // 마지막 활동 시각이 보관 시각보다 확실히 이전이 되도록
+	}
+
+	@Test
+	void roomsWithConnectedParticipantsAreNotArchived() throws Exception {
+		endRoom("live");
+		store.upsertParticipant("live", new ParticipantDto("p1", "alice", "for", "c"));
+		sessions.sessionConnected("s1");
+		sessions.bind("s1", "live", "p1", "alice");
+		endRoom("done");
+		tick();
+
+		archiver.archiveEndedRooms();
+		assertThat(laneTasks).hasSize(1);
+		runLanes();
+
+		assertThat(store.roomIds()).containsExactly("live");
+		assertThat(archiveDir.resolve("li")).doesNotExist();
+		assertThat(archiver.archivedRoomCount()).isEqualTo(1);
+		assertThat(archiver.archivedByteCount()).isPositive();
+
+		// 다음 주기에도 다시 쓰지 않음
+		archiver.archiveEndedRooms();
+		assertThat(laneTasks).isEmpty();
+	}
+
+	@Test
+	void roomActiveAgainBeforeRemovalIsNotCounted() throws Exception {
+		endRoom("r1");
+		tick();
+
+		archiver.archiveEndedRooms();
+		store.require("r1").touch(); // 보관 후 lane에서 제거되기 전에 활동 발생
+		runLanes();
+
+		assertThat(store.find("r1")).isPresent();
+		assertThat(archiver.archivedRoomCount()).isZero();
+		assertThat(archiver.archivedByteCount()).isZero();
+	}
+}
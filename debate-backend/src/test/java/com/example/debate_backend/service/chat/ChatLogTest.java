@@ -0,0 +1,120 @@
+package com.example.debate_backend.service.chat;
+
+import com.example.debate_backend.dto.ChatMessageDto;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChatLogTest {
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void pagesBackwardsAcrossSegments() throws Exception {
+		// 작은 세그먼트로 여러 파일에 나뉘어 기록되도록 한다
+		ChatLog chatLog = new ChatLog(dir.toString(), 1024, 16, 512, 4);
+		chatLog.start();
+		for (int i = 0; i < 100; i++) {
+			chatLog.enqueue(message("room1", "msg-" + i, 1_000L + i));
+		}
+		chatLog.stop();
+		assertThat(chatLog.writtenCount()).isEqualTo(100);
+
+		ChatLog.Page latest = chatLog.readBefore("room1", Long.MAX_VALUE, null, 10);
+		assertThat(latest.messages()).extracting(ChatMessageDto::getContent)
+				.containsExactly("msg-90", "msg-91", "msg-92", "msg-93", "msg-94",
+						"msg-95", "msg-96", "msg-97", "msg-98", "msg-99");
+
+		ChatLog.Page previous = chatLog.readBefore("room1", Long.MAX_VALUE, latest.next(), 3);
+		assertThat(previous.messages()).extracting(ChatMessageDto::getContent)
+				.containsExactly("msg-87", "msg-88", "msg-89");
+
+		long before = Instant.parse(latest.messages().get(0).getTimestamp()).toEpochMilli();
+		assertThat(chatLog.readBefore("room1", before, null, 2).messages()).extracting(ChatMessageDto::getContent)
+				.containsExactly("msg-88", "msg-89");
+	}
+
+	@Test
+	void cursorDoesNotSkipMessagesInSameMillisecond() throws Exception {
+		ChatLog chatLog = new ChatLog(dir.toString(), 1024, 16, 512, 4);
+		chatLog.start();
+		for (int i = 0; i < 10; i++) {
+			chatLog.enqueue(message("room1", "msg-" + i, 5_000L));
+		}
+		chatLog.stop();
+
+		ChatLog.Page first = chatLog.readBefore("room1", Long.MAX_VALUE, null, 4);
+		ChatLog.Page second = chatLog.readBefore("room1", Long.MAX_VALUE, first.next(), 4);
+		ChatLog.Page third = chatLog.readBefore("room1", Long.MAX_VALUE, second.next(), 4);
+
+		assertThat(first.messages()).extracting(ChatMessageDto::getContent)
+				.containsExactly("msg-6", "msg-7", "msg-8", "msg-9");
+		assertThat(second.messages()).extracting(ChatMessageDto::getContent)
+				.containsExactly("msg-2", "msg-3", "msg-4", "msg-5");
+		assertThat(third.messages()).extracting(ChatMessageDto::getContent)
+				.containsExactly("msg-0", "msg-1");
+		assertThat(third.next()).isNull();
+	}
+
+	@Test
+	void truncatesTornRecordBeforeAppendingAfterRestart() throws Exception {
+		ChatLog chatLog = new ChatLog(dir.toString(), 1024, 16, 4096, 4);
+		chatLog.start();
+		chatLog.enqueue(message("room1", "before-crash", 1_000L));
+		chatLog.stop();
+
+		// 크래시로 마지막 레코드가 절반만 기록된 상황
+		Path segment;
+		try (Stream<Path> files = Files.list(dir.resolve("room1"))) {
+			segment = files.findFirst().orElseThrow();
+		}
+		Files.write(segment, new byte[]{0, 0, 0, 100, 1, 2, 3}, StandardOpenOption.APPEND);
+
+		ChatLog restarted = new ChatLog(dir.toString(), 1024, 16, 4096, 4);
+		restarted.start();
+		restarted.enqueue(message("room1", "after-restart", 2_000L));
+		restarted.stop();
+
+		assertThat(restarted.readBefore("room1", Long.MAX_VALUE, null, 10).messages())
+				.extracting(ChatMessageDto::getContent)
+				.containsExactly("before-crash", "after-restart");
+	}
+
+	@Test
+	void reopensSameSegmentAfterWriterEviction() throws Exception {
+		// 열린 파일 1개: 두 방을 번갈아 쓰면 매번 다른 방의 writer가 밀려났다 다시 열림
+		ChatLog chatLog = new ChatLog(dir.toString(), 1024, 1, 4096, 1);
+		chatLog.start();
+		for (int i = 0; i < 10; i++) {
+			chatLog.enqueue(message("room1", "a-" + i, 1_000L + i));
+			chatLog.enqueue(message("room2", "b-" + i, 1_000L + i));
+		}
+		chatLog.stop();
+
+		try (Stream<Path> files = Files.list(dir.resolve("room1"))) {
+			assertThat(files.count()).isEqualTo(1);
+		}
+		assertThat(chatLog.readBefore("room1", Long.MAX_VALUE, null, 20).messages()).hasSize(10);
+		assertThat(chatLog.readBefore("room2", Long.MAX_VALUE, null, 20).messages()).hasSize(10);
+	}
+
+	@Test
+	void rejectsUnsafeRoomIds() throws Exception {
+		ChatLog chatLog = new ChatLog(dir.toString(), 16, 16, 512, 4);
+		assertThat(chatLog.enqueue(message("../etc", "x", 1L))).isFalse();
+		assertThat(chatLog.readBefore("../etc", Long.MAX_VALUE, null, 10).messages()).isEmpty();
+	}
+
+	private static ChatMessageDto message(String roomId, String content, long epochMilli) {
+		return new ChatMessageDto(ChatMessageDto.MessageType.CHAT, content, "tester", roomId,
+				Instant.ofEpochMilli(epochMilli).toString());
+	}
+}
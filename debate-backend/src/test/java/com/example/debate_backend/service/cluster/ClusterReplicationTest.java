@@ -0,0 +1,239 @@
+package com.example.debate_backend.service.cluster;
+
+import com.example.debate_backend.dto.ChatMessageDto;
+import com.example.debate_backend.dto.ParticipantDto;
+import com.example.debate_backend.handler.DispatchKeys;
+import com.example.debate_backend.handler.ShardedMessageExecutor;
+import com.example.debate_backend.model.Room;
+import com.example.debate_backend.service.SessionRegistry;
+import com.example.debate_backend.service.chat.ChatHistoryStore;
+import com.example.debate_backend.service.state.RoomStateStore;
+import com.example.debate_backend.service.vote.VoteEngine;
+import com.example.debate_backend.service.vote.VoteJournal;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.activemq.artemis.api.core.ActiveMQException;
+import org.apache.activemq.artemis.core.config.Configuration;
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
+import org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.ServerSocket;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 내장 Artemis STOMP 브로커를 통해 두 노드 사이에 방 상태가 복제되는지 확인합니다.
+ */
+class ClusterReplicationTest {
+
+	private static EmbeddedActiveMQ broker;
+	private static int stompPort;
+
+	@TempDir
+	Path journalDir;
+
+	private Node nodeA;
+	private Node nodeB;
+
+	@BeforeAll
+	static void startBroker() throws Exception {
+		try (ServerSocket socket = new ServerSocket(0)) {
+			stompPort = socket.getLocalPort();
+		}
+		Configuration config = new ConfigurationImpl()
+				.setPersistenceEnabled(false)
+				.setSecurityEnabled(false)
+				.addAcceptorConfiguration("stomp", "tcp://127.0.0.1:" + stompPort
+						+ "?protocols=STOMP;anycastPrefix=/queue/;multicastPrefix=/topic/");
+		broker = new EmbeddedActiveMQ();
+		broker.setConfiguration(config);
+		broker.start();
+	}
+
+	@AfterAll
+	static void stopBroker() throws Exception {
+		broker.stop();
+	}
+
+	@BeforeEach
+	void startNodes() {
+		nodeA = new Node("node-a", journalDir.resolve("a"));
+		nodeB = new Node("node-b", journalDir.resolve("b"));
+		await(() -> nodeA.bus.isReady() && nodeB.bus.isReady());
+	}
+
+	@AfterEach
+	void stopNodes() {
+		nodeA.stop();
+		nodeB.stop();
+	}
+
+	@Test
+	void roomParticipantsVotesAndChatReplicateToOtherNode() {
+		nodeA.store.registerReplica("r1", "t1", "Topic?", Room.RoomStatus.WAITING, "waiting", 0, 300, 1_000);
+		nodeA.bus.publish(new ClusterEvent.RoomOpened("r1", "t1", "Topic?", Room.RoomStatus.WAITING, "waiting", 0, 300, 1_000));
+		nodeA.bus.publish(new ClusterEvent.ParticipantJoined("r1", new ParticipantDto("p1", "alice", "for", "c"), 7));
+		nodeA.bus.publish(new ClusterEvent.VoteCast("r1", "p1", "for"));
+		nodeA.bus.publish(new ClusterEvent.StatusChanged("r1", Room.RoomStatus.STARTED, "go", 1000, 300, 301_000, 300_000, 1000));
+		nodeA.bus.publish(new ClusterEvent.ChatPosted("r1",
+				new ChatMessageDto(ChatMessageDto.MessageType.CHAT, "hi", "alice", "r1", "2024-01-01T00:00:00Z")));
+
+		await(() -> nodeB.chat.recent("r1").size() == 1);
+		assertThat(nodeB.store.require("r1").participantList()).extracting(ParticipantDto::getId).containsExactly("p1");
+		// 참가자 목록 버전은 변경을 처리한 노드의 버전을 따름
+		assertThat(nodeB.store.require("r1").rosterSnapshot().getVersion()).isEqualTo(7);
+		assertThat(nodeB.store.require("r1").getStatus()).isEqualTo(Room.RoomStatus.STARTED);
+		assertThat(nodeB.store.require("r1").getPhaseEndsAt()).isEqualTo(301_000);
+		assertThat(nodeB.votes.results("r1")).isEqualTo(Map.of("for", 1, "against", 0));
+		// 원격 투표는 이 노드에서 다시 브로드캐스트하지 않음
+		nodeB.votes.drainChangedResults((room, results) -> { throw new AssertionError("unexpected broadcast"); });
+		// 자신이 발행한 이벤트는 다시 적용하지 않음
+		assertThat(nodeA.bus.receivedCount()).isZero();
+	}
+
+	@Test
+	void rejoinOnAnotherNodeReleasesStaleLocalSession() {
+		nodeA.sessions.bind("session-a", "r1", "p1", "alice");
+		nodeB.bus.publish(new ClusterEvent.SessionBound("r1", "p1", "node-b"));
+
+		await(() -> nodeA.sessions.findBySession("session-a").isEmpty());
+	}
+
+	@Test
+	void participantsOfUnresponsiveNodeBecomeReapable() {
+		// node-c: 접속을 알린 뒤 heartbeat를 보내지 않는 (크래시한) 노드
+		nodeB.bus.publish(new ClusterEvent.SessionBound("r1", "p1", "node-b"));
+		nodeB.bus.publish(new ClusterEvent.SessionBound("r1", "p2", "node-c"));
+
+		await(() -> !nodeA.sessions.mayBeConnected("p2"));
+		assertThat(nodeA.sessions.mayBeConnected("p1")).isTrue();
+	}
+
+	@Test
+	void closedRoomIsDroppedEverywhere() {
+		nodeB.store.registerReplica("r2", "t1", "Topic?", Room.RoomStatus.WAITING, "", 0, 300, 1_000);
+		nodeA.bus.publish(new ClusterEvent.RoomClosed("r2"));
+
+		await(() -> nodeB.store.find("r2").isEmpty());
+	}
+
+	@Test
+	void lateJoiningNodeReceivesStateFromPeers() {
+		seedRoom(nodeA, "r3");
+
+		Node nodeC = new Node("node-c", journalDir.resolve("c"));
+		try {
+			await(() -> nodeC.chat.recent("r3").size() == 1);
+			assertThat(nodeC.store.require("r3").getStatus()).isEqualTo(Room.RoomStatus.STARTED);
+			assertThat(nodeC.store.require("r3").participantList()).extracting(ParticipantDto::getId).containsExactly("p1");
+			assertThat(nodeC.store.require("r3").rosterSnapshot().getVersion())
+					.isEqualTo(nodeA.store.require("r3").rosterSnapshot().getVersion());
+			// 투표는 각 노드의 저널에만 있으므로 스냅샷으로 받아야 함
+			assertThat(nodeC.votes.results("r3")).isEqualTo(Map.of("for", 1, "against", 0));
+		} finally {
+			nodeC.stop();
+		}
+	}
+
+	@Test
+	void reconnectingNodeResyncsChangesMadeWhileDisconnected() throws Exception {
+		nodeB.store.registerReplica("r4", "t1", "Topic?", Room.RoomStatus.WAITING, "", 0, 300, 1_000);
+		nodeB.store.applyReplicatedParticipant("r4", new ParticipantDto("gone", "bob", "against", "c"), 1);
+		long resyncsBefore = nodeA.bus.resyncCount();
+
+		broker.getActiveMQServer().getRemotingService().getConnections()
+				.forEach(connection -> connection.fail(new ActiveMQException("test disconnect")));
+		await(() -> !nodeA.bus.isReady() && !nodeB.bus.isReady());
+
+		// 연결이 없는 동안의 변경: 이벤트는 버려지지만 A의 메모리 상태에는 남음
+		long droppedBefore = nodeA.bus.droppedCount();
+		seedRoom(nodeA, "r4");
+		nodeA.bus.publish(new ClusterEvent.ParticipantLeft("r4", "gone", 2));
+		assertThat(nodeA.bus.droppedCount()).isGreaterThan(droppedBefore);
+
+		await(() -> nodeA.bus.resyncCount() > resyncsBefore && nodeB.chat.recent("r4").size() == 1);
+		assertThat(nodeB.store.require("r4").getStatus()).isEqualTo(Room.RoomStatus.STARTED);
+		assertThat(nodeB.votes.results("r4")).isEqualTo(Map.of("for", 1, "against", 0));
+		// 끊긴 동안 다른 노드에서 나간 참가자는 B가 요청한 스냅샷으로 정리됨
+		await(() -> nodeB.store.require("r4").participantList().stream().map(ParticipantDto::getId).toList()
+				.equals(List.of("p1")));
+	}
+
+	@Test
+	void snapshotFromNodeThatMissedCloseDoesNotReviveRoom() {
+		nodeA.store.registerReplica("r5", "t1", "Topic?", Room.RoomStatus.WAITING, "", 0, 300, 1_000);
+		nodeB.store.registerReplica("r5", "t1", "Topic?", Room.RoomStatus.WAITING, "", 0, 300, 1_000);
+
+		broker.getActiveMQServer().getRemotingService().getConnections()
+				.forEach(connection -> connection.fail(new ActiveMQException("test disconnect")));
+		await(() -> !nodeA.bus.isReady() && !nodeB.bus.isReady());
+
+		// 연결이 없는 동안 A에서 방이 닫힘 → B는 RoomClosed를 받지 못함
+		nodeA.store.removeRoom("r5");
+		nodeA.bus.publish(new ClusterEvent.RoomClosed("r5"));
+
+		// 재연결 후 B의 스냅샷으로 A에 다시 생기지 않고, B도 방을 제거함
+		await(() -> nodeA.bus.isReady() && nodeB.bus.isReady() && nodeB.store.find("r5").isEmpty());
+		assertThat(nodeA.store.find("r5")).isEmpty();
+	}
+
+	// 이 노드에서만 처리되어 아직 다른 노드가 모르는 방 상태 (투표, 채팅, 참가자, 상태 변경)
+	private static void seedRoom(Node node, String roomId) {
+		node.store.registerReplica(roomId, "t1", "Topic?", Room.RoomStatus.WAITING, "waiting", 0, 300, 1_000);
+		node.store.require(roomId).applyStatus(Room.RoomStatus.STARTED, "go", System.currentTimeMillis(), 60_000);
+		node.store.upsertParticipant(roomId, new ParticipantDto("p1", "alice", "for", "c"));
+		node.sessions.bind("session-" + roomId, roomId, "p1", "alice");
+		node.votes.vote(roomId, "p1", "for");
+		node.chat.append(roomId,
+				new ChatMessageDto(ChatMessageDto.MessageType.CHAT, "hi", "alice", roomId, "2024-01-01T00:00:00Z"));
+	}
+
+	private static void await(BooleanSupplier condition) {
+		long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+		while (!condition.getAsBoolean()) {
+			if (System.nanoTime() > deadline) {
+				throw new AssertionError("condition not met within 10s");
+			}
+			try {
+				Thread.sleep(20);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new AssertionError(e);
+			}
+		}
+	}
+
+	private static final class Node {
+		final StompClusterEventBus bus;
+		final RoomStateStore store = new RoomStateStore(null, null, null, null, 100, 5, 1000);
+		final VoteEngine votes = new VoteEngine();
+		final SessionRegistry sessions;
+		final ChatHistoryStore chat = new ChatHistoryStore(10);
+		final ShardedMessageExecutor lanes = new ShardedMessageExecutor("test", 2, 100, 100, DispatchKeys::roomOrSession);
+
+		Node(String nodeId, Path journalDir) {
+			bus = new StompClusterEventBus(new ObjectMapper(), "127.0.0.1", stompPort, "guest", "guest", "",
+					"/topic/debate.cluster.events", nodeId, Duration.ofMillis(200), Duration.ofMillis(100),
+					Duration.ofMillis(1000));
+			sessions = new SessionRegistry(null, bus);
+			VoteJournal journal = new VoteJournal(votes, false, journalDir.toString(), 16, VoteJournal.FsyncPolicy.NEVER);
+			new ClusterStateReplicator(bus, store, votes, journal, sessions, chat, lanes, 60_000).register();
+			bus.start();
+		}
+
+		void stop() {
+			bus.stop();
+			lanes.shutdown();
+		}
+	}
+}
@@ -0,0 +1,66 @@
+package com.example.debate_backend.service.state;
+
+import com.example.debate_backend.model.Room;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RoomDirectoryTest {
+
+	private final RoomDirectory directory = new RoomDirectory();
+
+	private RoomState room(String roomId, long createdAt) {
+		RoomState state = new RoomState(roomId, "t1", "Topic?", Room.RoomStatus.WAITING, "", 0, 300, createdAt);
+		directory.add(state);
+		return state;
+	}
+
+	private static List<String> ids(List<RoomState> rooms) {
+		return rooms.stream().map(RoomState::getRoomId).toList();
+	}
+
+	@Test
+	void pagesNewestFirstFromCursor() {
+		room("a", 1_000);
+		room("b", 3_000);
+		room("c", 2_000);
+		room("d", 3_000);
+
+		List<RoomState> first = directory.list(null, null, 2);
+		assertThat(ids(first)).containsExactly("b", "d");
+
+		RoomState last = first.get(first.size() - 1);
+		RoomDirectory.Key cursor = new RoomDirectory.Key(last.getCreatedAt(), last.getRoomId());
+		assertThat(ids(directory.list(null, cursor, 2))).containsExactly("c", "a");
+	}
+
+	@Test
+	void statusChangeMovesRoomBetweenLists() {
+		RoomState a = room("a", 1_000);
+		room("b", 2_000);
+
+		a.applyStatus(Room.RoomStatus.STARTED, "", 5_000, 60_000);
+		directory.update(a);
+
+		assertThat(ids(directory.list(Room.RoomStatus.WAITING, null, 10))).containsExactly("b");
+		assertThat(ids(directory.list(Room.RoomStatus.STARTED, null, 10))).containsExactly("a");
+		assertThat(directory.count(Room.RoomStatus.WAITING)).isEqualTo(1);
+		assertThat(directory.count(Room.RoomStatus.STARTED)).isEqualTo(1);
+		assertThat(ids(directory.list(null, null, 10))).containsExactly("b", "a");
+	}
+
+	@Test
+	void removedRoomIsNotReindexed() {
+		RoomState a = room("a", 1_000);
+		directory.remove("a");
+
+		a.applyStatus(Room.RoomStatus.STARTED, "", 5_000, 60_000);
+		directory.update(a);
+
+		assertThat(directory.list(null, null, 10)).isEmpty();
+		assertThat(directory.count(Room.RoomStatus.STARTED)).isZero();
+		assertThat(directory.count(Room.RoomStatus.WAITING)).isZero();
+	}
+}
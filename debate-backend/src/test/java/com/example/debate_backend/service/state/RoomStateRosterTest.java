@@ -0,0 +1,65 @@
+package com.example.debate_backend.service.state;
+
+import com.example.debate_backend.dto.ParticipantDto;
+import com.example.debate_backend.dto.RosterEventDto;
+import com.example.debate_backend.model.Room;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RoomStateRosterTest {
+
+	private final RoomState state = new RoomState("room-1", "topic-1", "Topic?", Room.RoomStatus.WAITING, "", 0, 300);
+
+	@Test
+	void emitsVersionedDeltasOnlyForActualChanges() {
+		ParticipantDto alice = new ParticipantDto("p1", "alice", "for", "bg-red-500");
+
+		RosterEventDto joined = state.upsertParticipant(alice, false);
+		assertThat(joined.getType()).isEqualTo(RosterEventDto.EventType.JOINED);
+		assertThat(joined.getVersion()).isEqualTo(1);
+
+		// 같은 내용으로 재입장하면 변경분이 없다
+		assertThat(state.upsertParticipant(new ParticipantDto("p1", "alice", "for", "bg-red-500"), false)).isNull();
+
+		RosterEventDto updated = state.upsertParticipant(new ParticipantDto("p1", "alice", "against", "bg-red-500"), false);
+		assertThat(updated.getType()).isEqualTo(RosterEventDto.EventType.UPDATED);
+		assertThat(updated.getVersion()).isEqualTo(2);
+		assertThat(updated.getParticipant().getSide()).isEqualTo("against");
+
+		RosterEventDto left = state.removeParticipant("p1");
+		assertThat(left.getType()).isEqualTo(RosterEventDto.EventType.LEFT);
+		assertThat(left.getParticipantId()).isEqualTo("p1");
+		assertThat(left.getVersion()).isEqualTo(3);
+		assertThat(state.removeParticipant("p1")).isNull();
+	}
+
+	@Test
+	void snapshotCarriesCurrentVersion() {
+		state.upsertParticipant(new ParticipantDto("p1", "alice", "for", "c"), false);
+		state.upsertParticipant(new ParticipantDto("p2", "bob", "against", "c"), false);
+		state.detachParticipant("p1");
+
+		RosterEventDto snapshot = state.rosterSnapshot();
+		assertThat(snapshot.getType()).isEqualTo(RosterEventDto.EventType.SNAPSHOT);
+		assertThat(snapshot.getVersion()).isEqualTo(3);
+		assertThat(snapshot.getParticipants()).extracting(ParticipantDto::getId).containsExactly("p2");
+	}
+
+	@Test
+	void replicatedChangesAdoptOriginVersion() {
+		state.upsertParticipant(new ParticipantDto("p1", "alice", "for", "c"), false);
+
+		// 다른 노드에서 처리된 변경은 이 노드의 버전을 올리지 않고 그 노드의 버전을 따름
+		state.upsertReplicatedParticipant(new ParticipantDto("p2", "bob", "against", "c"), 5);
+		assertThat(state.rosterSnapshot().getVersion()).isEqualTo(5);
+		assertThat(state.removeReplicatedParticipant("p2", 6)).isTrue();
+		assertThat(state.rosterSnapshot().getVersion()).isEqualTo(6);
+
+		// 늦게 도착한 이벤트로 버전이 되돌아가지 않음
+		state.upsertReplicatedParticipant(new ParticipantDto("p3", "carol", "for", "c"), 4);
+		assertThat(state.rosterSnapshot().getVersion()).isEqualTo(6);
+
+		assertThat(state.removeParticipant("p1").getVersion()).isEqualTo(7);
+	}
+}
@@ -0,0 +1,213 @@
+package com.example.debate_backend.service.state;
+
+import com.example.debate_backend.dto.ParticipantDto;
+import com.example.debate_backend.model.Room;
+import com.example.debate_backend.model.Topic;
+import com.example.debate_backend.repository.ArgumentRepository;
+import com.example.debate_backend.repository.ParticipantRepository;
+import com.example.debate_backend.repository.RoomRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RoomStateStoreTest {
+
+	private final RoomRepository roomRepository = mock(RoomRepository.class);
+	private final ParticipantRepository participantRepository = mock(ParticipantRepository.class);
+
+	private RoomStateStore store(int batchSize, int maxAttempts) {
+		// backoff 0: 실패한 방은 다음 flush에서 바로 재시도
+		return new RoomStateStore(roomRepository, participantRepository, mock(ArgumentRepository.class),
+				mock(PlatformTransactionManager.class), batchSize, maxAttempts, 0);
+	}
+
+	private static RoomState openRoom(RoomStateStore store, String roomId) {
+		Topic topic = new Topic("Topic?");
+		topic.setId("t1");
+		return store.register(new Room(roomId, topic, Room.RoomStatus.WAITING, "", 300), "Topic?");
+	}
+
+	private static ParticipantDto participant(String id) {
+		return new ParticipantDto(id, "name-" + id, "for", "bg-red-500");
+	}
+
+	@Test
+	void flushWritesDirtyRoomsInBatches() {
+		RoomStateStore store = store(2, 5);
+		for (String roomId : List.of("r1", "r2", "r3")) {
+			openRoom(store, roomId);
+			store.upsertParticipant(roomId, participant("p-" + roomId));
+		}
+
+		store.flush();
+
+		verify(participantRepository, times(2)).saveAll(any());
+		assertThat(store.dirtyRoomCount()).isZero();
+		assertThat(store.require("r3").isParticipantUnpersisted("p-r3")).isFalse();
+	}
+
+	@Test
+	void failedFlushIsRestoredAndRetried() {
+		RoomStateStore store = store(100, 5);
+		RoomState room = openRoom(store, "r1");
+		store.upsertParticipant("r1", participant("p1"));
+		// 배치 시도와 방 단위 재시도가 모두 실패한 뒤 복구
+		when(participantRepository.saveAll(any()))
+				.thenThrow(new IllegalStateException("db down"))
+				.thenThrow(new IllegalStateException("db down"))
+				.thenReturn(List.of());
+
+		store.flush();
+		assertThat(store.dirtyRoomCount()).isEqualTo(1);
+		assertThat(room.isParticipantUnpersisted("p1")).isTrue();
+
+		store.flush();
+		assertThat(store.dirtyRoomCount()).isZero();
+		assertThat(room.isParticipantUnpersisted("p1")).isFalse();
+	}
+
+	@Test
+	void stopsRetryingAfterMaxAttemptsButKeepsChangesForNextChange() {
+		RoomStateStore store = store(100, 2);
+		RoomState room = openRoom(store, "r1");
+		store.upsertParticipant("r1", participant("p1"));
+		when(participantRepository.saveAll(any())).thenThrow(new IllegalStateException("db down"));
+
+		store.flush();
+		store.flush();
+		assertThat(store.dirtyRoomCount()).isZero();
+		assertThat(room.isParticipantUnpersisted("p1")).isTrue();
+
+		when(participantRepository.saveAll(any())).thenReturn(List.of());
+		store.upsertParticipant("r1", participant("p2"));
+		store.flush();
+
+		assertThat(room.isParticipantUnpersisted("p1")).isFalse();
+		assertThat(room.isParticipantUnpersisted("p2")).isFalse();
+	}
+
+	@Test
+	void ensureParticipantPersistedFlushesNewParticipantSynchronously() {
+		RoomStateStore store = store(100, 5);
+		RoomState room = openRoom(store, "r1");
+		store.upsertParticipant("r1", participant("p1"));
+
+		store.ensureParticipantPersisted("r1", "p1");
+
+		verify(participantRepository).saveAll(any());
+		assertThat(room.isParticipantUnpersisted("p1")).isFalse();
+		assertThat(store.dirtyRoomCount()).isZero();
+	}
+
+	@Test
+	void ensureParticipantPersistedThrowsWhenFlushFails() {
+		RoomStateStore store = store(100, 5);
+		RoomState room = openRoom(store, "r1");
+		store.upsertParticipant("r1", participant("p1"));
+		when(participantRepository.saveAll(any())).thenThrow(new IllegalStateException("db down"));
+
+		assertThatThrownBy(() -> store.ensureParticipantPersisted("r1", "p1"))
+				.isInstanceOf(IllegalStateException.class);
+		// 변경 사항은 버려지지 않고 스케줄 flush에서 다시 시도
+		assertThat(room.isParticipantUnpersisted("p1")).isTrue();
+		assertThat(store.dirtyRoomCount()).isEqualTo(1);
+	}
+
+	@Test
+	void participantWithArgumentsIsMarkedLeftInsteadOfDeleted() {
+		RoomStateStore store = store(100, 5);
+		RoomState room = openRoom(store, "r1");
+		store.upsertParticipant("r1", participant("p1"));
+		store.flush();
+		// p1이 주장을 남긴 뒤 퇴장: 주장 FK 때문에 행이 삭제되지 않음
+		when(participantRepository.deleteWithoutArguments(List.of("p1"))).thenReturn(0);
+		store.removeParticipant("r1", "p1");
+		store.upsertParticipant("r1", participant("p2"));
+
+		store.flush();
+
+		verify(participantRepository).markLeft(eq(List.of("p1")), anyLong());
+		verify(participantRepository, never()).deleteAllByIdInBatch(any());
+		assertThat(room.isParticipantUnpersisted("p2")).isFalse();
+		assertThat(store.dirtyRoomCount()).isZero();
+	}
+
+	@Test
+	void failedRemovalDoesNotBlockOtherChangesOfRoom() {
+		RoomStateStore store = store(100, 5);
+		RoomState room = openRoom(store, "r1");
+		store.upsertParticipant("r1", participant("p1"));
+		store.flush();
+		when(participantRepository.deleteWithoutArguments(any())).thenThrow(new IllegalStateException("fk violation"));
+		store.removeParticipant("r1", "p1");
+		store.upsertParticipant("r1", participant("p2"));
+
+		store.flush();
+
+		assertThat(room.isParticipantUnpersisted("p2")).isFalse();
+		assertThat(store.dirtyRoomCount()).isEqualTo(1); // 삭제만 재시도 대기
+		// 새로 입장한 참가자의 주장 저장도 막히지 않음
+		store.upsertParticipant("r1", participant("p3"));
+		store.ensureParticipantPersisted("r1", "p3");
+		assertThat(room.isParticipantUnpersisted("p3")).isFalse();
+	}
+
+	@Test
+	void participantWhoMovedToAnotherRoomBeforeFlushIsNotDeleted() {
+		RoomStateStore store = store(100, 5);
+		openRoom(store, "r1");
+		RoomState r2 = openRoom(store, "r2");
+		store.upsertParticipant("r1", participant("p1"));
+		store.flush();
+
+		store.removeParticipant("r1", "p1");
+		store.upsertParticipant("r2", participant("p1"));
+		store.flush();
+
+		verify(participantRepository, never()).deleteWithoutArguments(any());
+		verify(participantRepository, never()).markLeft(any(), anyLong());
+		assertThat(r2.isParticipantUnpersisted("p1")).isFalse();
+	}
+
+	@Test
+	void failedRoomDeleteIsRequeuedWithoutHoldingBackOtherRooms() {
+		RoomStateStore store = store(100, 5);
+		openRoom(store, "r1");
+		openRoom(store, "r2");
+		List<Iterable<String>> deleted = new ArrayList<>();
+		boolean[] failR1 = {true};
+		doAnswer(invocation -> {
+			Iterable<String> ids = invocation.getArgument(0);
+			if (failR1[0] && ids.toString().contains("r1")) {
+				throw new IllegalStateException("db down");
+			}
+			deleted.add(ids);
+			return null;
+		}).when(roomRepository).deleteAllByIdInBatch(any());
+		store.removeRoom("r1");
+		store.removeRoom("r2");
+
+		store.flush();
+		assertThat(deleted).containsExactly(List.of("r2"));
+		assertThat(store.pendingDeleteCount()).isEqualTo(1);
+
+		failR1[0] = false;
+		store.flush();
+		assertThat(deleted).containsExactly(List.of("r2"), List.of("r1"));
+		assertThat(store.pendingDeleteCount()).isZero();
+	}
+}
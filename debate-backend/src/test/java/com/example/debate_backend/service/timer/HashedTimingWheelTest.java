@@ -0,0 +1,69 @@
+package com.example.debate_backend.service.timer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HashedTimingWheelTest {
+
+	private final AtomicLong clock = new AtomicLong(1_000);
+	private final HashedTimingWheel wheel = new HashedTimingWheel("test", 10, 8, clock::get);
+	private final List<String> fired = new ArrayList<>();
+
+	private void advance(long millis) {
+		wheel.advanceTo(clock.addAndGet(millis));
+	}
+
+	@Test
+	void firesOnlyAfterDeadlineTickEnds() {
+		wheel.schedule(() -> fired.add("a"), 25);
+
+		advance(20);
+		assertThat(fired).isEmpty();
+		advance(10);
+		assertThat(fired).containsExactly("a");
+		assertThat(wheel.pendingCount()).isZero();
+	}
+
+	@Test
+	void deadlinesBeyondOneRotationWaitForRemainingRounds() {
+		// 8칸 x 10ms = 80ms 한 바퀴, 같은 버킷에 0바퀴/2바퀴 뒤 마감이 함께 들어감
+		wheel.schedule(() -> fired.add("late"), 205);
+		wheel.schedule(() -> fired.add("early"), 45);
+
+		advance(100);
+		assertThat(fired).containsExactly("early");
+		advance(100);
+		assertThat(fired).containsExactly("early");
+		advance(10);
+		assertThat(fired).containsExactly("early", "late");
+	}
+
+	@Test
+	void cancelledTimeoutNeverFires() {
+		HashedTimingWheel.Timeout beforeTransfer = wheel.schedule(() -> fired.add("a"), 50);
+		HashedTimingWheel.Timeout afterTransfer = wheel.schedule(() -> fired.add("b"), 50);
+		assertThat(beforeTransfer.cancel()).isTrue();
+		advance(10);
+		assertThat(afterTransfer.cancel()).isTrue();
+		assertThat(afterTransfer.cancel()).isFalse();
+
+		advance(100);
+		assertThat(fired).isEmpty();
+		assertThat(wheel.pendingCount()).isZero();
+		assertThat(afterTransfer.isCancelled()).isTrue();
+	}
+
+	@Test
+	void overdueDeadlineFiresOnNextTick() {
+		HashedTimingWheel.Timeout timeout = wheel.schedule(() -> fired.add("a"), -5_000);
+
+		advance(10);
+		assertThat(fired).containsExactly("a");
+		assertThat(timeout.isExpired()).isTrue();
+	}
+}
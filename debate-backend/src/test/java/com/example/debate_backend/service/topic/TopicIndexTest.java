@@ -0,0 +1,158 @@
+package com.example.debate_backend.service.topic;
+
+import com.example.debate_backend.model.Topic;
+import com.example.debate_backend.repository.TopicRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TopicIndexTest {
+
+	private static List<TopicIndex.IndexedTopic> topics(String category, String difficulty, int count) {
+		List<TopicIndex.IndexedTopic> result = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			String id = category + "-" + difficulty + "-" + i;
+			result.add(new TopicIndex.IndexedTopic(id, id + "?", category, difficulty));
+		}
+		return result;
+	}
+
+	@Test
+	void emptyIndexReturnsNothing() {
+		TopicIndex index = new TopicIndex(null, "", "");
+		assertThat(index.sample()).isEmpty();
+		assertThat(index.sampleWeighted()).isEmpty();
+	}
+
+	@Test
+	void weightedSamplingFollowsCategoryAndDifficultyWeights() {
+		TopicIndex index = new TopicIndex(null, "politics=3,sports=1", "hard=0");
+		List<TopicIndex.IndexedTopic> all = new ArrayList<>();
+		all.addAll(topics("politics", "easy", 10));
+		all.addAll(topics("sports", "easy", 10));
+		all.addAll(topics("politics", "hard", 10));
+		all.addAll(topics(null, null, 10));
+		index.replace(all);
+
+		Map<String, Integer> counts = new HashMap<>();
+		int samples = 100_000;
+		for (int i = 0; i < samples; i++) {
+			TopicIndex.IndexedTopic t = index.sampleWeighted().orElseThrow();
+			counts.merge(t.category() + "/" + t.difficulty(), 1, Integer::sum);
+		}
+
+		// 가중치 합: politics/easy 30, sports/easy 10, (미분류) 10, hard는 0
+		assertThat(counts).doesNotContainKey("politics/hard");
+		assertThat(counts.get("politics/easy") / (double) samples).isCloseTo(0.6, within(0.02));
+		assertThat(counts.get("sports/easy") / (double) samples).isCloseTo(0.2, within(0.02));
+		assertThat(counts.get("null/null") / (double) samples).isCloseTo(0.2, within(0.02));
+	}
+
+	@Test
+	void allZeroWeightsYieldNothingButUniformStillWorks() {
+		TopicIndex index = new TopicIndex(null, "politics=0", "");
+		index.replace(topics("politics", "easy", 3));
+
+		assertThat(index.sampleWeighted()).isEmpty();
+		assertThat(index.sample()).isPresent();
+	}
+
+	@Test
+	void addedTopicsAreMergedIntoTheirGroups() {
+		TopicIndex index = new TopicIndex(null, "politics=1,sports=0", "");
+		index.replace(topics("politics", "easy", 3));
+
+		index.addIndexed(topics("sports", "easy", 5));
+		index.addIndexed(List.of(new TopicIndex.IndexedTopic("politics-easy-0", "renamed?", "sports", "easy")));
+
+		assertThat(index.size()).isEqualTo(8);
+		for (int i = 0; i < 1_000; i++) {
+			TopicIndex.IndexedTopic t = index.sampleWeighted().orElseThrow();
+			assertThat(t.category()).isEqualTo("politics");
+			assertThat(t.id()).isNotEqualTo("politics-easy-0"); // 같은 ID는 새 값(sports)으로 교체됨
+		}
+	}
+
+	@Test
+	void topicAddedWhileRefreshReadsIsKept() {
+		TopicRepository repository = mock(TopicRepository.class);
+		TopicIndex index = new TopicIndex(repository, "", "");
+		when(repository.findAllIndexEntries()).thenAnswer(invocation -> {
+			// DB를 읽은 뒤 커밋된 주제: 읽기 결과에는 없음
+			index.addIndexed(List.of(new TopicIndex.IndexedTopic("late", "late?", null, null)));
+			return List.of(entry("t1"));
+		});
+
+		index.refresh();
+
+		assertThat(index.size()).isEqualTo(2);
+		when(repository.findAllIndexEntries()).thenReturn(List.of(entry("t1")));
+		index.refresh();
+		assertThat(index.size()).isEqualTo(1); // 다음 refresh부터는 DB가 기준
+	}
+
+	@Test
+	void addInsideTransactionIsAppliedOnlyAfterCommit() {
+		TopicIndex index = new TopicIndex(null, "", "");
+
+		assertThat(addInTransaction(index, "committed", TransactionSynchronization.STATUS_COMMITTED)).isZero();
+		assertThat(index.size()).isEqualTo(1);
+
+		assertThat(addInTransaction(index, "rolled-back", TransactionSynchronization.STATUS_ROLLED_BACK)).isEqualTo(1);
+		assertThat(index.size()).isEqualTo(1);
+	}
+
+	// 트랜잭션 안에서 add()를 호출하고 완료 콜백을 흉내 냄 → 완료 전의 인덱스 크기를 반환
+	private static int addInTransaction(TopicIndex index, String id, int status) {
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			Topic topic = new Topic(id + "?");
+			topic.setId(id);
+			index.add(List.of(topic));
+			int sizeBeforeCompletion = index.size();
+			for (TransactionSynchronization sync : TransactionSynchronizationManager.getSynchronizations()) {
+				if (status == TransactionSynchronization.STATUS_COMMITTED) {
+					sync.afterCommit();
+				}
+				sync.afterCompletion(status);
+			}
+			return sizeBeforeCompletion;
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	private static TopicRepository.TopicIndexEntry entry(String id) {
+		return new TopicRepository.TopicIndexEntry() {
+			@Override
+			public String getId() {
+				return id;
+			}
+
+			@Override
+			public String getTitle() {
+				return id + "?";
+			}
+
+			@Override
+			public String getCategory() {
+				return null;
+			}
+
+			@Override
+			public String getDifficulty() {
+				return null;
+			}
+		};
+	}
+}
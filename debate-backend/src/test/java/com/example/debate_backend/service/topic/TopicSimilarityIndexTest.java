@@ -0,0 +1,43 @@
+package com.example.debate_backend.service.topic;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TopicSimilarityIndexTest {
+
+	@Test
+	void detectsParaphrasedTopics() {
+		TopicSimilarityIndex index = new TopicSimilarityIndex(null, 0.4);
+		index.add("Should schools provide free lunch?");
+		index.add("Should governments regulate social media platforms?");
+		index.add("AI는 인간의 일자리를 위협하는가?");
+
+		assertThat(index.findNearDuplicate("Should all schools offer free lunches to students?"))
+				.hasValueSatisfying(m -> assertThat(m.title()).isEqualTo("Should schools provide free lunch?"));
+		assertThat(index.findNearDuplicate("Should social media be regulated by governments?"))
+				.hasValueSatisfying(m -> assertThat(m.title()).isEqualTo("Should governments regulate social media platforms?"));
+		assertThat(index.findNearDuplicate("인공지능은 인간의 일자리를 위협하는가?")).isPresent();
+	}
+
+	@Test
+	void unrelatedTopicsAreNotDuplicates() {
+		TopicSimilarityIndex index = new TopicSimilarityIndex(null, 0.4);
+		index.add("Should schools provide free lunch?");
+		index.add("AI는 인간의 일자리를 위협하는가?");
+
+		assertThat(index.findNearDuplicate("Should the voting age be lowered to 16?")).isEmpty();
+		assertThat(index.findNearDuplicate("재택근무는 생산성을 향상시키는가?")).isEmpty();
+	}
+
+	@Test
+	void removedTitlesNoLongerMatch() {
+		TopicSimilarityIndex index = new TopicSimilarityIndex(null, 0.4);
+		index.add("Should zoos be banned?");
+		assertThat(index.findNearDuplicate("Should zoos be banned?")).isPresent();
+
+		index.remove("Should zoos be banned?");
+		assertThat(index.findNearDuplicate("Should zoos be banned?")).isEmpty();
+		assertThat(index.size()).isZero();
+	}
+}
@@ -0,0 +1,54 @@
+package com.example.debate_backend.service.vote;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RoomVoteCounterTest {
+
+	@Test
+	void rejectsDuplicateAndMovesChangedVote() {
+		RoomVoteCounter counter = new RoomVoteCounter();
+
+		assertThat(counter.vote("alice", VoteSide.FOR)).isEqualTo(VoteOutcome.ACCEPTED);
+		assertThat(counter.vote("alice", VoteSide.FOR)).isEqualTo(VoteOutcome.DUPLICATE);
+		assertThat(counter.snapshot()).isEqualTo(Map.of("for", 1, "against", 0));
+
+		assertThat(counter.vote("alice", VoteSide.AGAINST)).isEqualTo(VoteOutcome.CHANGED);
+		assertThat(counter.snapshot()).isEqualTo(Map.of("for", 0, "against", 1));
+	}
+
+	@Test
+	void concurrentVotersAreCountedOnce() throws InterruptedException {
+		RoomVoteCounter counter = new RoomVoteCounter();
+		int threads = 8;
+		int votersPerThread = 5_000;
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		CountDownLatch start = new CountDownLatch(1);
+
+		for (int t = 0; t < threads; t++) {
+			pool.submit(() -> {
+				start.await();
+				// 모든 스레드가 같은 투표자 집합으로 투표하고, 진영을 번갈아 바꾼다
+				for (int i = 0; i < votersPerThread; i++) {
+					counter.vote("voter-" + i, i % 2 == 0 ? VoteSide.FOR : VoteSide.AGAINST);
+					counter.vote("voter-" + i, VoteSide.FOR);
+				}
+				return null;
+			});
+		}
+		start.countDown();
+		pool.shutdown();
+		assertThat(pool.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+		Map<String, Integer> results = counter.snapshot();
+		assertThat(results.get("for") + results.get("against")).isEqualTo(votersPerThread);
+		assertThat(counter.voterCount()).isEqualTo(votersPerThread);
+	}
+}
@@ -0,0 +1,50 @@
+package com.example.debate_backend.service.vote;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VoteEngineTest {
+
+	@Test
+	void drainsOnlyRoomsWhoseCountsChanged() {
+		VoteEngine engine = new VoteEngine();
+		engine.vote("room-a", "alice", "for");
+		engine.vote("room-a", "bob", "for");
+		engine.vote("room-b", "carol", "against");
+
+		Map<String, Map<String, Integer>> published = new HashMap<>();
+		engine.drainChangedResults(published::put);
+		assertThat(published).containsOnlyKeys("room-a", "room-b");
+		assertThat(published.get("room-a")).isEqualTo(Map.of("for", 2, "against", 0));
+
+		// 중복 투표는 변경이 아니므로 다음 틱에 아무것도 발행되지 않는다
+		published.clear();
+		engine.vote("room-a", "alice", "for");
+		engine.drainChangedResults(published::put);
+		assertThat(published).isEmpty();
+
+		// 변경 후 원래대로 되돌리면 집계가 같으므로 발행하지 않는다
+		engine.vote("room-b", "carol", "for");
+		engine.vote("room-b", "carol", "against");
+		engine.drainChangedResults(published::put);
+		assertThat(published).isEmpty();
+	}
+
+	@Test
+	void removedRoomIsNotPublishedAndReportsReclaim() {
+		VoteEngine engine = new VoteEngine();
+		engine.vote("room-a", "alice", "for");
+
+		assertThat(engine.removeRoom("room-a")).isTrue();
+		assertThat(engine.removeRoom("room-a")).isFalse();
+		assertThat(engine.roomIds()).isEmpty();
+
+		Map<String, Map<String, Integer>> published = new HashMap<>();
+		engine.drainChangedResults(published::put);
+		assertThat(published).isEmpty();
+	}
+}
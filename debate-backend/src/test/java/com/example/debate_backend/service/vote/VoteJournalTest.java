@@ -0,0 +1,63 @@
+package com.example.debate_backend.service.vote;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VoteJournalTest {
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void restoresFromSnapshotPlusJournalTail() throws Exception {
+		VoteEngine engine = new VoteEngine();
+		VoteJournal journal = newJournal(engine);
+		journal.restore();
+
+		vote(engine, journal, "room-a", "alice", "for");
+		vote(engine, journal, "room-a", "bob", "against");
+		journal.snapshot();
+		// 스냅샷 이후의 변경은 저널 tail에서 복원되어야 한다
+		vote(engine, journal, "room-a", "bob", "for");
+		vote(engine, journal, "room-b", "carol", "against");
+		journal.appendRoomRemoved("room-b");
+		engine.removeRoom("room-b");
+		journal.shutdown();
+
+		VoteEngine restored = new VoteEngine();
+		newJournal(restored).restore();
+
+		assertThat(restored.results("room-a")).isEqualTo(Map.of("for", 2, "against", 0));
+		assertThat(restored.counter("room-a").voteOf("bob")).isEqualTo(VoteSide.FOR);
+		assertThat(restored.counter("room-b")).isNull();
+	}
+
+	@Test
+	void rotatesFullSegments() throws Exception {
+		VoteEngine engine = new VoteEngine();
+		VoteJournal journal = newJournal(engine);
+		journal.restore();
+		for (int i = 0; i < 50; i++) {
+			vote(engine, journal, "room-a", "voter-" + i, i % 2 == 0 ? "for" : "against");
+		}
+		journal.shutdown();
+
+		VoteEngine restored = new VoteEngine();
+		newJournal(restored).restore();
+		assertThat(restored.results("room-a")).isEqualTo(Map.of("for", 25, "against", 25));
+	}
+
+	private VoteJournal newJournal(VoteEngine engine) {
+		return new VoteJournal(engine, true, dir.toString(), 16, VoteJournal.FsyncPolicy.NEVER);
+	}
+
+	private static void vote(VoteEngine engine, VoteJournal journal, String roomId, String voterId, String side) {
+		engine.vote(roomId, voterId, side);
+		journal.appendVote(roomId, voterId, VoteSide.fromKey(side));
+	}
+}